@@ -3,21 +3,28 @@ package com.auction.system.controller;
 import com.auction.system.rmi.CoordinatorService;
 import com.auction.system.service.DistributedCoordinatorService;
 import com.auction.system.service.LamportClockService;
+import com.auction.system.service.AdminDashboardService;
+import com.auction.system.service.DatabaseChangeFeed;
+import com.auction.system.service.OutboxRelay;
+import com.auction.system.service.ReplicationLog;
+import com.auction.system.service.ReplicationStream;
+import com.auction.system.service.AuctionExpiryScheduler;
 import com.auction.system.service.AuctionService;
+import com.auction.system.service.ClusterCounterService;
+import com.auction.system.service.ClusterSnapshotService;
+import com.auction.system.service.SettlementOwnershipService;
+import com.auction.system.service.SoftClosePolicy;
 import com.auction.system.websocket.AuctionWebSocketHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.HashSet;
-import java.util.List;
 import java.util.Map;
-import java.util.Set;
-import java.util.concurrent.CompletableFuture;
 
 /**
  * Admin controller for system monitoring and management
@@ -41,6 +48,36 @@ public class AdminController {
     @Autowired
     private AuctionWebSocketHandler webSocketHandler;
     
+    @Autowired
+    private ClusterCounterService clusterCounterService;
+    
+    @Autowired
+    private ClusterSnapshotService clusterSnapshotService;
+    
+    @Autowired
+    private AdminDashboardService adminDashboardService;
+    
+    @Autowired
+    private AuctionExpiryScheduler expiryScheduler;
+    
+    @Autowired
+    private SettlementOwnershipService ownershipService;
+    
+    @Autowired
+    private SoftClosePolicy softClosePolicy;
+    
+    @Autowired
+    private ReplicationStream replicationStream;
+    
+    @Autowired
+    private ReplicationLog replicationLog;
+    
+    @Autowired
+    private OutboxRelay outboxRelay;
+    
+    @Autowired
+    private DatabaseChangeFeed changeFeed;
+    
     /**
      * Get comprehensive system status
      */
@@ -57,60 +94,43 @@ public class AdminController {
             status.put("logicalClock", lamportClockService.getCurrentTime());
             status.put("uptime", System.currentTimeMillis() - coordinatorService.getStartTime());
             
-            // All servers status (including local)
-            List<CoordinatorService.ServerStatus> allServers = new ArrayList<>();
-            
-            // Track which servers we've accounted for
-            Set<Integer> accountedServers = new HashSet<>();
-            
-            // Add local server status
-            CoordinatorService.ServerStatus localStatus = new CoordinatorService.ServerStatus(
-                localServerId,
-                coordinatorService.isCoordinator(),
-                lamportClockService.getCurrentTime(),
-                true, // local server is always healthy
-                System.currentTimeMillis() - coordinatorService.getStartTime(),
-                (Integer) webSocketHandler.getStatistics().getOrDefault("activeConnections", 0)
-            );
-            allServers.add(localStatus);
-            accountedServers.add(localServerId);
-            
-            // Add peer servers status
+            // All servers status (including local), from the cached cluster snapshot
+            ClusterSnapshotService.ClusterSnapshot snapshot = clusterSnapshotService.getSnapshot();
             Map<Integer, CoordinatorService.ServerStatus> peerStatus = new HashMap<>();
-            for (Map.Entry<Integer, CoordinatorService> entry : coordinatorService.getPeerServices().entrySet()) {
-                try {
-                    CoordinatorService.ServerStatus serverStatus = entry.getValue().getServerStatus();
-                    allServers.add(serverStatus);
-                    peerStatus.put(entry.getKey(), serverStatus);
-                    accountedServers.add(entry.getKey());
-                } catch (Exception e) {
-                    logger.warn("Failed to get status from peer server {}", entry.getKey());
-                    CoordinatorService.ServerStatus offlineStatus = createOfflineStatus(entry.getKey());
-                    allServers.add(offlineStatus);
-                    peerStatus.put(entry.getKey(), offlineStatus);
-                    accountedServers.add(entry.getKey());
-                }
-            }
-            
-            // Add offline status for all known servers (1, 2, 3) that aren't accounted for
-            for (int serverId = 1; serverId <= 3; serverId++) {
-                if (!accountedServers.contains(serverId)) {
-                    CoordinatorService.ServerStatus offlineStatus = createOfflineStatus(serverId);
-                    allServers.add(offlineStatus);
-                    peerStatus.put(serverId, offlineStatus);
-                }
+            for (CoordinatorService.ServerStatus serverStatus : snapshot.getPeers()) {
+                peerStatus.put(serverStatus.getServerId(), serverStatus);
             }
             
-            status.put("servers", allServers); // Add servers array for frontend
+            status.put("servers", snapshot.getServers()); // Add servers array for frontend
             status.put("peerServers", peerStatus); // Keep for backward compatibility
+            status.put("snapshotTakenAt", snapshot.getTakenAt());
             
-            // Auction statistics
-            status.put("activeAuctions", auctionService.getActiveAuctions().size());
+            // Auction statistics (maintained counters, no table scans)
+            status.put("activeAuctions", auctionService.getActiveAuctionCount());
             status.put("totalBids", getTotalBidsCount());
+            status.put("bidsPerServer", clusterCounterService.getBidsPerServer());
+            status.put("bidsPerMinute", clusterCounterService.getBidsPerMinute());
+            
+            // Expiry settlement (ownership is partitioned across live nodes)
+            status.put("settlement", getSettlementInfo());
             
             // WebSocket statistics
             status.put("webSocketStats", webSocketHandler.getStatistics());
             
+            // Inter-node call transport
+            status.put("clusterTransport", coordinatorService.getTransportStatistics());
+            status.put("peerConnections", coordinatorService.getPeerConnectionStatistics());
+            
+            // Replication streams (outbound per peer, inbound per origin)
+            Map<String, Object> replication = new HashMap<>(replicationStream.getStatistics());
+            replication.put("inbound", coordinatorService.getReplicationInboxStatistics());
+            replication.put("log", replicationLog.getStatistics());
+            status.put("replication", replication);
+            
+            // Post-commit relay of replication, cache and broadcast events
+            status.put("outbox", outboxRelay.getStatistics());
+            status.put("changeFeed", changeFeed.getStatistics());
+            
             // Clock synchronization info
             status.put("clockSync", getClockSyncInfo());
             
@@ -122,6 +142,34 @@ public class AdminController {
         }
     }
     
+    /**
+     * Get aggregated dashboard data (auctions with bid stats, recent activity, totals).
+     * Honours If-None-Match so unchanged refreshes return 304 without a body.
+     */
+    @GetMapping("/dashboard")
+    public ResponseEntity<Map<String, Object>> getDashboard(
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+        try {
+            String etag = adminDashboardService.getETag();
+            if (etag.equals(ifNoneMatch)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag(etag)
+                        .cacheControl(CacheControl.noCache())
+                        .build();
+            }
+            
+            Map<String, Object> dashboard = adminDashboardService.getDashboard();
+            return ResponseEntity.ok()
+                    .eTag(etag)
+                    .cacheControl(CacheControl.noCache())
+                    .body(dashboard);
+            
+        } catch (Exception e) {
+            logger.error("Failed to get admin dashboard", e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+    
     /**
      * Get total bids count
      */
@@ -144,15 +192,6 @@ public class AdminController {
         return clockSync;
     }
     
-    /**
-     * Create offline status for peer server
-     */
-    private CoordinatorService.ServerStatus createOfflineStatus(int serverId) {
-        return new CoordinatorService.ServerStatus(
-            serverId, false, 0, false, System.currentTimeMillis(), 0
-        );
-    }
-    
     /**
      * Get detailed clock synchronization information
      */
@@ -217,18 +256,8 @@ public class AdminController {
         try {
             Map<String, Object> replicationLag = new HashMap<>();
             
-            // Calculate replication lag for each peer
-            Map<Integer, Long> peerLag = new HashMap<>();
-            for (Map.Entry<Integer, CoordinatorService> entry : coordinatorService.getPeerServices().entrySet()) {
-                try {
-                    long startTime = System.currentTimeMillis();
-                    entry.getValue().heartbeat(coordinatorService.getServerId());
-                    long responseTime = System.currentTimeMillis() - startTime;
-                    peerLag.put(entry.getKey(), responseTime);
-                } catch (Exception e) {
-                    peerLag.put(entry.getKey(), -1L); // Indicates unreachable
-                }
-            }
+            // Heartbeat round-trip for each peer (-1 indicates unreachable)
+            Map<Integer, Long> peerLag = new HashMap<>(clusterSnapshotService.getSnapshot().getPeerLatency());
             
             replicationLag.put("peerLag", peerLag);
             replicationLag.put("averageLag", calculateAverageLag(peerLag));
@@ -258,16 +287,15 @@ public class AdminController {
             serverLoad.put(coordinatorService.getServerId(), getLocalLoadMetrics());
             
             // Peer server load
-            for (Map.Entry<Integer, CoordinatorService> entry : coordinatorService.getPeerServices().entrySet()) {
-                try {
-                    CoordinatorService.ServerStatus status = entry.getValue().getServerStatus();
+            for (CoordinatorService.ServerStatus status : clusterSnapshotService.getSnapshot().getPeers()) {
+                if (status.isHealthy()) {
                     Map<String, Object> peerLoad = new HashMap<>();
                     peerLoad.put("activeConnections", status.getActiveConnections());
                     peerLoad.put("uptime", status.getUptime());
-                    peerLoad.put("isHealthy", status.isHealthy());
-                    serverLoad.put(entry.getKey(), peerLoad);
-                } catch (Exception e) {
-                    serverLoad.put(entry.getKey(), createOfflineLoadMetrics(entry.getKey()));
+                    peerLoad.put("isHealthy", true);
+                    serverLoad.put(status.getServerId(), peerLoad);
+                } else {
+                    serverLoad.put(status.getServerId(), createOfflineLoadMetrics(status.getServerId()));
                 }
             }
             
@@ -342,6 +370,7 @@ public class AdminController {
         try {
             logger.info("Admin request to end auction: {}", auctionId);
             
+            // Watchers hear about it from the outbox relay once it commits
             boolean success = auctionService.endAuctionEarly(auctionId);
             
             Map<String, Object> response = new HashMap<>();
@@ -372,10 +401,11 @@ public class AdminController {
     
     private Map<String, Object> getLocalLoadMetrics() {
         Map<String, Object> metrics = new HashMap<>();
-        metrics.put("activeConnections", webSocketHandler.getStatistics().get("activeConnections"));
+        metrics.put("activeConnections", coordinatorService.getActiveConnections());
         metrics.put("uptime", System.currentTimeMillis() - coordinatorService.getStartTime());
         metrics.put("isHealthy", true);
-        metrics.put("activeAuctions", auctionService.getActiveAuctions().size());
+        metrics.put("activeAuctions", auctionService.getActiveAuctionCount());
+        metrics.put("bidsPerMinute", clusterCounterService.getBidsPerMinute());
         return metrics;
     }
     
@@ -415,4 +445,19 @@ public class AdminController {
         // Convert variance to a score (0-1, where 1 is perfectly balanced)
         return Math.max(0, 1 - (variance / (expectedConnections * expectedConnections)));
     }
-}
\ No newline at end of file
+    
+    private Map<String, Object> getSettlementInfo() {
+        Map<String, Object> settlement = new HashMap<>();
+        settlement.put("liveMembers", ownershipService.getLiveMembers());
+        settlement.put("settlementsPerServer", clusterCounterService.getSettlementsPerServer());
+        settlement.put("duplicateAttempts", clusterCounterService.getDuplicateSettlements());
+        settlement.put("scheduled", expiryScheduler.getScheduledCount());
+        settlement.put("pendingTakeovers", expiryScheduler.getPendingTakeoverCount());
+        settlement.put("maxLatenessMs", expiryScheduler.getMaxLatenessMs());
+        settlement.put("staleEntries", expiryScheduler.getStaleEntryCount());
+        settlement.put("compactions", expiryScheduler.getCompactionCount());
+        settlement.put("softCloseEnabled", softClosePolicy.isEnabled());
+        settlement.put("extensionCounts", softClosePolicy.getExtensionCounts());
+        return settlement;
+    }
+}
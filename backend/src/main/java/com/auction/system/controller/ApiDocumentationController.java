@@ -27,21 +27,26 @@ public class ApiDocumentationController {
                 "PUT /api/users/{userId}", "Update user",
                 "DELETE /api/users/{userId}", "Delete user",
                 "GET /api/users/{userId}/auctions", "Get user's auctions",
-                "GET /api/users/{userId}/bids", "Get user's bids"
+                "GET /api/users/{userId}/bids", "Get user's bids",
+                "GET /api/users/{userId}/dashboard", "Get paged selling, bidding and won auctions"
             ),
-            "auctionEndpoints", Map.of(
-                "GET /api/auctions", "Get all auctions",
-                "GET /api/auctions/active", "Get active auctions",
-                "GET /api/auctions/{auctionId}", "Get auction by ID",
-                "GET /api/auctions/seller/{sellerId}", "Get auctions by seller",
-                "POST /api/auctions", "Create new auction",
-                "POST /api/auctions/{auctionId}/bids", "Place bid on auction",
-                "GET /api/auctions/{auctionId}/bids", "Get bids for auction",
-                "POST /api/auctions/{auctionId}/end", "End auction",
-                "GET /api/auctions/status", "Get server status"
+            "auctionEndpoints", Map.ofEntries(
+                Map.entry("GET /api/auctions", "Get all auctions"),
+                Map.entry("GET /api/auctions/active", "Get active auctions"),
+                Map.entry("GET /api/auctions/{auctionId}", "Get auction by ID"),
+                Map.entry("GET /api/auctions/seller/{sellerId}", "Get auctions by seller"),
+                Map.entry("POST /api/auctions", "Create new auction"),
+                Map.entry("POST /api/auctions/{auctionId}/bids", "Place bid on auction"),
+                Map.entry("GET /api/auctions/{auctionId}/bids", "Get bids for auction"),
+                Map.entry("POST /api/auctions/{auctionId}/end", "End auction"),
+                Map.entry("GET /api/auctions/status", "Get server status"),
+                Map.entry("GET /api/auctions/changes?since={token}", "Get auctions changed since a sync token, plus the next token"),
+                Map.entry("GET /api/auctions/{auctionId}/stream", "Server-Sent Events stream for one auction (Last-Event-ID resume)"),
+                Map.entry("GET /api/auctions/stream", "Server-Sent Events stream for the auction list (Last-Event-ID resume)")
             ),
             "adminEndpoints", Map.of(
                 "GET /api/admin/status", "Get comprehensive system status",
+                "GET /api/admin/dashboard", "Get aggregated dashboard data (supports ETag)",
                 "GET /api/admin/clock-sync", "Get clock synchronization status",
                 "GET /api/admin/peers", "Get peer server status",
                 "POST /api/admin/trigger-election", "Trigger coordinator election",
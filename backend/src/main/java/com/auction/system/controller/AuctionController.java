@@ -2,16 +2,20 @@ package com.auction.system.controller;
 
 import com.auction.system.model.Auction;
 import com.auction.system.model.Bid;
+import com.auction.system.service.AuctionChangeLog;
 import com.auction.system.service.AuctionService;
 import com.auction.system.service.DistributedCoordinatorService;
 import com.auction.system.service.LamportClockService;
 import com.auction.system.dto.BidRequest;
 import com.auction.system.dto.AuctionRequest;
+import com.auction.system.websocket.AuctionSseBroadcaster;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import jakarta.validation.Valid;
 import java.util.HashMap;
@@ -38,6 +42,12 @@ public class AuctionController {
     @Autowired
     private DistributedCoordinatorService coordinatorService;
     
+    @Autowired
+    private AuctionSseBroadcaster sseBroadcaster;
+    
+    @Autowired
+    private AuctionChangeLog changeLog;
+    
     /**
      * Get all auctions
      */
@@ -98,6 +108,7 @@ public class AuctionController {
             auction.setSellerId(UUID.fromString(request.getSellerId()));
             auction.setImageUrl(request.getImageUrl());
             
+            // List views hear about it from the outbox relay once it commits
             Auction createdAuction = auctionService.createAuction(auction);
             
             logger.info("Created auction {} at timestamp {}", createdAuction.getId(), timestamp);
@@ -136,6 +147,37 @@ public class AuctionController {
         }
     }
     
+    /**
+     * Auctions whose price, status, end time or winner changed since a sync token.
+     * Without a token (or with truncated=true in the answer) the client should do a full load.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<Map<String, Object>> getChanges(@RequestParam(required = false) String since) {
+        try {
+            return ResponseEntity.ok(changeLog.changesSince(since));
+        } catch (Exception e) {
+            logger.error("Failed to get auction changes since {}", since, e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+    
+    /**
+     * Read-only event stream for one auction (Server-Sent Events)
+     */
+    @GetMapping(value = "/{auctionId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAuction(@PathVariable String auctionId,
+                                    @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return sseBroadcaster.openAuctionStream(auctionId, lastEventId);
+    }
+    
+    /**
+     * Read-only event stream for the auction list (Server-Sent Events)
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAuctions(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return sseBroadcaster.openListStream(lastEventId);
+    }
+    
     /**
      * Get bids for an auction with bidder names
      */
@@ -158,7 +200,7 @@ public class AuctionController {
         try {
             int timestamp = lamportClockService.incrementAndGet();
             
-            Auction auction = auctionService.endAuction(auctionId);
+            Auction auction = auctionService.endAuction(auctionId, timestamp);
             
             logger.info("Ended auction {} at timestamp {}", auctionId, timestamp);
             return ResponseEntity.ok(auction);
@@ -182,6 +224,8 @@ public class AuctionController {
             status.put("serverId", coordinatorService.getServerId());
             status.put("isCoordinator", coordinatorService.isCoordinator());
             status.put("coordinatorId", coordinatorService.getCoordinatorId());
+            // Lets clients and load balancers prefer less loaded servers
+            status.put("activeConnections", coordinatorService.getActiveConnections());
             
             return ResponseEntity.ok(status);
         } catch (Exception e) {
@@ -227,6 +227,25 @@ public class UserController {
         }
     }
     
+    /**
+     * Get consolidated dashboard (selling, bidding and won auctions) for a user
+     */
+    @GetMapping("/{userId}/dashboard")
+    public ResponseEntity<Map<String, Object>> getUserDashboard(@PathVariable String userId,
+                                                               @RequestParam(defaultValue = "0") int sellingPage,
+                                                               @RequestParam(defaultValue = "0") int biddingPage,
+                                                               @RequestParam(defaultValue = "0") int wonPage,
+                                                               @RequestParam(defaultValue = "20") int size) {
+        try {
+            Map<String, Object> dashboard = userService.getUserDashboard(userId, sellingPage, biddingPage, wonPage, size);
+            return ResponseEntity.ok(dashboard);
+            
+        } catch (Exception e) {
+            logger.error("Failed to get user dashboard: {}", userId, e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+    
     /**
      * Get auctions won by user
      */
@@ -0,0 +1,66 @@
+package com.auction.system.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * DTO for a user's bidding activity on one auction (one row per auction)
+ */
+public class UserBidSummary {
+    private UUID auctionId;
+    private String auctionTitle;
+    private String auctionStatus;
+    private BigDecimal currentPrice;
+    private LocalDateTime endTime;
+    private BigDecimal myTopBid;
+    private Long myBidCount;
+    private LocalDateTime lastBidAt;
+    
+    public UserBidSummary() {}
+    
+    public UserBidSummary(UUID auctionId, String auctionTitle, String auctionStatus,
+                          BigDecimal currentPrice, LocalDateTime endTime,
+                          BigDecimal myTopBid, Long myBidCount, LocalDateTime lastBidAt) {
+        this.auctionId = auctionId;
+        this.auctionTitle = auctionTitle;
+        this.auctionStatus = auctionStatus;
+        this.currentPrice = currentPrice;
+        this.endTime = endTime;
+        this.myTopBid = myTopBid;
+        this.myBidCount = myBidCount;
+        this.lastBidAt = lastBidAt;
+    }
+    
+    // Getters and setters
+    public UUID getAuctionId() { return auctionId; }
+    public void setAuctionId(UUID auctionId) { this.auctionId = auctionId; }
+    
+    public String getAuctionTitle() { return auctionTitle; }
+    public void setAuctionTitle(String auctionTitle) { this.auctionTitle = auctionTitle; }
+    
+    public String getAuctionStatus() { return auctionStatus; }
+    public void setAuctionStatus(String auctionStatus) { this.auctionStatus = auctionStatus; }
+    
+    public BigDecimal getCurrentPrice() { return currentPrice; }
+    public void setCurrentPrice(BigDecimal currentPrice) { this.currentPrice = currentPrice; }
+    
+    public LocalDateTime getEndTime() { return endTime; }
+    public void setEndTime(LocalDateTime endTime) { this.endTime = endTime; }
+    
+    public BigDecimal getMyTopBid() { return myTopBid; }
+    public void setMyTopBid(BigDecimal myTopBid) { this.myTopBid = myTopBid; }
+    
+    public Long getMyBidCount() { return myBidCount; }
+    public void setMyBidCount(Long myBidCount) { this.myBidCount = myBidCount; }
+    
+    public LocalDateTime getLastBidAt() { return lastBidAt; }
+    public void setLastBidAt(LocalDateTime lastBidAt) { this.lastBidAt = lastBidAt; }
+    
+    /**
+     * Whether the user's top bid is the auction's current price
+     */
+    public boolean isLeading() {
+        return myTopBid != null && currentPrice != null && myTopBid.compareTo(currentPrice) >= 0;
+    }
+}
@@ -43,6 +43,10 @@ public class Auction {
     @Column(name = "image_url")
     private String imageUrl;
     
+    // Soft-close extensions so far; stored so max-extensions holds across restarts
+    @Column(name = "extension_count", nullable = false)
+    private int extensionCount;
+    
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
     
@@ -109,6 +113,9 @@ public class Auction {
     public String getImageUrl() { return imageUrl; }
     public void setImageUrl(String imageUrl) { this.imageUrl = imageUrl; }
     
+    public int getExtensionCount() { return extensionCount; }
+    public void setExtensionCount(int extensionCount) { this.extensionCount = extensionCount; }
+    
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
     
@@ -0,0 +1,92 @@
+package com.auction.system.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+@Entity
+@Table(name = "replication_log")
+public class ReplicationLogEntry {
+
+    @Id
+    @Column(name = "id", updatable = false, nullable = false)
+    private UUID id;
+
+    @Column(name = "operation_id", nullable = false, length = 100)
+    private String operationId;
+
+    // Origin server; sequences are per origin
+    @Column(name = "server_id", nullable = false)
+    private Integer serverId;
+
+    @Column(name = "origin_seq", nullable = false)
+    private Long originSeq;
+
+    @Column(name = "operation_type", nullable = false, length = 50)
+    private String operationType;
+
+    @Column(name = "table_name", nullable = false, length = 50)
+    private String tableName;
+
+    @Column(name = "record_id")
+    private UUID recordId;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "data", columnDefinition = "jsonb")
+    private Map<String, Object> data;
+
+    @Column(name = "logical_timestamp", nullable = false)
+    private Integer logicalTimestamp;
+
+    @Column(name = "applied_at", nullable = false)
+    private LocalDateTime appliedAt;
+
+    // Constructors
+    public ReplicationLogEntry() {}
+
+    // JPA lifecycle callback
+    @PrePersist
+    protected void onCreate() {
+        if (id == null) {
+            id = UUID.randomUUID();
+        }
+        if (appliedAt == null) {
+            appliedAt = LocalDateTime.now();
+        }
+    }
+
+    // Getters and Setters
+    public UUID getId() { return id; }
+    public void setId(UUID id) { this.id = id; }
+
+    public String getOperationId() { return operationId; }
+    public void setOperationId(String operationId) { this.operationId = operationId; }
+
+    public Integer getServerId() { return serverId; }
+    public void setServerId(Integer serverId) { this.serverId = serverId; }
+
+    public Long getOriginSeq() { return originSeq; }
+    public void setOriginSeq(Long originSeq) { this.originSeq = originSeq; }
+
+    public String getOperationType() { return operationType; }
+    public void setOperationType(String operationType) { this.operationType = operationType; }
+
+    public String getTableName() { return tableName; }
+    public void setTableName(String tableName) { this.tableName = tableName; }
+
+    public UUID getRecordId() { return recordId; }
+    public void setRecordId(UUID recordId) { this.recordId = recordId; }
+
+    public Map<String, Object> getData() { return data; }
+    public void setData(Map<String, Object> data) { this.data = data; }
+
+    public Integer getLogicalTimestamp() { return logicalTimestamp; }
+    public void setLogicalTimestamp(Integer logicalTimestamp) { this.logicalTimestamp = logicalTimestamp; }
+
+    public LocalDateTime getAppliedAt() { return appliedAt; }
+    public void setAppliedAt(LocalDateTime appliedAt) { this.appliedAt = appliedAt; }
+}
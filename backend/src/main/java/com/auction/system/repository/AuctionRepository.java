@@ -1,12 +1,16 @@
 package com.auction.system.repository;
 
 import com.auction.system.model.Auction;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -32,4 +36,49 @@ public interface AuctionRepository extends JpaRepository<Auction, UUID> {
     long countBySellerId(@Param("sellerId") UUID sellerId);
     
     List<Auction> findByWinnerId(UUID winnerId);
+    
+    Page<Auction> findBySellerIdOrderByCreatedAtDesc(UUID sellerId, Pageable pageable);
+    
+    Page<Auction> findByWinnerIdOrderByEndTimeDesc(UUID winnerId, Pageable pageable);
+    
+    List<Auction> findByUpdatedAtAfterOrderByUpdatedAtDesc(LocalDateTime updatedAt, Pageable pageable);
+    
+    /**
+     * End an auction only if it is still active and past its end time; returns 0 if another
+     * node already settled it or a late bid extended it
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Auction a SET a.status = 'ENDED', a.updatedAt = :updatedAt " +
+           "WHERE a.id = :id AND a.status = 'ACTIVE' AND a.endTime <= :updatedAt")
+    int markEndedIfActive(@Param("id") UUID id, @Param("updatedAt") LocalDateTime updatedAt);
+    
+    /**
+     * Settle a batch of expired auctions in one statement: lock the still-active rows,
+     * pick each winner with a window function and end them all.
+     * Returns (id, title, current_price, winner_id, winner_name) for each auction actually settled.
+     * Bypasses the persistence context, so callers must clear it afterwards.
+     */
+    @Query(value = "WITH targets AS (" +
+                   "    SELECT a.id FROM auctions a" +
+                   "    WHERE a.id IN (:ids) AND a.status = 'ACTIVE' AND a.end_time <= :now" +
+                   "    FOR UPDATE" +
+                   "), winners AS (" +
+                   "    SELECT ranked.auction_id, ranked.bidder_id FROM (" +
+                   "        SELECT b.auction_id, b.bidder_id," +
+                   "               ROW_NUMBER() OVER (PARTITION BY b.auction_id ORDER BY b.amount DESC, b.timestamp ASC) AS rn" +
+                   "        FROM bids b JOIN targets t ON t.id = b.auction_id" +
+                   "    ) ranked WHERE ranked.rn = 1" +
+                   "), settled AS (" +
+                   "    UPDATE auctions a" +
+                   "    SET status = 'ENDED', updated_at = :now, winner_id = w.bidder_id," +
+                   "        winner_name = CASE WHEN w.bidder_id IS NULL THEN NULL ELSE COALESCE(u.username, 'Unknown User') END" +
+                   "    FROM targets t" +
+                   "    LEFT JOIN winners w ON w.auction_id = t.id" +
+                   "    LEFT JOIN users u ON u.id = w.bidder_id" +
+                   "    WHERE a.id = t.id" +
+                   "    RETURNING a.id, a.title, a.current_price, a.winner_id, a.winner_name" +
+                   ") " +
+                   "SELECT CAST(id AS VARCHAR), title, current_price, CAST(winner_id AS VARCHAR), winner_name FROM settled",
+           nativeQuery = true)
+    List<Object[]> settleExpiredBatch(@Param("ids") Collection<UUID> ids, @Param("now") LocalDateTime now);
 }
\ No newline at end of file
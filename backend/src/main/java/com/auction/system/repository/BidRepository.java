@@ -1,6 +1,9 @@
 package com.auction.system.repository;
 
+import com.auction.system.dto.UserBidSummary;
 import com.auction.system.model.Bid;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -14,6 +17,8 @@ public interface BidRepository extends JpaRepository<Bid, UUID> {
     
     List<Bid> findByAuctionIdOrderByTimestampDesc(UUID auctionId);
     
+    Page<Bid> findByAuctionIdOrderByTimestampDesc(UUID auctionId, Pageable pageable);
+    
     List<Bid> findByBidderId(UUID bidderId);
     
     List<Bid> findByAuctionIdAndBidderId(UUID auctionId, UUID bidderId);
@@ -34,4 +39,23 @@ public interface BidRepository extends JpaRepository<Bid, UUID> {
     List<Bid> findByServerId(@Param("serverId") Integer serverId);
     
     List<Bid> findByAuctionIdOrderByAmountDesc(UUID auctionId);
+    
+    @Query("SELECT b.serverId, COUNT(b) FROM Bid b GROUP BY b.serverId")
+    List<Object[]> countBidsGroupedByServer();
+    
+    @Query("SELECT b.auctionId, COUNT(b), MAX(b.amount), MAX(b.timestamp) FROM Bid b GROUP BY b.auctionId")
+    List<Object[]> summarizeBidsByAuction();
+    
+    List<Bid> findTop20ByOrderByTimestampDesc();
+    
+    @Query(value = "SELECT new com.auction.system.dto.UserBidSummary(a.id, a.title, a.status, a.currentPrice, a.endTime, " +
+                   "MAX(b.amount), COUNT(b), MAX(b.timestamp)) " +
+                   "FROM Bid b, Auction a WHERE b.auctionId = a.id AND b.bidderId = :bidderId " +
+                   "GROUP BY a.id, a.title, a.status, a.currentPrice, a.endTime " +
+                   "ORDER BY MAX(b.timestamp) DESC",
+           countQuery = "SELECT COUNT(DISTINCT b.auctionId) FROM Bid b WHERE b.bidderId = :bidderId")
+    Page<UserBidSummary> summarizeBidsByBidder(@Param("bidderId") UUID bidderId, Pageable pageable);
+    
+    @Query("SELECT COUNT(b), COALESCE(SUM(b.amount), 0) FROM Bid b WHERE b.bidderId = :bidderId")
+    List<Object[]> totalsForBidder(@Param("bidderId") UUID bidderId);
 }
\ No newline at end of file
@@ -0,0 +1,30 @@
+package com.auction.system.repository;
+
+import com.auction.system.model.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Events the relay should publish now, in insert order: not dead-lettered and not
+     * waiting out a retry backoff
+     */
+    @Query("SELECT e FROM OutboxEvent e WHERE e.serverId = :serverId AND e.deadLetteredAt IS NULL " +
+           "AND (e.nextAttemptAt IS NULL OR e.nextAttemptAt <= :now) ORDER BY e.id")
+    List<OutboxEvent> findRelayable(@Param("serverId") Integer serverId, @Param("now") LocalDateTime now, Pageable pageable);
+
+    long countByServerIdAndDeadLetteredAtIsNull(Integer serverId);
+
+    long countByServerIdAndDeadLetteredAtIsNotNull(Integer serverId);
+
+    @Query("SELECT MIN(e.createdAt) FROM OutboxEvent e WHERE e.serverId = :serverId AND e.deadLetteredAt IS NULL")
+    LocalDateTime findOldestCreatedAt(@Param("serverId") Integer serverId);
+}
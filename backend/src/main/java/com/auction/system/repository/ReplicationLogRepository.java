@@ -0,0 +1,61 @@
+package com.auction.system.repository;
+
+import com.auction.system.model.ReplicationLogEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface ReplicationLogRepository extends JpaRepository<ReplicationLogEntry, UUID> {
+
+    List<ReplicationLogEntry> findByServerIdAndOriginSeqGreaterThanOrderByOriginSeqAsc(Integer serverId, Long afterSeq, Pageable pageable);
+
+    @Query("SELECT MAX(e.originSeq) FROM ReplicationLogEntry e WHERE e.serverId = :serverId")
+    Long findMaxOriginSeq(@Param("serverId") Integer serverId);
+
+    @Query("SELECT MIN(e.originSeq) FROM ReplicationLogEntry e WHERE e.serverId = :serverId")
+    Long findMinOriginSeq(@Param("serverId") Integer serverId);
+
+    /**
+     * Latest sequence per origin, as (serverId, maxSeq) rows
+     */
+    @Query("SELECT e.serverId, MAX(e.originSeq) FROM ReplicationLogEntry e GROUP BY e.serverId")
+    List<Object[]> findMaxOriginSeqPerServer();
+
+    long countByServerId(Integer serverId);
+
+    /**
+     * Expire entries older than the cutoff, always keeping the latest so the sequence
+     * carries on from it after a restart
+     */
+    @Modifying
+    @Query("DELETE FROM ReplicationLogEntry e WHERE e.serverId = :serverId AND e.appliedAt < :cutoff " +
+           "AND e.originSeq < (SELECT MAX(m.originSeq) FROM ReplicationLogEntry m WHERE m.serverId = :serverId)")
+    int deleteOlderThan(@Param("serverId") Integer serverId, @Param("cutoff") LocalDateTime cutoff);
+
+    /**
+     * Drop auction updates superseded by a later update of the same auction. Updates are
+     * partial (an extension carries only the end time, a bid only the price), so one is
+     * only superseded by a later update that carries every field it does.
+     * jsonb_exists is the ? operator, which a JDBC query cannot spell.
+     */
+    @Modifying
+    @Query(value = "DELETE FROM replication_log r " +
+                   "WHERE r.server_id = :serverId AND r.table_name = 'auctions' AND r.operation_type = 'UPDATE' " +
+                   "AND r.applied_at < :cutoff " +
+                   "AND EXISTS (SELECT 1 FROM replication_log n " +
+                   "            WHERE n.server_id = r.server_id AND n.record_id = r.record_id " +
+                   "            AND n.table_name = 'auctions' AND n.operation_type = 'UPDATE' " +
+                   "            AND n.origin_seq > r.origin_seq " +
+                   "            AND NOT EXISTS (SELECT 1 FROM jsonb_object_keys(r.data) k " +
+                   "                            WHERE NOT jsonb_exists(n.data, k)))",
+           nativeQuery = true)
+    int deleteSupersededUpdates(@Param("serverId") Integer serverId, @Param("cutoff") LocalDateTime cutoff);
+}
@@ -70,6 +70,16 @@ public interface CoordinatorService extends Remote {
      */
     boolean replicateData(ReplicationRequest request) throws RemoteException;
     
+    /**
+     * Replicate a batch from a peer's replication stream; batches are applied in stream order
+     */
+    boolean replicateBatch(ReplicationBatch batch) throws RemoteException;
+    
+    /**
+     * Read this server's replication log after the given sequence, for a peer catching up
+     */
+    ReplicationBatch readReplicationLog(long afterSeq, int maxEntries) throws RemoteException;
+    
     /**
      * Get server status information
      */
@@ -218,6 +228,8 @@ public interface CoordinatorService extends Remote {
         private String recordId;
         private Map<String, Object> data;
         private int logicalTimestamp;
+        // Position in the origin's replication log; 0 for unsequenced requests
+        private long sequence;
         
         public ReplicationRequest() {}
         
@@ -243,6 +255,33 @@ public interface CoordinatorService extends Remote {
         public void setData(Map<String, Object> data) { this.data = data; }
         public int getLogicalTimestamp() { return logicalTimestamp; }
         public void setLogicalTimestamp(int logicalTimestamp) { this.logicalTimestamp = logicalTimestamp; }
+        public long getSequence() { return sequence; }
+        public void setSequence(long sequence) { this.sequence = sequence; }
+    }
+    
+    class ReplicationBatch implements java.io.Serializable {
+        private int originServerId;
+        private long streamEpoch;
+        private long batchSeq;
+        private List<ReplicationRequest> requests;
+        
+        public ReplicationBatch() {}
+        
+        public ReplicationBatch(int originServerId, long streamEpoch, long batchSeq, List<ReplicationRequest> requests) {
+            this.originServerId = originServerId;
+            this.streamEpoch = streamEpoch;
+            this.batchSeq = batchSeq;
+            this.requests = requests;
+        }
+        
+        public int getOriginServerId() { return originServerId; }
+        public void setOriginServerId(int originServerId) { this.originServerId = originServerId; }
+        public long getStreamEpoch() { return streamEpoch; }
+        public void setStreamEpoch(long streamEpoch) { this.streamEpoch = streamEpoch; }
+        public long getBatchSeq() { return batchSeq; }
+        public void setBatchSeq(long batchSeq) { this.batchSeq = batchSeq; }
+        public List<ReplicationRequest> getRequests() { return requests; }
+        public void setRequests(List<ReplicationRequest> requests) { this.requests = requests; }
     }
     
     class ServerStatus implements java.io.Serializable {
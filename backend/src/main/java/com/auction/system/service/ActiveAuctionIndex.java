@@ -0,0 +1,275 @@
+package com.auction.system.service;
+
+import com.auction.system.model.Auction;
+import com.auction.system.repository.AuctionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Node-local index of active auctions ordered by end time.
+ *
+ * Entries are detached snapshots keyed by (endTime, id). The index is bootstrapped
+ * from the database once the application is ready, kept current from local and
+ * replicated changes, and periodically reconciled against Postgres.
+ */
+@Service
+public class ActiveAuctionIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(ActiveAuctionIndex.class);
+
+    private static final UUID MIN_ID = new UUID(Long.MIN_VALUE, Long.MIN_VALUE);
+    private static final UUID MAX_ID = new UUID(Long.MAX_VALUE, Long.MAX_VALUE);
+
+    @Autowired
+    private AuctionRepository auctionRepository;
+
+    @Autowired
+    private AuctionChangeLog changeLog;
+
+    private final ConcurrentSkipListMap<IndexKey, Auction> auctionsByEndTime = new ConcurrentSkipListMap<>();
+    private final Map<UUID, IndexKey> keysById = new ConcurrentHashMap<>();
+    private final AtomicInteger size = new AtomicInteger(0);
+    private volatile boolean bootstrapped = false;
+    private volatile long lastReconciledAt = 0;
+
+    /**
+     * Load all active auctions from the database once the application is ready
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void bootstrap() {
+        reconcile();
+        logger.info("Active auction index bootstrapped with {} auctions", size.get());
+    }
+
+    /**
+     * Periodically reconcile the index against the database
+     */
+    @Scheduled(fixedDelayString = "${app.auction.index.reconcile-interval:60000}", initialDelay = 60000)
+    public void reconcile() {
+        try {
+            LocalDateTime snapshotTime = LocalDateTime.now();
+            List<Auction> activeAuctions = auctionRepository.findByStatus("ACTIVE");
+            Set<UUID> activeIds = new HashSet<>();
+
+            for (Auction auction : activeAuctions) {
+                activeIds.add(auction.getId());
+                Auction indexed = get(auction.getId());
+                // Keep entries that were updated locally after the snapshot was read
+                if (indexed == null || !isNewer(indexed, auction)) {
+                    upsert(auction);
+                }
+            }
+
+            for (Auction indexed : new ArrayList<>(auctionsByEndTime.values())) {
+                if (!activeIds.contains(indexed.getId())
+                        && (indexed.getUpdatedAt() == null || indexed.getUpdatedAt().isBefore(snapshotTime))) {
+                    remove(indexed.getId());
+                }
+            }
+
+            bootstrapped = true;
+            lastReconciledAt = System.currentTimeMillis();
+            logger.debug("Reconciled active auction index: {} auctions", size.get());
+
+        } catch (Exception e) {
+            logger.error("Failed to reconcile active auction index", e);
+        }
+    }
+
+    /**
+     * Insert or replace an auction; non-active auctions are removed
+     */
+    public void upsert(Auction auction) {
+        if (auction == null || auction.getId() == null || auction.getEndTime() == null) {
+            return;
+        }
+        if (!"ACTIVE".equals(auction.getStatus())) {
+            remove(auction.getId());
+            return;
+        }
+
+        Auction snapshot = snapshot(auction);
+        IndexKey key = new IndexKey(snapshot.getEndTime(), snapshot.getId());
+        boolean[] changed = {false};
+        keysById.compute(snapshot.getId(), (id, previousKey) -> {
+            if (previousKey == null) {
+                size.incrementAndGet();
+                changed[0] = true;
+            } else {
+                Auction previous = auctionsByEndTime.get(previousKey);
+                changed[0] = previous == null || !previousKey.equals(key)
+                    || previous.getCurrentPrice().compareTo(snapshot.getCurrentPrice()) != 0;
+                if (!previousKey.equals(key)) {
+                    auctionsByEndTime.remove(previousKey);
+                }
+            }
+            auctionsByEndTime.put(key, snapshot);
+            return key;
+        });
+        // Reconciling unchanged auctions is not a change
+        if (changed[0]) {
+            changeLog.record(snapshot.getId());
+        }
+    }
+
+    /**
+     * Apply a partial update made on this server to an indexed auction
+     */
+    public void applyUpdate(UUID auctionId, String status, BigDecimal currentPrice, LocalDateTime endTime) {
+        applyUpdate(auctionId, status, currentPrice, endTime, LocalDateTime.now());
+    }
+
+    /**
+     * Apply a partial update (e.g. from replication) to an indexed auction, stamped with
+     * when the origin made it so reconcile can still tell which copy is newer; a null
+     * updatedAt leaves the entry's timestamp alone
+     */
+    public void applyUpdate(UUID auctionId, String status, BigDecimal currentPrice, LocalDateTime endTime,
+                            LocalDateTime updatedAt) {
+        if (status != null && !"ACTIVE".equals(status)) {
+            remove(auctionId);
+            return;
+        }
+
+        // Only touch auctions that are still indexed so a late update cannot resurrect a closed one
+        boolean[] changed = {false};
+        keysById.computeIfPresent(auctionId, (id, key) -> {
+            Auction updated = snapshot(auctionsByEndTime.get(key));
+            if (currentPrice != null && currentPrice.compareTo(updated.getCurrentPrice()) > 0) {
+                updated.setCurrentPrice(currentPrice);
+                changed[0] = true;
+            }
+            if (endTime != null && !endTime.equals(updated.getEndTime())) {
+                updated.setEndTime(endTime);
+                changed[0] = true;
+            }
+            if (updatedAt != null && (updated.getUpdatedAt() == null || updatedAt.isAfter(updated.getUpdatedAt()))) {
+                updated.setUpdatedAt(updatedAt);
+            }
+
+            IndexKey updatedKey = new IndexKey(updated.getEndTime(), id);
+            if (!updatedKey.equals(key)) {
+                auctionsByEndTime.remove(key);
+            }
+            auctionsByEndTime.put(updatedKey, updated);
+            return updatedKey;
+        });
+        if (changed[0]) {
+            changeLog.record(auctionId);
+        }
+    }
+
+    /**
+     * Raise the indexed current price after an accepted bid
+     */
+    public void updatePrice(UUID auctionId, BigDecimal amount) {
+        applyUpdate(auctionId, null, amount, null);
+    }
+
+    /**
+     * Remove an auction from the index
+     */
+    public void remove(UUID auctionId) {
+        if (auctionId == null) {
+            return;
+        }
+        boolean[] removed = {false};
+        keysById.computeIfPresent(auctionId, (id, key) -> {
+            auctionsByEndTime.remove(key);
+            size.decrementAndGet();
+            removed[0] = true;
+            return null;
+        });
+        // Ended, cancelled or deleted: status and winner may have changed
+        if (removed[0]) {
+            changeLog.record(auctionId);
+        }
+    }
+
+    /**
+     * Get an indexed auction snapshot
+     */
+    public Auction get(UUID auctionId) {
+        IndexKey key = keysById.get(auctionId);
+        return key != null ? auctionsByEndTime.get(key) : null;
+    }
+
+    /**
+     * Active auctions that have not reached their end time, ordered by end time
+     */
+    public List<Auction> getActiveAuctions(LocalDateTime now) {
+        return new ArrayList<>(auctionsByEndTime.tailMap(new IndexKey(now, MAX_ID), false).values());
+    }
+
+    /**
+     * Auctions still marked active whose end time has passed
+     */
+    public List<Auction> getExpiredAuctions(LocalDateTime now) {
+        return new ArrayList<>(auctionsByEndTime.headMap(new IndexKey(now, MIN_ID), false).values());
+    }
+
+    /**
+     * Number of indexed auctions (including expired ones not yet closed)
+     */
+    public int size() {
+        return size.get();
+    }
+
+    public boolean isBootstrapped() {
+        return bootstrapped;
+    }
+
+    public long getLastReconciledAt() {
+        return lastReconciledAt;
+    }
+
+    private boolean isNewer(Auction indexed, Auction stored) {
+        return indexed.getUpdatedAt() != null && stored.getUpdatedAt() != null
+                && indexed.getUpdatedAt().isAfter(stored.getUpdatedAt());
+    }
+
+    private static Auction snapshot(Auction source) {
+        Auction copy = new Auction();
+        copy.setId(source.getId());
+        copy.setTitle(source.getTitle());
+        copy.setDescription(source.getDescription());
+        copy.setStartingPrice(source.getStartingPrice());
+        copy.setCurrentPrice(source.getCurrentPrice());
+        copy.setEndTime(source.getEndTime());
+        copy.setSellerId(source.getSellerId());
+        copy.setStatus(source.getStatus());
+        copy.setWinnerId(source.getWinnerId());
+        copy.setWinnerName(source.getWinnerName());
+        copy.setImageUrl(source.getImageUrl());
+        copy.setExtensionCount(source.getExtensionCount());
+        copy.setCreatedAt(source.getCreatedAt());
+        copy.setUpdatedAt(source.getUpdatedAt());
+        return copy;
+    }
+
+    // Composite key ordering auctions by end time, then id
+    private record IndexKey(LocalDateTime endTime, UUID id) implements Comparable<IndexKey> {
+        @Override
+        public int compareTo(IndexKey other) {
+            int byEndTime = endTime.compareTo(other.endTime);
+            return byEndTime != 0 ? byEndTime : id.compareTo(other.id);
+        }
+    }
+}
@@ -0,0 +1,305 @@
+package com.auction.system.service;
+
+import com.auction.system.model.Auction;
+import com.auction.system.model.Bid;
+import com.auction.system.repository.AuctionRepository;
+import com.auction.system.repository.BidRepository;
+import com.auction.system.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Maintained aggregates backing the admin dashboard endpoint.
+ *
+ * Per-auction bid counts and top bids, recent bid activity and user totals are
+ * updated as changes happen and reconciled with the database periodically. The
+ * rendered dashboard is cached per version so unchanged refreshes cost nothing.
+ */
+@Service
+public class AdminDashboardService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdminDashboardService.class);
+
+    private static final int RECENT_ACTIVITY_SIZE = 20;
+
+    @Autowired
+    private AuctionRepository auctionRepository;
+
+    @Autowired
+    private BidRepository bidRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ClusterCounterService clusterCounterService;
+
+    @Autowired
+    private DistributedCoordinatorService coordinatorService;
+
+    private final Map<UUID, AuctionSummary> auctionSummaries = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedDeque<Map<String, Object>> recentActivity = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger recentActivitySize = new AtomicInteger(0);
+    private final AtomicLong totalUsers = new AtomicLong(0);
+    private final AtomicLong version = new AtomicLong(0);
+
+    private volatile CachedDashboard cachedDashboard;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void bootstrap() {
+        reconcile();
+    }
+
+    /**
+     * Rebuild all aggregates from the database
+     */
+    @Scheduled(fixedDelayString = "${app.auction.counters.reconcile-interval:300000}", initialDelay = 300000)
+    public void reconcile() {
+        try {
+            Map<UUID, AuctionSummary> rebuilt = new HashMap<>();
+            for (Auction auction : auctionRepository.findAll()) {
+                AuctionSummary summary = new AuctionSummary(auction.getId());
+                summary.applyAuction(auction);
+                rebuilt.put(auction.getId(), summary);
+            }
+            for (Object[] row : bidRepository.summarizeBidsByAuction()) {
+                AuctionSummary summary = rebuilt.get((UUID) row[0]);
+                if (summary != null) {
+                    summary.reset(((Number) row[1]).longValue(), (BigDecimal) row[2], (LocalDateTime) row[3]);
+                }
+            }
+
+            auctionSummaries.keySet().retainAll(rebuilt.keySet());
+            auctionSummaries.putAll(rebuilt);
+
+            recentActivity.clear();
+            recentActivitySize.set(0);
+            List<Bid> recentBids = bidRepository.findTop20ByOrderByTimestampDesc();
+            for (int i = recentBids.size() - 1; i >= 0; i--) {
+                addActivity(recentBids.get(i));
+            }
+
+            totalUsers.set(userRepository.count());
+            version.incrementAndGet();
+            logger.debug("Reconciled admin dashboard aggregates: {} auctions", auctionSummaries.size());
+
+        } catch (Exception e) {
+            logger.error("Failed to reconcile admin dashboard aggregates", e);
+        }
+    }
+
+    /**
+     * Record a created or updated auction
+     */
+    public void recordAuction(Auction auction) {
+        auctionSummaries.computeIfAbsent(auction.getId(), AuctionSummary::new).applyAuction(auction);
+        version.incrementAndGet();
+    }
+
+    /**
+     * Record a partial auction update (e.g. from replication)
+     */
+    public void recordAuctionUpdate(UUID auctionId, String status, BigDecimal currentPrice, LocalDateTime endTime) {
+        AuctionSummary summary = auctionSummaries.get(auctionId);
+        if (summary != null) {
+            summary.applyUpdate(status, currentPrice, endTime);
+            version.incrementAndGet();
+        }
+    }
+
+    /**
+     * Record an accepted bid (local or replicated)
+     */
+    public void recordBid(Bid bid) {
+        AuctionSummary summary = auctionSummaries.get(bid.getAuctionId());
+        if (summary != null) {
+            summary.applyBid(bid);
+        }
+        addActivity(bid);
+        version.incrementAndGet();
+    }
+
+    public void recordUserRegistered() {
+        totalUsers.incrementAndGet();
+        version.incrementAndGet();
+    }
+
+    public void recordUserDeleted() {
+        totalUsers.decrementAndGet();
+        version.incrementAndGet();
+    }
+
+    /**
+     * Entity tag for the current dashboard version
+     */
+    public String getETag() {
+        return "W/\"" + coordinatorService.getServerId() + "-" + version.get() + "\"";
+    }
+
+    /**
+     * Get the rendered dashboard, rebuilding it only when aggregates changed
+     */
+    public Map<String, Object> getDashboard() {
+        long currentVersion = version.get();
+        CachedDashboard cached = cachedDashboard;
+        if (cached != null && cached.version == currentVersion) {
+            return cached.body;
+        }
+
+        List<Map<String, Object>> auctions = new ArrayList<>();
+        long activeAuctions = 0;
+        for (AuctionSummary summary : auctionSummaries.values()) {
+            Map<String, Object> row = summary.toMap();
+            auctions.add(row);
+            if ("ACTIVE".equals(row.get("status"))) {
+                activeAuctions++;
+            }
+        }
+        auctions.sort(Comparator.comparing((Map<String, Object> row) -> (LocalDateTime) row.get("createdAt"),
+                Comparator.nullsLast(Comparator.reverseOrder())));
+
+        List<Map<String, Object>> activity = new ArrayList<>();
+        for (Map<String, Object> entry : recentActivity) {
+            Map<String, Object> item = new HashMap<>(entry);
+            AuctionSummary summary = auctionSummaries.get((UUID) entry.get("auctionId"));
+            item.put("auctionTitle", summary != null ? summary.title : null);
+            activity.add(item);
+        }
+
+        Map<String, Object> totals = new HashMap<>();
+        totals.put("totalAuctions", auctions.size());
+        totals.put("activeAuctions", activeAuctions);
+        totals.put("totalBids", clusterCounterService.getTotalBids());
+        totals.put("bidsPerMinute", clusterCounterService.getBidsPerMinute());
+
+        Map<String, Object> userTotals = new HashMap<>();
+        userTotals.put("total", totalUsers.get());
+
+        Map<String, Object> body = new HashMap<>();
+        body.put("version", currentVersion);
+        body.put("auctions", auctions);
+        body.put("recentActivity", activity);
+        body.put("totals", totals);
+        body.put("userTotals", userTotals);
+        body.put("generatedAt", System.currentTimeMillis());
+
+        cachedDashboard = new CachedDashboard(currentVersion, body);
+        return body;
+    }
+
+    private void addActivity(Bid bid) {
+        Map<String, Object> entry = new HashMap<>();
+        entry.put("id", bid.getId());
+        entry.put("auctionId", bid.getAuctionId());
+        entry.put("bidderId", bid.getBidderId());
+        entry.put("amount", bid.getAmount());
+        entry.put("timestamp", bid.getTimestamp());
+        entry.put("logicalTimestamp", bid.getLogicalTimestamp());
+        entry.put("serverId", bid.getServerId());
+
+        recentActivity.addFirst(entry);
+        if (recentActivitySize.incrementAndGet() > RECENT_ACTIVITY_SIZE) {
+            Iterator<Map<String, Object>> oldest = recentActivity.descendingIterator();
+            if (oldest.hasNext()) {
+                oldest.next();
+                oldest.remove();
+                recentActivitySize.decrementAndGet();
+            }
+        }
+    }
+
+    private record CachedDashboard(long version, Map<String, Object> body) {}
+
+    // Mutable per-auction aggregate, guarded by its own monitor
+    private static class AuctionSummary {
+        private final UUID id;
+        private String title;
+        private String description;
+        private String status;
+        private BigDecimal currentPrice;
+        private LocalDateTime endTime;
+        private LocalDateTime createdAt;
+        private String winnerName;
+        private long bidCount;
+        private BigDecimal topBid;
+        private LocalDateTime lastBidAt;
+
+        AuctionSummary(UUID id) {
+            this.id = id;
+        }
+
+        synchronized void applyAuction(Auction auction) {
+            title = auction.getTitle();
+            description = auction.getDescription();
+            status = auction.getStatus();
+            currentPrice = auction.getCurrentPrice();
+            endTime = auction.getEndTime();
+            createdAt = auction.getCreatedAt();
+            winnerName = auction.getWinnerName();
+        }
+
+        synchronized void applyUpdate(String newStatus, BigDecimal newPrice, LocalDateTime newEndTime) {
+            if (newStatus != null) {
+                status = newStatus;
+            }
+            if (newPrice != null && (currentPrice == null || newPrice.compareTo(currentPrice) > 0)) {
+                currentPrice = newPrice;
+            }
+            if (newEndTime != null) {
+                endTime = newEndTime;
+            }
+        }
+
+        synchronized void applyBid(Bid bid) {
+            bidCount++;
+            if (topBid == null || bid.getAmount().compareTo(topBid) > 0) {
+                topBid = bid.getAmount();
+            }
+            if (currentPrice == null || bid.getAmount().compareTo(currentPrice) > 0) {
+                currentPrice = bid.getAmount();
+            }
+            lastBidAt = bid.getTimestamp();
+        }
+
+        synchronized void reset(long count, BigDecimal highest, LocalDateTime lastBid) {
+            bidCount = count;
+            topBid = highest;
+            lastBidAt = lastBid;
+        }
+
+        synchronized Map<String, Object> toMap() {
+            Map<String, Object> row = new HashMap<>();
+            row.put("id", id);
+            row.put("title", title);
+            row.put("description", description);
+            row.put("status", status);
+            row.put("currentPrice", currentPrice);
+            row.put("endTime", endTime);
+            row.put("createdAt", createdAt);
+            row.put("winnerName", winnerName);
+            row.put("bidCount", bidCount);
+            row.put("topBid", topBid);
+            row.put("lastBidAt", lastBidAt);
+            return row;
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.auction.system.service;
+
+import com.auction.system.model.Auction;
+import com.auction.system.repository.AuctionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Bounded log of which auctions changed (price, status, end time, winner) and when.
+ *
+ * Positions are hybrid timestamps: the local Lamport clock at the time of the change
+ * plus a counter for changes recorded at the same clock value. A sync token names the
+ * issuing server and process, the position and the wall time. Tokens from this log
+ * are answered from memory; tokens from another server or process, or older than the
+ * retained window, fall back to a query on updated_at.
+ */
+@Service
+public class AuctionChangeLog {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuctionChangeLog.class);
+
+    // Allow for commits that were in flight (and clock skew) around the token's wall time
+    private static final long FALLBACK_MARGIN_MS = 5000;
+
+    @Value("${app.server.id}")
+    private int serverId;
+
+    @Value("${app.auction.changes.capacity:10000}")
+    private int capacity;
+
+    @Value("${app.auction.changes.max-results:500}")
+    private int maxResults;
+
+    @Autowired
+    private LamportClockService lamportClockService;
+
+    @Autowired
+    private AuctionRepository auctionRepository;
+
+    private final long epoch = System.currentTimeMillis();
+    private final Deque<Change> changes = new ArrayDeque<>();
+    private Position head = new Position(0, 0);
+    private Position evictedThrough = new Position(-1, 0);
+
+    /**
+     * Record that an auction changed, once the surrounding transaction (if any) commits
+     */
+    public void record(UUID auctionId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Otherwise a reader could see the new position before the new state
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    append(auctionId);
+                }
+            });
+        } else {
+            append(auctionId);
+        }
+    }
+
+    private synchronized void append(UUID auctionId) {
+        int clock = lamportClockService.getCurrentTime();
+        head = clock > head.lamport ? new Position(clock, 0) : new Position(head.lamport, head.counter + 1);
+        changes.addLast(new Change(head, auctionId));
+        if (changes.size() > capacity) {
+            evictedThrough = changes.removeFirst().position;
+        }
+    }
+
+    /**
+     * Auctions changed after the given token, the token to use next time, and where the answer came from
+     */
+    public Map<String, Object> changesSince(String token) {
+        Set<UUID> changedIds = new LinkedHashSet<>();
+        String nextToken;
+        boolean fromLog = false;
+
+        Token since = Token.parse(token);
+        synchronized (this) {
+            nextToken = new Token(serverId, epoch, head, System.currentTimeMillis()).toString();
+            if (since != null && since.serverId == serverId && since.epoch == epoch
+                    && since.position.compareTo(evictedThrough) >= 0) {
+                Iterator<Change> newestFirst = changes.descendingIterator();
+                while (newestFirst.hasNext()) {
+                    Change change = newestFirst.next();
+                    if (change.position.compareTo(since.position) <= 0) {
+                        break;
+                    }
+                    changedIds.add(change.auctionId);
+                }
+                fromLog = true;
+            }
+        }
+
+        Map<String, Object> result = new HashMap<>();
+        List<Auction> auctions;
+        boolean truncated;
+        if (fromLog) {
+            List<UUID> ids = new ArrayList<>(changedIds);
+            truncated = ids.size() > maxResults;
+            auctions = auctionRepository.findAllById(truncated ? ids.subList(0, maxResults) : ids);
+        } else if (since != null) {
+            LocalDateTime after = LocalDateTime.ofInstant(
+                Instant.ofEpochMilli(since.wallMillis - FALLBACK_MARGIN_MS), ZoneId.systemDefault());
+            auctions = auctionRepository.findByUpdatedAtAfterOrderByUpdatedAtDesc(after, PageRequest.of(0, maxResults + 1));
+            truncated = auctions.size() > maxResults;
+            if (truncated) {
+                auctions = auctions.subList(0, maxResults);
+            }
+            logger.debug("Change token {} not in the log, read {} auctions from the database", token, auctions.size());
+        } else {
+            // No (or unreadable) token: the caller needs a full load
+            auctions = List.of();
+            truncated = true;
+        }
+
+        result.put("auctions", auctions);
+        result.put("token", nextToken);
+        result.put("source", fromLog ? "log" : "database");
+        // Too many changes to list; the client should reload its full view
+        result.put("truncated", truncated);
+        return result;
+    }
+
+    public synchronized Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("capacity", capacity);
+        stats.put("retained", changes.size());
+        stats.put("head", head.toString());
+        return stats;
+    }
+
+    // Hybrid position: Lamport clock value, then order among changes at that value
+    private record Position(int lamport, int counter) implements Comparable<Position> {
+        @Override
+        public int compareTo(Position other) {
+            int byClock = Integer.compare(lamport, other.lamport);
+            return byClock != 0 ? byClock : Integer.compare(counter, other.counter);
+        }
+
+        @Override
+        public String toString() {
+            return lamport + "." + counter;
+        }
+    }
+
+    private record Change(Position position, UUID auctionId) {}
+
+    // serverId-epoch-lamport-counter-wallMillis
+    private record Token(int serverId, long epoch, Position position, long wallMillis) {
+        static Token parse(String token) {
+            if (token == null || token.isBlank()) {
+                return null;
+            }
+            try {
+                String[] parts = token.split("-");
+                return new Token(Integer.parseInt(parts[0]), Long.parseLong(parts[1]),
+                    new Position(Integer.parseInt(parts[2]), Integer.parseInt(parts[3])), Long.parseLong(parts[4]));
+            } catch (RuntimeException e) {
+                return null;
+            }
+        }
+
+        @Override
+        public String toString() {
+            return serverId + "-" + epoch + "-" + position.lamport + "-" + position.counter + "-" + wallMillis;
+        }
+    }
+}
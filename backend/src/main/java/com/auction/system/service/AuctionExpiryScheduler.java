@@ -0,0 +1,371 @@
+package com.auction.system.service;
+
+import com.auction.system.model.Auction;
+import com.auction.system.repository.AuctionRepository;
+import com.auction.system.websocket.AuctionWebSocketHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Timer wheel that closes auctions as soon as their end time passes.
+ *
+ * Deadlines within the wheel horizon sit in the slot of the tick they expire on;
+ * later deadlines wait in an overflow queue and are cascaded into the wheel as the
+ * horizon reaches them, so each tick only touches auctions that actually expire.
+ * The wheel is owned by a single ticker thread; other threads hand registrations
+ * over through a queue. Settlement runs on a separate worker so slow database
+ * work never delays the clock; large bursts of expiries are settled in bulk.
+ *
+ * Rescheduling or cancelling leaves the old entry in place to be skipped when it
+ * fires. Once such stale entries outnumber the live ones the ticker sweeps them out,
+ * so churn on far-off deadlines cannot grow the overflow queue without bound.
+ */
+@Service
+public class AuctionExpiryScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuctionExpiryScheduler.class);
+
+    private static final int MIN_STALE_TO_COMPACT = 1024;
+
+    @Value("${app.auction.expiry.tick-ms:20}")
+    private long tickMs;
+
+    @Value("${app.auction.expiry.wheel-size:1024}")
+    private int wheelSize;
+
+    @Value("${app.auction.settlement.bulk-threshold:50}")
+    private int bulkThreshold;
+
+    @Value("${app.auction.settlement.bulk-batch-size:5000}")
+    private int bulkBatchSize;
+
+    @Autowired
+    private AuctionService auctionService;
+
+    @Autowired
+    private AuctionRepository auctionRepository;
+
+    @Autowired
+    private AuctionWebSocketHandler webSocketHandler;
+
+    @Autowired
+    private LamportClockService lamportClockService;
+
+    @Autowired
+    private SettlementOwnershipService ownershipService;
+
+    // Authoritative deadline per auction; wheel entries that no longer match are stale
+    private final Map<UUID, Long> deadlines = new ConcurrentHashMap<>();
+    private final Queue<Expiry> pendingRegistrations = new ConcurrentLinkedQueue<>();
+    // Auctions owned by another node that this node will settle if the owner has not
+    private final Set<UUID> takeovers = ConcurrentHashMap.newKeySet();
+    // Entries in the wheel or overflow that no longer match deadlines
+    private final AtomicLong staleEntries = new AtomicLong(0);
+
+    // Ticker-thread state
+    private List<ArrayDeque<Expiry>> wheel;
+    private int mask;
+    private final PriorityQueue<Expiry> overflow = new PriorityQueue<>();
+    private long currentTick;
+
+    private final ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "auction-expiry-ticker");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ExecutorService settlementExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "auction-settlement");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final AtomicLong expiredCount = new AtomicLong(0);
+    private final AtomicLong maxLatenessMs = new AtomicLong(0);
+    private final AtomicLong compactions = new AtomicLong(0);
+
+    private LongSupplier clock = System::currentTimeMillis;
+
+    @PostConstruct
+    public void init() {
+        int slots = Integer.highestOneBit(Math.max(2, wheelSize - 1)) << 1;
+        wheel = new ArrayList<>(slots);
+        for (int i = 0; i < slots; i++) {
+            wheel.add(new ArrayDeque<>());
+        }
+        mask = slots - 1;
+        currentTick = clock.getAsLong() / tickMs;
+    }
+
+    @PreDestroy
+    public void cleanup() {
+        ticker.shutdownNow();
+        settlementExecutor.shutdownNow();
+    }
+
+    /**
+     * Schedule all active auctions and start the wheel once the application is ready
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void bootstrap() {
+        try {
+            for (Auction auction : auctionRepository.findByStatus("ACTIVE")) {
+                schedule(auction.getId(), auction.getEndTime());
+            }
+        } catch (Exception e) {
+            logger.error("Failed to load active auctions for expiry scheduling", e);
+        }
+        ticker.scheduleAtFixedRate(this::tick, tickMs, tickMs, TimeUnit.MILLISECONDS);
+        logger.info("Auction expiry scheduler started with {} auctions ({} ms tick, {} slots)",
+                deadlines.size(), tickMs, wheel.size());
+    }
+
+    /**
+     * Schedule (or reschedule) expiry of an auction at its end time
+     */
+    public void schedule(UUID auctionId, LocalDateTime endTime) {
+        if (auctionId == null || endTime == null) {
+            return;
+        }
+        scheduleAt(auctionId, endTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+    }
+
+    private void scheduleAt(UUID auctionId, long deadline) {
+        Long previous = deadlines.put(auctionId, deadline);
+        if (previous == null || previous != deadline) {
+            if (previous != null) {
+                staleEntries.incrementAndGet();
+            }
+            // Round up so an auction never fires before its end time
+            pendingRegistrations.add(new Expiry(auctionId, deadline, Math.floorDiv(deadline + tickMs - 1, tickMs)));
+        }
+    }
+
+    /**
+     * Cancel a scheduled expiry (e.g. the auction was ended manually)
+     */
+    public void cancel(UUID auctionId) {
+        if (auctionId != null) {
+            if (deadlines.remove(auctionId) != null) {
+                staleEntries.incrementAndGet();
+            }
+            takeovers.remove(auctionId);
+        }
+    }
+
+    /**
+     * Safety net for auctions whose registration was missed, e.g. replicated while
+     * this node was down. The active index answers this from its end-time order.
+     */
+    @Scheduled(fixedDelayString = "${app.auction.index.reconcile-interval:60000}", initialDelay = 60000)
+    public void sweepMissedExpiries() {
+        // Only auctions past the takeover grace, so the sweep never races a healthy owner
+        LocalDateTime cutoff = LocalDateTime.now().minusNanos(ownershipService.getTakeoverGraceMs() * 1_000_000);
+        List<UUID> ids = new ArrayList<>();
+        for (Auction auction : auctionService.getExpiredAuctions()) {
+            if (auction.getEndTime().isBefore(cutoff)) {
+                if (deadlines.remove(auction.getId()) != null) {
+                    staleEntries.incrementAndGet();
+                }
+                takeovers.add(auction.getId());
+                ids.add(auction.getId());
+            }
+        }
+        if (!ids.isEmpty()) {
+            logger.info("Expiry sweep found {} overdue auctions", ids.size());
+            settlementExecutor.execute(() -> settle(ids));
+        }
+    }
+
+    public int getScheduledCount() {
+        return deadlines.size();
+    }
+
+    public int getPendingTakeoverCount() {
+        return takeovers.size();
+    }
+
+    public long getExpiredCount() {
+        return expiredCount.get();
+    }
+
+    public long getStaleEntryCount() {
+        return Math.max(0, staleEntries.get());
+    }
+
+    public long getCompactionCount() {
+        return compactions.get();
+    }
+
+    /**
+     * Worst observed delay between an auction's end time and its settlement being dispatched
+     */
+    public long getMaxLatenessMs() {
+        return maxLatenessMs.get();
+    }
+
+    private void tick() {
+        try {
+            long now = clock.getAsLong();
+            long targetTick = now / tickMs;
+            List<UUID> due = new ArrayList<>();
+
+            Expiry registration;
+            while ((registration = pendingRegistrations.poll()) != null) {
+                place(registration, due);
+            }
+
+            long stale = staleEntries.get();
+            if (stale >= MIN_STALE_TO_COMPACT && stale > deadlines.size()) {
+                compact();
+            }
+
+            while (currentTick < targetTick) {
+                currentTick++;
+                // Cascade overflow deadlines that have come within the wheel horizon
+                while (!overflow.isEmpty() && overflow.peek().tick() <= currentTick + mask) {
+                    Expiry cascaded = overflow.poll();
+                    wheel.get((int) (cascaded.tick() & mask)).add(cascaded);
+                }
+                ArrayDeque<Expiry> slot = wheel.get((int) (currentTick & mask));
+                Expiry expiry;
+                while ((expiry = slot.poll()) != null) {
+                    fire(expiry, now, due);
+                }
+            }
+
+            if (!due.isEmpty()) {
+                settlementExecutor.execute(() -> settle(due));
+            }
+        } catch (Exception e) {
+            logger.error("Auction expiry tick failed", e);
+        }
+    }
+
+    private void place(Expiry expiry, List<UUID> due) {
+        long tick = expiry.tick();
+        if (tick <= currentTick) {
+            fire(expiry, clock.getAsLong(), due);
+        } else if (tick - currentTick <= mask) {
+            wheel.get((int) (tick & mask)).add(expiry);
+        } else {
+            overflow.add(expiry);
+        }
+    }
+
+    private void fire(Expiry expiry, long now, List<UUID> due) {
+        // Skip entries superseded by a reschedule or cancelled since they were placed
+        if (deadlines.remove(expiry.auctionId(), expiry.deadline())) {
+            due.add(expiry.auctionId());
+            expiredCount.incrementAndGet();
+            maxLatenessMs.accumulateAndGet(now - expiry.deadline(), Math::max);
+        } else {
+            staleEntries.decrementAndGet();
+        }
+    }
+
+    /**
+     * Drop superseded entries from the wheel and overflow, keeping one entry per live deadline
+     */
+    private void compact() {
+        Set<UUID> kept = new HashSet<>();
+        int removed = 0;
+        for (ArrayDeque<Expiry> slot : wheel) {
+            int before = slot.size();
+            slot.removeIf(expiry -> !isLive(expiry, kept));
+            removed += before - slot.size();
+        }
+        int before = overflow.size();
+        overflow.removeIf(expiry -> !isLive(expiry, kept));
+        removed += before - overflow.size();
+
+        // Registrations made while compacting are counted separately and survive
+        staleEntries.addAndGet(-removed);
+        compactions.incrementAndGet();
+        logger.debug("Compacted expiry wheel: removed {} stale entries, {} remain", removed, kept.size());
+    }
+
+    private boolean isLive(Expiry expiry, Set<UUID> kept) {
+        Long deadline = deadlines.get(expiry.auctionId());
+        return deadline != null && deadline == expiry.deadline() && kept.add(expiry.auctionId());
+    }
+
+    private void settle(List<UUID> auctionIds) {
+        List<UUID> owned = new ArrayList<>();
+        for (UUID auctionId : auctionIds) {
+            if (!takeovers.remove(auctionId) && !ownershipService.isLocalOwner(auctionId)) {
+                // Give the owner a grace period; settle ourselves if it has not by then
+                takeovers.add(auctionId);
+                scheduleAt(auctionId, clock.getAsLong() + ownershipService.getTakeoverGraceMs());
+                continue;
+            }
+            owned.add(auctionId);
+        }
+
+        if (owned.size() >= bulkThreshold) {
+            settleInBulk(owned);
+            return;
+        }
+
+        for (UUID auctionId : owned) {
+            try {
+                Auction ended = auctionService.settleExpiredAuction(auctionId);
+                if (ended != null) {
+                    webSocketHandler.broadcastAuctionUpdate(auctionId.toString(), ended, lamportClockService.incrementAndGet());
+                    logger.info("Auction {} ended and notifications sent", auctionId);
+                }
+            } catch (Exception e) {
+                logger.error("Failed to settle expired auction {}", auctionId, e);
+            }
+        }
+    }
+
+    private void settleInBulk(List<UUID> auctionIds) {
+        for (int from = 0; from < auctionIds.size(); from += bulkBatchSize) {
+            List<UUID> batch = auctionIds.subList(from, Math.min(from + bulkBatchSize, auctionIds.size()));
+            try {
+                List<Map<String, Object>> settled = auctionService.settleExpiredAuctions(batch);
+                if (!settled.isEmpty()) {
+                    webSocketHandler.broadcastAuctionsEnded(settled, lamportClockService.incrementAndGet());
+                }
+            } catch (Exception e) {
+                logger.error("Bulk settlement of {} auctions failed", batch.size(), e);
+            }
+        }
+    }
+
+    // A scheduled expiry; ordered by deadline for the overflow queue
+    private record Expiry(UUID auctionId, long deadline, long tick) implements Comparable<Expiry> {
+        @Override
+        public int compareTo(Expiry other) {
+            return Long.compare(deadline, other.deadline);
+        }
+    }
+}
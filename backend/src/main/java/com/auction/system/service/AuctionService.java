@@ -10,16 +10,25 @@ import com.auction.system.repository.UserRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 
@@ -46,10 +55,52 @@ public class AuctionService {
     @Autowired
     private DistributedCoordinatorService coordinatorService;
     
+    @Autowired
+    private ActiveAuctionIndex activeAuctionIndex;
+    
+    @Autowired
+    private ClusterCounterService clusterCounterService;
+    
+    @Autowired
+    private AdminDashboardService adminDashboardService;
+    
+    @Autowired
+    private AuctionExpiryScheduler expiryScheduler;
+    
+    @Autowired
+    private SoftClosePolicy softClosePolicy;
+    
+    @Autowired
+    private OutboxRelay outboxRelay;
+    
+    @Autowired
+    private DatabaseChangeFeed changeFeed;
+    
+    @Autowired
+    private LamportClockService lamportClockService;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
     private static final String BID_LOCK_PREFIX = "bid_lock:";
     private static final String AUCTION_CACHE_PREFIX = "auction:";
     private static final int LOCK_TIMEOUT = 30; // seconds
     
+    /**
+     * Apply other servers' committed auction and bid rows as the database reports them
+     */
+    @PostConstruct
+    public void registerChangeFeedHandlers() {
+        changeFeed.registerHandler("auctions", this::applyAuctionChange);
+        changeFeed.registerHandler("bids", this::applyBidChange);
+        // Anything committed while the listener was down is recovered from the tables
+        changeFeed.registerResync(() -> {
+            activeAuctionIndex.reconcile();
+            clusterCounterService.reconcile();
+            adminDashboardService.reconcile();
+        });
+    }
+    
     /**
      * Create a new auction
      */
@@ -62,12 +113,18 @@ public class AuctionService {
             auction.setStatus("ACTIVE");
             
             Auction savedAuction = auctionRepository.save(auction);
+            afterCommit(() -> {
+                activeAuctionIndex.upsert(savedAuction);
+                adminDashboardService.recordAuction(savedAuction);
+                expiryScheduler.schedule(savedAuction.getId(), savedAuction.getEndTime());
+            });
             
-            // Cache the auction
-            cacheAuction(savedAuction);
-            
-            // Replicate to other servers
+            // Cache eviction, replication and the list announcement go out after commit
+            evictAuctionCache(savedAuction.getId());
             replicateAuctionCreation(savedAuction);
+            outboxRelay.enqueue(OutboxRelay.AUCTION_CREATED, Map.of(
+                "auction", savedAuction,
+                "logicalTimestamp", coordinatorService.getLogicalClock()));
             
             logger.info("Created auction: {}", savedAuction.getId());
             return savedAuction;
@@ -123,17 +180,45 @@ public class AuctionService {
             // Update auction current price
             auction.setCurrentPrice(amount);
             auction.setUpdatedAt(LocalDateTime.now());
-            auctionRepository.save(auction);
             
-            // Update cache (optional, non-blocking)
-            try {
-                cacheAuction(auction);
-            } catch (Exception e) {
-                logger.warn("Failed to cache auction, continuing: {}", e.getMessage());
+            // Soft close: a bid in the closing window pushes the end time out
+            LocalDateTime extendedEndTime = softClosePolicy.extendedEndTime(auction, savedBid.getTimestamp());
+            if (extendedEndTime != null) {
+                auction.setEndTime(extendedEndTime);
+                auction.setExtensionCount(auction.getExtensionCount() + 1);
+                logger.info("Soft close extended auction {} to {} (extension {})", 
+                           auctionId, extendedEndTime, auction.getExtensionCount());
             }
             
-            // Replicate bid to other servers
-            replicateBidCreation(savedBid);
+            auctionRepository.save(auction);
+            int extensionCount = auction.getExtensionCount();
+            afterCommit(() -> {
+                clusterCounterService.recordBid(savedBid.getServerId());
+                adminDashboardService.recordBid(savedBid);
+                activeAuctionIndex.applyUpdate(auction.getId(), null, amount, extendedEndTime);
+                // The row is the authority; this keeps broadcasts current after a restart
+                softClosePolicy.applyExtensionCount(auction.getId(), extensionCount);
+                if (extendedEndTime != null) {
+                    expiryScheduler.schedule(auction.getId(), extendedEndTime);
+                    adminDashboardService.recordAuctionUpdate(auction.getId(), null, null, extendedEndTime);
+                }
+            });
+            
+            // Cache eviction, replication and the bid broadcast go out after commit
+            evictAuctionCache(auction.getId());
+            if (changeFeed.isEnabled()) {
+                // Peers see the bid through the database change feed, which does not
+                // carry the extension count, so that still has to be replicated
+                if (extendedEndTime != null) {
+                    replicateExtension(auction, extensionCount);
+                }
+            } else {
+                replicateBidCreation(savedBid, extendedEndTime, extensionCount);
+            }
+            outboxRelay.enqueue(OutboxRelay.BID_PLACED, Map.of(
+                "auctionId", auctionId,
+                "bid", savedBid,
+                "logicalTimestamp", logicalTimestamp));
             
             logger.info("Placed bid: {} on auction: {} for amount: {}", 
                        savedBid.getId(), auctionId, amount);
@@ -183,10 +268,13 @@ public class AuctionService {
     }
     
     /**
-     * Get all active auctions
+     * Get all active auctions (served from the in-memory index once bootstrapped)
      */
     public List<Auction> getActiveAuctions() {
         try {
+            if (activeAuctionIndex.isBootstrapped()) {
+                return activeAuctionIndex.getActiveAuctions(LocalDateTime.now());
+            }
             return auctionRepository.findByStatusAndEndTimeAfterOrderByEndTimeAsc("ACTIVE", LocalDateTime.now());
         } catch (Exception e) {
             logger.error("Failed to get active auctions", e);
@@ -194,6 +282,31 @@ public class AuctionService {
         }
     }
     
+    /**
+     * Get auctions still marked active whose end time has passed
+     */
+    public List<Auction> getExpiredAuctions() {
+        try {
+            if (activeAuctionIndex.isBootstrapped()) {
+                return activeAuctionIndex.getExpiredAuctions(LocalDateTime.now());
+            }
+            return auctionRepository.findExpiredAuctions(LocalDateTime.now());
+        } catch (Exception e) {
+            logger.error("Failed to get expired auctions", e);
+            return List.of();
+        }
+    }
+    
+    /**
+     * Get number of auctions currently tracked as active
+     */
+    public int getActiveAuctionCount() {
+        if (activeAuctionIndex.isBootstrapped()) {
+            return activeAuctionIndex.size();
+        }
+        return getActiveAuctions().size();
+    }
+    
     /**
      * Admin function to end an auction early
      */
@@ -222,16 +335,19 @@ public class AuctionService {
             declareWinner(auction);
             
             auctionRepository.save(auction);
+            afterCommit(() -> {
+                activeAuctionIndex.remove(auction.getId());
+                adminDashboardService.recordAuction(auction);
+                expiryScheduler.cancel(auction.getId());
+            });
             
-            // Update cache
-            try {
-                cacheAuction(auction);
-            } catch (Exception e) {
-                logger.warn("Failed to cache auction after ending, continuing: {}", e.getMessage());
-            }
-            
-            // Replicate the update to other servers
+            // Cache eviction, replication and the status broadcast go out after commit
+            evictAuctionCache(auction.getId());
             replicateAuctionUpdate(auction);
+            outboxRelay.enqueue(OutboxRelay.AUCTION_ENDED, Map.of(
+                "auctionId", auctionId,
+                "auction", auction,
+                "logicalTimestamp", coordinatorService.getLogicalClock()));
             
             logger.info("Successfully ended auction early: {}", auctionId);
             return true;
@@ -266,6 +382,13 @@ public class AuctionService {
         }
     }
     
+    /**
+     * Get one page of an auction's bids, newest first
+     */
+    public Page<Bid> getBidPage(String auctionId, int page, int size) {
+        return bidRepository.findByAuctionIdOrderByTimestampDesc(UUID.fromString(auctionId), PageRequest.of(page, size));
+    }
+    
     /**
      * Get bids for auction with bidder names
      */
@@ -306,10 +429,13 @@ public class AuctionService {
     }
     
     /**
-     * Get total bids count
+     * Get total bids count (served from maintained counters once reconciled)
      */
     public int getTotalBidsCount() {
         try {
+            if (clusterCounterService.isReconciled()) {
+                return (int) clusterCounterService.getTotalBids();
+            }
             return (int) bidRepository.count();
         } catch (Exception e) {
             logger.error("Failed to get total bids count", e);
@@ -318,10 +444,10 @@ public class AuctionService {
     }
     
     /**
-     * End an auction
+     * End an auction; the status broadcast goes out through the outbox after commit
      */
     @Transactional
-    public Auction endAuction(String auctionId) {
+    public Auction endAuction(String auctionId, int logicalTimestamp) {
         try {
             Auction auction = getAuction(auctionId);
             if (auction == null) {
@@ -332,10 +458,19 @@ public class AuctionService {
             auction.setUpdatedAt(LocalDateTime.now());
             
             Auction savedAuction = auctionRepository.save(auction);
-            cacheAuction(savedAuction);
+            afterCommit(() -> {
+                activeAuctionIndex.remove(savedAuction.getId());
+                adminDashboardService.recordAuction(savedAuction);
+                expiryScheduler.cancel(savedAuction.getId());
+            });
+            evictAuctionCache(savedAuction.getId());
             
             // Replicate auction end
             replicateAuctionUpdate(savedAuction);
+            outboxRelay.enqueue(OutboxRelay.AUCTION_ENDED, Map.of(
+                "auctionId", auctionId,
+                "auction", savedAuction,
+                "logicalTimestamp", logicalTimestamp));
             
             logger.info("Ended auction: {}", auctionId);
             return savedAuction;
@@ -478,50 +613,162 @@ public class AuctionService {
     }
     
     /**
-     * Scheduled task to auto-end expired auctions and declare winners
+     * End an auction whose end time has passed and declare its winner.
+     * Called by the expiry scheduler; returns null if there was nothing to settle.
      */
-    @org.springframework.scheduling.annotation.Scheduled(fixedRate = 60000) // Run every minute
-    public void autoEndExpiredAuctions() {
+    @Transactional
+    public Auction settleExpiredAuction(UUID auctionId) {
         try {
-            List<Auction> activeAuctions = auctionRepository.findByStatus("ACTIVE");
+            Auction auction = auctionRepository.findById(auctionId).orElse(null);
+            if (auction == null || !"ACTIVE".equals(auction.getStatus())) {
+                activeAuctionIndex.remove(auctionId);
+                return null;
+            }
+            
             LocalDateTime now = LocalDateTime.now();
+            if (auction.getEndTime().isAfter(now)) {
+                // End time was extended after this expiry was scheduled
+                expiryScheduler.schedule(auction.getId(), auction.getEndTime());
+                return null;
+            }
             
-            for (Auction auction : activeAuctions) {
-                if (now.isAfter(auction.getEndTime())) {
-                    logger.info("Auto-ending expired auction: {}", auction.getId());
-                    auction.setStatus("ENDED");
-                    auction.setUpdatedAt(now);
-                    
-                    // Declare winner
-                    declareWinner(auction);
-                    
-                    auctionRepository.save(auction);
-                    
-                    // Update cache
-                    try {
-                        cacheAuction(auction);
-                    } catch (Exception e) {
-                        logger.warn("Failed to cache ended auction", e);
-                    }
-                    
-                    // Replicate update
-                    replicateAuctionUpdate(auction);
+            // Claim the settlement; the row lock holds off other nodes until we commit
+            if (auctionRepository.markEndedIfActive(auctionId, now) == 0) {
+                Auction current = auctionRepository.findById(auctionId).orElse(null);
+                if (current != null && "ACTIVE".equals(current.getStatus())) {
+                    // A late bid extended it between our read and the claim
+                    expiryScheduler.schedule(auctionId, current.getEndTime());
+                } else {
+                    clusterCounterService.recordDuplicateSettlement();
+                    logger.info("Auction {} was already settled by another node", auctionId);
                 }
+                return null;
             }
+            
+            logger.info("Auto-ending expired auction: {}", auction.getId());
+            auction.setStatus("ENDED");
+            auction.setUpdatedAt(now);
+            
+            // Declare winner
+            declareWinner(auction);
+            
+            auctionRepository.save(auction);
+            afterCommit(() -> {
+                activeAuctionIndex.remove(auction.getId());
+                adminDashboardService.recordAuction(auction);
+                clusterCounterService.recordSettlement(coordinatorService.getServerId());
+                softClosePolicy.clear(auction.getId());
+            });
+            
+            // Evict the cached copy after commit
+            evictAuctionCache(auction.getId());
+            
+            // Replicate update
+            replicateAuctionUpdate(auction, coordinatorService.getServerId());
+            return auction;
+            
         } catch (Exception e) {
-            logger.error("Failed to auto-end expired auctions", e);
+            logger.error("Failed to auto-end expired auction: {}", auctionId, e);
+            return null;
         }
     }
     
-    private void cacheAuction(Auction auction) {
+    /**
+     * Settle many expired auctions at once: one statement ends them and declares winners,
+     * followed by a single cache eviction and a single replication message.
+     * Returns a summary (auctionId, title, finalPrice, winnerId, winnerName) per settled auction.
+     */
+    @Transactional
+    public List<Map<String, Object>> settleExpiredAuctions(List<UUID> auctionIds) {
+        List<Map<String, Object>> settled = new ArrayList<>();
+        if (auctionIds.isEmpty()) {
+            return settled;
+        }
+        
         try {
-            String cacheKey = AUCTION_CACHE_PREFIX + auction.getId();
-            redisTemplate.opsForValue().set(cacheKey, auction, 300, TimeUnit.SECONDS); // 5 minutes cache
+            LocalDateTime now = LocalDateTime.now();
+            List<Object[]> rows = auctionRepository.settleExpiredBatch(auctionIds, now);
+            // The batch returns rows, so it can't be @Modifying(clearAutomatically = true) like
+            // markEndedIfActive; drop any managed copies it made stale before reading them back
+            entityManager.clear();
+            
+            int serverId = coordinatorService.getServerId();
+            List<String> cacheKeys = new ArrayList<>();
+            Set<UUID> settledIds = new HashSet<>();
+            for (Object[] row : rows) {
+                UUID auctionId = UUID.fromString(row[0].toString());
+                Map<String, Object> summary = new HashMap<>();
+                summary.put("auctionId", auctionId.toString());
+                summary.put("title", row[1]);
+                summary.put("finalPrice", row[2]);
+                summary.put("winnerId", row[3]);
+                summary.put("winnerName", row[4]);
+                settled.add(summary);
+                settledIds.add(auctionId);
+                cacheKeys.add(AUCTION_CACHE_PREFIX + auctionId);
+            }
+            afterCommit(() -> {
+                for (UUID auctionId : settledIds) {
+                    activeAuctionIndex.remove(auctionId);
+                    adminDashboardService.recordAuctionUpdate(auctionId, "ENDED", null, null);
+                    clusterCounterService.recordSettlement(serverId);
+                    softClosePolicy.clear(auctionId);
+                }
+            });
+            
+            // Anything not settled was either extended (reschedule it) or already settled elsewhere
+            if (settledIds.size() < auctionIds.size()) {
+                List<UUID> remaining = auctionIds.stream().filter(id -> !settledIds.contains(id)).toList();
+                for (Auction auction : auctionRepository.findAllById(remaining)) {
+                    if ("ACTIVE".equals(auction.getStatus()) && auction.getEndTime().isAfter(now)) {
+                        expiryScheduler.schedule(auction.getId(), auction.getEndTime());
+                    } else {
+                        clusterCounterService.recordDuplicateSettlement();
+                        activeAuctionIndex.remove(auction.getId());
+                    }
+                }
+            }
+            
+            if (!cacheKeys.isEmpty()) {
+                outboxRelay.enqueueCacheEviction(cacheKeys);
+                replicateSettlementBatch(settled, serverId);
+            }
+            
+            logger.info("Bulk-settled {} of {} expired auctions", settled.size(), auctionIds.size());
+            return settled;
+            
         } catch (Exception e) {
-            logger.error("Failed to cache auction: {}", auction.getId(), e);
+            logger.error("Failed to bulk-settle {} expired auctions", auctionIds.size(), e);
+            throw new RuntimeException("Failed to bulk-settle expired auctions", e);
         }
     }
     
+    /**
+     * Run once the current transaction commits (at once if there is none), so node-local
+     * indexes and counters never show a write that was rolled back
+     */
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                try {
+                    action.run();
+                } catch (Exception e) {
+                    // The write is committed; the periodic reconcile repairs local state
+                    logger.error("Failed to apply committed change to node-local state", e);
+                }
+            }
+        });
+    }
+    
+    private void evictAuctionCache(UUID auctionId) {
+        outboxRelay.enqueueCacheEviction(List.of(AUCTION_CACHE_PREFIX + auctionId));
+    }
+    
     private void replicateAuctionCreation(Auction auction) {
         try {
             CoordinatorService.ReplicationRequest request = new CoordinatorService.ReplicationRequest(
@@ -529,60 +776,101 @@ public class AuctionService {
                 "CREATE",
                 "auctions",
                 auction.getId().toString(),
-                Map.of("id", auction.getId(), "title", auction.getTitle(), "currentPrice", auction.getCurrentPrice()),
+                Map.of("id", auction.getId(),
+                       "title", auction.getTitle(),
+                       "currentPrice", auction.getCurrentPrice(),
+                       "startingPrice", auction.getStartingPrice(),
+                       "endTime", auction.getEndTime().toString(),
+                       "sellerId", auction.getSellerId(),
+                       "status", auction.getStatus()),
                 coordinatorService.getLogicalClock()
             );
             
-            // Send to all peers
-            for (Map.Entry<Integer, CoordinatorService> entry : coordinatorService.getPeerServices().entrySet()) {
-                try {
-                    entry.getValue().replicateData(request);
-                } catch (Exception e) {
-                    logger.warn("Failed to replicate auction creation to server {}", entry.getKey());
-                }
-            }
+            // Queue for every peer's replication stream
+            outboxRelay.enqueueReplication(request);
             
         } catch (Exception e) {
             logger.error("Failed to replicate auction creation", e);
         }
     }
     
-    private void replicateBidCreation(Bid bid) {
+    private void replicateBidCreation(Bid bid, LocalDateTime extendedEndTime, int extensionCount) {
         try {
+            Map<String, Object> data = new HashMap<>();
+            data.put("id", bid.getId());
+            data.put("auctionId", bid.getAuctionId());
+            data.put("bidderId", bid.getBidderId());
+            data.put("amount", bid.getAmount());
+            data.put("timestamp", bid.getTimestamp().toString());
+            data.put("logicalTimestamp", bid.getLogicalTimestamp());
+            data.put("serverId", bid.getServerId());
+            if (extendedEndTime != null) {
+                // Peers apply the extension from the bid itself, no auction reload needed
+                data.put("auctionEndTime", extendedEndTime.toString());
+                data.put("extensionCount", extensionCount);
+            }
+            
             CoordinatorService.ReplicationRequest request = new CoordinatorService.ReplicationRequest(
                 UUID.randomUUID().toString(),
                 "CREATE",
                 "bids",
                 bid.getId().toString(),
-                Map.of("id", bid.getId(), "auctionId", bid.getAuctionId(), "amount", bid.getAmount()),
+                data,
                 coordinatorService.getLogicalClock()
             );
             
-            // Send to all peers
-            for (Map.Entry<Integer, CoordinatorService> entry : coordinatorService.getPeerServices().entrySet()) {
-                try {
-                    entry.getValue().replicateData(request);
-                } catch (Exception e) {
-                    logger.warn("Failed to replicate bid creation to server {}", entry.getKey());
-                }
-            }
+            // Queue for every peer's replication stream
+            outboxRelay.enqueueReplication(request);
             
         } catch (Exception e) {
             logger.error("Failed to replicate bid creation", e);
         }
     }
     
+    private void replicateExtension(Auction auction, int extensionCount) {
+        try {
+            Map<String, Object> data = new HashMap<>();
+            data.put("endTime", auction.getEndTime().toString());
+            data.put("extensionCount", extensionCount);
+            data.put("updatedAt", auction.getUpdatedAt().toString());
+            
+            CoordinatorService.ReplicationRequest request = new CoordinatorService.ReplicationRequest(
+                UUID.randomUUID().toString(),
+                "UPDATE",
+                "auctions",
+                auction.getId().toString(),
+                data,
+                coordinatorService.getLogicalClock()
+            );
+            
+            // Queue for every peer's replication stream
+            outboxRelay.enqueueReplication(request);
+            
+        } catch (Exception e) {
+            logger.error("Failed to replicate soft close extension", e);
+        }
+    }
+    
     private void replicateAuctionUpdate(Auction auction) {
+        replicateAuctionUpdate(auction, null);
+    }
+    
+    private void replicateAuctionUpdate(Auction auction, Integer settledBy) {
         try {
             Map<String, Object> data = new HashMap<>();
             data.put("status", auction.getStatus());
             data.put("currentPrice", auction.getCurrentPrice());
+            data.put("endTime", auction.getEndTime().toString());
+            data.put("updatedAt", auction.getUpdatedAt().toString());
             if (auction.getWinnerId() != null) {
                 data.put("winnerId", auction.getWinnerId());
             }
             if (auction.getWinnerName() != null) {
                 data.put("winnerName", auction.getWinnerName());
             }
+            if (settledBy != null) {
+                data.put("settledBy", settledBy);
+            }
             
             CoordinatorService.ReplicationRequest request = new CoordinatorService.ReplicationRequest(
                 UUID.randomUUID().toString(),
@@ -593,20 +881,37 @@ public class AuctionService {
                 coordinatorService.getLogicalClock()
             );
             
-            // Send to all peers
-            for (Map.Entry<Integer, CoordinatorService> entry : coordinatorService.getPeerServices().entrySet()) {
-                try {
-                    entry.getValue().replicateData(request);
-                } catch (Exception e) {
-                    logger.warn("Failed to replicate auction update to server {}", entry.getKey());
-                }
-            }
+            // Queue for every peer's replication stream
+            outboxRelay.enqueueReplication(request);
             
         } catch (Exception e) {
             logger.error("Failed to replicate auction update", e);
         }
     }
     
+    private void replicateSettlementBatch(List<Map<String, Object>> settled, int settledBy) {
+        try {
+            Map<String, Object> data = new HashMap<>();
+            data.put("settledBy", settledBy);
+            data.put("auctions", new ArrayList<>(settled));
+            
+            CoordinatorService.ReplicationRequest request = new CoordinatorService.ReplicationRequest(
+                UUID.randomUUID().toString(),
+                "SETTLE_BATCH",
+                "auctions",
+                null,
+                data,
+                coordinatorService.getLogicalClock()
+            );
+            
+            // One message for the whole batch, queued for every peer
+            outboxRelay.enqueueReplication(request);
+            
+        } catch (Exception e) {
+            logger.error("Failed to replicate settlement batch", e);
+        }
+    }
+    
     private void executeBidInsert(Map<String, Object> data) {
         Bid bid = new Bid();
         bid.setId(UUID.fromString(data.get("id").toString()));
@@ -618,6 +923,9 @@ public class AuctionService {
         bid.setServerId((Integer) data.get("serverId"));
         
         bidRepository.save(bid);
+        clusterCounterService.recordBid(bid.getServerId());
+        activeAuctionIndex.updatePrice(bid.getAuctionId(), bid.getAmount());
+        adminDashboardService.recordBid(bid);
     }
     
     private void executeAuctionInsert(Map<String, Object> data) {
@@ -634,6 +942,9 @@ public class AuctionService {
         auction.setUpdatedAt((LocalDateTime) data.get("updatedAt"));
         
         auctionRepository.save(auction);
+        activeAuctionIndex.upsert(auction);
+        adminDashboardService.recordAuction(auction);
+        scheduleOrCancelExpiry(auction.getId(), auction.getStatus(), auction.getEndTime());
     }
     
     private void executeAuctionUpdate(String recordId, Map<String, Object> data) {
@@ -653,6 +964,9 @@ public class AuctionService {
             }
             auction.setUpdatedAt(LocalDateTime.now());
             auctionRepository.save(auction);
+            activeAuctionIndex.upsert(auction);
+            adminDashboardService.recordAuction(auction);
+            scheduleOrCancelExpiry(auction.getId(), auction.getStatus(), auction.getEndTime());
         }
     }
     
@@ -667,6 +981,146 @@ public class AuctionService {
     
     private void executeAuctionDelete(String recordId) {
         auctionRepository.deleteById(UUID.fromString(recordId));
+        activeAuctionIndex.remove(UUID.fromString(recordId));
+        expiryScheduler.cancel(UUID.fromString(recordId));
+    }
+    
+    private void scheduleOrCancelExpiry(UUID auctionId, String status, LocalDateTime endTime) {
+        if ("ACTIVE".equals(status)) {
+            expiryScheduler.schedule(auctionId, endTime);
+        } else {
+            expiryScheduler.cancel(auctionId);
+        }
+    }
+    
+    /**
+     * Apply a change replicated from a peer to node-local state
+     */
+    public void applyReplicatedChange(CoordinatorService.ReplicationRequest request) {
+        try {
+            Map<String, Object> data = request.getData();
+            String table = request.getTableName().toLowerCase();
+            
+            if ("auctions".equals(table) && "CREATE".equals(request.getOperationType())) {
+                // The payload only carries the indexed fields; the committed row has the rest
+                // and the origin's timestamps
+                UUID auctionId = UUID.fromString(data.get("id").toString());
+                auctionRepository.findById(auctionId).ifPresentOrElse(auction -> {
+                    activeAuctionIndex.upsert(auction);
+                    adminDashboardService.recordAuction(auction);
+                    scheduleOrCancelExpiry(auction.getId(), auction.getStatus(), auction.getEndTime());
+                }, () -> logger.warn("Replicated auction {} is not in the database yet, leaving it to reconcile", auctionId));
+                
+            } else if ("auctions".equals(table) && "UPDATE".equals(request.getOperationType())) {
+                UUID auctionId = UUID.fromString(request.getRecordId());
+                String status = data.containsKey("status") ? data.get("status").toString() : null;
+                BigDecimal currentPrice = data.containsKey("currentPrice") ? new BigDecimal(data.get("currentPrice").toString()) : null;
+                LocalDateTime endTime = data.containsKey("endTime") ? LocalDateTime.parse(data.get("endTime").toString()) : null;
+                LocalDateTime updatedAt = data.containsKey("updatedAt") ? LocalDateTime.parse(data.get("updatedAt").toString()) : null;
+                applyAuctionState(auctionId, status, currentPrice, endTime, updatedAt);
+                if (data.containsKey("settledBy")) {
+                    clusterCounterService.recordSettlement(Integer.parseInt(data.get("settledBy").toString()));
+                }
+                if (data.containsKey("extensionCount") && activeAuctionIndex.get(auctionId) != null) {
+                    softClosePolicy.applyExtensionCount(auctionId, Integer.parseInt(data.get("extensionCount").toString()));
+                }
+                
+            } else if ("auctions".equals(table) && "SETTLE_BATCH".equals(request.getOperationType())) {
+                int settledBy = Integer.parseInt(data.get("settledBy").toString());
+                for (Object entry : (List<?>) data.get("auctions")) {
+                    UUID auctionId = UUID.fromString(((Map<?, ?>) entry).get("auctionId").toString());
+                    activeAuctionIndex.remove(auctionId);
+                    adminDashboardService.recordAuctionUpdate(auctionId, "ENDED", null, null);
+                    expiryScheduler.cancel(auctionId);
+                    clusterCounterService.recordSettlement(settledBy);
+                    softClosePolicy.clear(auctionId);
+                }
+                
+            } else if ("bids".equals(table) && "CREATE".equals(request.getOperationType())) {
+                Bid bid = new Bid();
+                bid.setId(UUID.fromString(data.get("id").toString()));
+                bid.setAuctionId(UUID.fromString(data.get("auctionId").toString()));
+                bid.setBidderId(data.containsKey("bidderId") ? UUID.fromString(data.get("bidderId").toString()) : null);
+                bid.setAmount(new BigDecimal(data.get("amount").toString()));
+                bid.setTimestamp(data.containsKey("timestamp") ? LocalDateTime.parse(data.get("timestamp").toString()) : LocalDateTime.now());
+                bid.setLogicalTimestamp(data.containsKey("logicalTimestamp") ? Integer.parseInt(data.get("logicalTimestamp").toString()) : request.getLogicalTimestamp());
+                bid.setServerId(data.containsKey("serverId") ? Integer.parseInt(data.get("serverId").toString()) : -1);
+                
+                clusterCounterService.recordBid(bid.getServerId());
+                adminDashboardService.recordBid(bid);
+                
+                if (data.containsKey("auctionEndTime")) {
+                    LocalDateTime extendedEndTime = LocalDateTime.parse(data.get("auctionEndTime").toString());
+                    activeAuctionIndex.applyUpdate(bid.getAuctionId(), null, bid.getAmount(), extendedEndTime, bid.getTimestamp());
+                    adminDashboardService.recordAuctionUpdate(bid.getAuctionId(), null, null, extendedEndTime);
+                    softClosePolicy.applyExtensionCount(bid.getAuctionId(), Integer.parseInt(data.get("extensionCount").toString()));
+                    if (activeAuctionIndex.get(bid.getAuctionId()) != null) {
+                        expiryScheduler.schedule(bid.getAuctionId(), extendedEndTime);
+                    }
+                } else {
+                    // The origin stamped the auction when it took the bid
+                    activeAuctionIndex.applyUpdate(bid.getAuctionId(), null, bid.getAmount(), null, bid.getTimestamp());
+                }
+            }
+            
+        } catch (Exception e) {
+            logger.warn("Failed to apply replicated operation {}: {}", request.getOperationId(), e.getMessage());
+        }
+    }
+    
+    /**
+     * Apply an auction row change committed by another server (database change feed)
+     */
+    private void applyAuctionChange(Map<String, Object> change) {
+        UUID auctionId = UUID.fromString(change.get("id").toString());
+        if ("INSERT".equals(change.get("op"))) {
+            // The notification only carries the indexed columns
+            if (activeAuctionIndex.get(auctionId) == null) {
+                auctionRepository.findById(auctionId).ifPresent(auction -> {
+                    activeAuctionIndex.upsert(auction);
+                    adminDashboardService.recordAuction(auction);
+                    scheduleOrCancelExpiry(auction.getId(), auction.getStatus(), auction.getEndTime());
+                });
+            }
+            return;
+        }
+        applyAuctionState(
+            auctionId,
+            change.get("status") != null ? change.get("status").toString() : null,
+            change.get("currentPrice") != null ? new BigDecimal(change.get("currentPrice").toString()) : null,
+            change.get("endTime") != null ? LocalDateTime.parse(change.get("endTime").toString()) : null,
+            change.get("updatedAt") != null ? LocalDateTime.parse(change.get("updatedAt").toString()) : null);
+    }
+    
+    /**
+     * Apply a bid committed by another server (database change feed)
+     */
+    private void applyBidChange(Map<String, Object> change) {
+        Bid bid = new Bid();
+        bid.setId(UUID.fromString(change.get("id").toString()));
+        bid.setAuctionId(UUID.fromString(change.get("auctionId").toString()));
+        bid.setBidderId(UUID.fromString(change.get("bidderId").toString()));
+        bid.setAmount(new BigDecimal(change.get("amount").toString()));
+        bid.setTimestamp(LocalDateTime.parse(change.get("timestamp").toString()));
+        bid.setLogicalTimestamp(((Number) change.get("logicalTimestamp")).intValue());
+        bid.setServerId(((Number) change.get("serverId")).intValue());
+        
+        lamportClockService.updateClock(bid.getLogicalTimestamp());
+        clusterCounterService.recordBid(bid.getServerId());
+        adminDashboardService.recordBid(bid);
+        activeAuctionIndex.applyUpdate(bid.getAuctionId(), null, bid.getAmount(), null, bid.getTimestamp());
+    }
+    
+    private void applyAuctionState(UUID auctionId, String status, BigDecimal currentPrice, LocalDateTime endTime,
+                                   LocalDateTime updatedAt) {
+        activeAuctionIndex.applyUpdate(auctionId, status, currentPrice, endTime, updatedAt);
+        adminDashboardService.recordAuctionUpdate(auctionId, status, currentPrice, endTime);
+        if (status != null && !"ACTIVE".equals(status)) {
+            expiryScheduler.cancel(auctionId);
+            softClosePolicy.clear(auctionId);
+        } else if (endTime != null && activeAuctionIndex.get(auctionId) != null) {
+            expiryScheduler.schedule(auctionId, endTime);
+        }
     }
     
     // Getters for accessing coordinator service properties
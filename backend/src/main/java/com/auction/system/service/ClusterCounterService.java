@@ -0,0 +1,153 @@
+package com.auction.system.service;
+
+import com.auction.system.repository.BidRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Incrementally maintained bid counters for the admin and status paths.
+ *
+ * Counters are bumped on every locally accepted or replicated bid and periodically
+ * reconciled against the database, so reads never run COUNT(*) queries. Settlement
+ * counters are kept since startup only.
+ */
+@Service
+public class ClusterCounterService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClusterCounterService.class);
+
+    private static final int WINDOW_SECONDS = 60;
+
+    @Autowired
+    private BidRepository bidRepository;
+
+    private final LongAdder totalBids = new LongAdder();
+    private final Map<Integer, LongAdder> bidsPerServer = new ConcurrentHashMap<>();
+
+    // One bucket per second of the trailing minute, stamped with the epoch second it counts
+    private final AtomicLongArray bucketCounts = new AtomicLongArray(WINDOW_SECONDS);
+    private final AtomicLongArray bucketSeconds = new AtomicLongArray(WINDOW_SECONDS);
+
+    private final Map<Integer, LongAdder> settlementsPerServer = new ConcurrentHashMap<>();
+    private final LongAdder duplicateSettlements = new LongAdder();
+
+    private volatile boolean reconciled = false;
+    private volatile long lastReconciledAt = 0;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void bootstrap() {
+        reconcile();
+    }
+
+    /**
+     * Reconcile counters with the database
+     */
+    @Scheduled(fixedDelayString = "${app.auction.counters.reconcile-interval:300000}", initialDelay = 300000)
+    public void reconcile() {
+        try {
+            long count = bidRepository.count();
+            List<Object[]> perServer = bidRepository.countBidsGroupedByServer();
+
+            totalBids.reset();
+            totalBids.add(count);
+
+            bidsPerServer.clear();
+            for (Object[] row : perServer) {
+                LongAdder adder = new LongAdder();
+                adder.add(((Number) row[1]).longValue());
+                bidsPerServer.put(((Number) row[0]).intValue(), adder);
+            }
+
+            reconciled = true;
+            lastReconciledAt = System.currentTimeMillis();
+            logger.debug("Reconciled bid counters: total={}", count);
+
+        } catch (Exception e) {
+            logger.error("Failed to reconcile bid counters", e);
+        }
+    }
+
+    /**
+     * Record an accepted bid (local or replicated)
+     */
+    public void recordBid(int originServerId) {
+        totalBids.increment();
+        bidsPerServer.computeIfAbsent(originServerId, id -> new LongAdder()).increment();
+
+        long nowSecond = System.currentTimeMillis() / 1000;
+        int slot = (int) (nowSecond % WINDOW_SECONDS);
+        long stamped = bucketSeconds.get(slot);
+        if (stamped != nowSecond && bucketSeconds.compareAndSet(slot, stamped, nowSecond)) {
+            bucketCounts.set(slot, 0);
+        }
+        bucketCounts.incrementAndGet(slot);
+    }
+
+    public long getTotalBids() {
+        return totalBids.sum();
+    }
+
+    /**
+     * Bids accepted cluster-wide during the trailing minute
+     */
+    public long getBidsPerMinute() {
+        long nowSecond = System.currentTimeMillis() / 1000;
+        long sum = 0;
+        for (int i = 0; i < WINDOW_SECONDS; i++) {
+            if (nowSecond - bucketSeconds.get(i) < WINDOW_SECONDS) {
+                sum += bucketCounts.get(i);
+            }
+        }
+        return sum;
+    }
+
+    public Map<Integer, Long> getBidsPerServer() {
+        Map<Integer, Long> result = new HashMap<>();
+        bidsPerServer.forEach((serverId, adder) -> result.put(serverId, adder.sum()));
+        return result;
+    }
+
+    /**
+     * Record an auction settlement by the given node (local or replicated)
+     */
+    public void recordSettlement(int serverId) {
+        settlementsPerServer.computeIfAbsent(serverId, id -> new LongAdder()).increment();
+    }
+
+    /**
+     * Record a local settlement attempt that lost to another node
+     */
+    public void recordDuplicateSettlement() {
+        duplicateSettlements.increment();
+    }
+
+    public Map<Integer, Long> getSettlementsPerServer() {
+        Map<Integer, Long> result = new HashMap<>();
+        settlementsPerServer.forEach((serverId, adder) -> result.put(serverId, adder.sum()));
+        return result;
+    }
+
+    public long getDuplicateSettlements() {
+        return duplicateSettlements.sum();
+    }
+
+    public boolean isReconciled() {
+        return reconciled;
+    }
+
+    public long getLastReconciledAt() {
+        return lastReconciledAt;
+    }
+}
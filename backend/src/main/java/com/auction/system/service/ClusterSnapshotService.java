@@ -0,0 +1,198 @@
+package com.auction.system.service;
+
+import com.auction.system.rmi.CoordinatorService;
+import com.auction.system.websocket.WebSocketSessionRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cached, deadline-bounded view of the whole cluster for the admin endpoints.
+ *
+ * All known peers are queried in parallel; peers that do not answer before the
+ * deadline are reported as offline. The merged result is cached for a short TTL
+ * and concurrent callers share a single refresh.
+ */
+@Service
+public class ClusterSnapshotService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClusterSnapshotService.class);
+
+    @Value("${app.admin.snapshot.deadline-ms:1500}")
+    private long deadlineMs;
+
+    @Value("${app.admin.snapshot.ttl-ms:2000}")
+    private long ttlMs;
+
+    @Autowired
+    private DistributedCoordinatorService coordinatorService;
+
+    @Autowired
+    private LamportClockService lamportClockService;
+
+    @Autowired
+    private WebSocketSessionRegistry sessionRegistry;
+
+    private final ExecutorService executorService = Executors.newCachedThreadPool();
+
+    // A hung peer keeps its in-flight probe; later refreshes reuse it instead of piling up threads
+    private final Map<Integer, CompletableFuture<PeerProbe>> inFlightProbes = new ConcurrentHashMap<>();
+
+    private volatile ClusterSnapshot cachedSnapshot;
+    private final Object refreshLock = new Object();
+
+    @PreDestroy
+    public void cleanup() {
+        executorService.shutdownNow();
+    }
+
+    /**
+     * Get the current cluster snapshot, refreshing it if older than the TTL
+     */
+    public ClusterSnapshot getSnapshot() {
+        ClusterSnapshot snapshot = cachedSnapshot;
+        if (snapshot != null && System.currentTimeMillis() - snapshot.getTakenAt() < ttlMs) {
+            return snapshot;
+        }
+
+        synchronized (refreshLock) {
+            snapshot = cachedSnapshot;
+            if (snapshot != null && System.currentTimeMillis() - snapshot.getTakenAt() < ttlMs) {
+                return snapshot;
+            }
+            cachedSnapshot = takeSnapshot();
+            return cachedSnapshot;
+        }
+    }
+
+    private ClusterSnapshot takeSnapshot() {
+        long startedAt = System.currentTimeMillis();
+        int localServerId = coordinatorService.getServerId();
+
+        Map<Integer, CompletableFuture<PeerProbe>> probes = new LinkedHashMap<>();
+        for (Integer peerId : coordinatorService.getKnownPeerIds()) {
+            if (peerId == localServerId) {
+                continue;
+            }
+            probes.put(peerId, probe(peerId));
+        }
+
+        List<CoordinatorService.ServerStatus> servers = new ArrayList<>();
+        Map<Integer, Long> peerLatency = new LinkedHashMap<>();
+        servers.add(localStatus());
+
+        for (Map.Entry<Integer, CompletableFuture<PeerProbe>> entry : probes.entrySet()) {
+            long remaining = Math.max(0, deadlineMs - (System.currentTimeMillis() - startedAt));
+            PeerProbe result;
+            try {
+                result = entry.getValue().get(remaining, TimeUnit.MILLISECONDS);
+            } catch (Exception e) {
+                logger.warn("Peer server {} did not answer within {} ms", entry.getKey(), deadlineMs);
+                result = PeerProbe.offline(entry.getKey());
+            }
+            servers.add(result.status);
+            peerLatency.put(entry.getKey(), result.latencyMs);
+        }
+
+        return new ClusterSnapshot(System.currentTimeMillis(), servers, peerLatency);
+    }
+
+    private CompletableFuture<PeerProbe> probe(int peerId) {
+        CoordinatorService peer = coordinatorService.getPeerService(peerId);
+        if (peer == null) {
+            return CompletableFuture.completedFuture(PeerProbe.offline(peerId));
+        }
+
+        CompletableFuture<PeerProbe> future = new CompletableFuture<>();
+        CompletableFuture<PeerProbe> existing = inFlightProbes.putIfAbsent(peerId, future);
+        if (existing != null) {
+            return existing;
+        }
+
+        executorService.execute(() -> {
+            PeerProbe result;
+            try {
+                long start = System.currentTimeMillis();
+                peer.heartbeat(coordinatorService.getServerId());
+                long latency = System.currentTimeMillis() - start;
+                result = new PeerProbe(peer.getServerStatus(), latency);
+            } catch (Exception e) {
+                logger.debug("Failed to probe peer server {}", peerId);
+                result = PeerProbe.offline(peerId);
+            }
+            inFlightProbes.remove(peerId, future);
+            future.complete(result);
+        });
+        return future;
+    }
+
+    private CoordinatorService.ServerStatus localStatus() {
+        return new CoordinatorService.ServerStatus(
+            coordinatorService.getServerId(),
+            coordinatorService.isCoordinator(),
+            lamportClockService.getCurrentTime(),
+            true, // local server is always healthy
+            System.currentTimeMillis() - coordinatorService.getStartTime(),
+            sessionRegistry.getConnectionCount()
+        );
+    }
+
+    // Result of probing a single peer
+    private static class PeerProbe {
+        private final CoordinatorService.ServerStatus status;
+        private final long latencyMs;
+
+        PeerProbe(CoordinatorService.ServerStatus status, long latencyMs) {
+            this.status = status;
+            this.latencyMs = latencyMs;
+        }
+
+        static PeerProbe offline(int serverId) {
+            return new PeerProbe(
+                new CoordinatorService.ServerStatus(serverId, false, 0, false, System.currentTimeMillis(), 0),
+                -1L
+            );
+        }
+    }
+
+    /**
+     * Immutable merged view of all servers at a point in time
+     */
+    public static class ClusterSnapshot {
+        private final long takenAt;
+        private final List<CoordinatorService.ServerStatus> servers;
+        private final Map<Integer, Long> peerLatency;
+
+        public ClusterSnapshot(long takenAt, List<CoordinatorService.ServerStatus> servers, Map<Integer, Long> peerLatency) {
+            this.takenAt = takenAt;
+            this.servers = Collections.unmodifiableList(servers);
+            this.peerLatency = Collections.unmodifiableMap(peerLatency);
+        }
+
+        public long getTakenAt() { return takenAt; }
+        public List<CoordinatorService.ServerStatus> getServers() { return servers; }
+
+        /**
+         * Heartbeat round-trip per peer in milliseconds, -1 if unreachable
+         */
+        public Map<Integer, Long> getPeerLatency() { return peerLatency; }
+
+        public CoordinatorService.ServerStatus getLocal() { return servers.get(0); }
+
+        public List<CoordinatorService.ServerStatus> getPeers() { return servers.subList(1, servers.size()); }
+    }
+}
@@ -0,0 +1,325 @@
+package com.auction.system.service;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Change feed of auction and bid rows from the shared Postgres.
+ *
+ * Row triggers on auctions and bids NOTIFY a small JSON description of each change,
+ * which Postgres delivers to every listener at commit, in commit order. A dedicated
+ * connection per server LISTENs and hands each change to the handler registered for
+ * its table. Changes written by this server (recognised by the application_name of
+ * the writing session) are skipped, since they were applied when they were made.
+ *
+ * Notifications sent while the listener is disconnected are lost, so after a
+ * reconnect the registered resync actions rebuild node-local state from the tables.
+ * The triggers are (re)installed on every connect, so fresh and existing databases
+ * both get the current definition.
+ */
+@Service
+public class DatabaseChangeFeed {
+
+    private static final Logger logger = LoggerFactory.getLogger(DatabaseChangeFeed.class);
+
+    public static final String CHANNEL = "auction_changes";
+    public static final String APPLICATION_NAME_PREFIX = "auction-server-";
+
+    private static final long INSTALL_LOCK_KEY = 0x61756374L;
+    private static final long VALIDATE_INTERVAL_MS = 10000;
+    private static final long INITIAL_BACKOFF_MS = 500;
+
+    // The only definition of the feed triggers; database/init.sql leaves them to this class
+    private static final String[] TRIGGER_DDL = {
+        "CREATE OR REPLACE FUNCTION notify_auction_change() RETURNS trigger AS $$\n" +
+        "BEGIN\n" +
+        "    IF TG_TABLE_NAME = 'bids' THEN\n" +
+        "        PERFORM pg_notify('" + CHANNEL + "', json_build_object(\n" +
+        "            'table', TG_TABLE_NAME, 'op', TG_OP, 'id', NEW.id,\n" +
+        "            'auctionId', NEW.auction_id, 'bidderId', NEW.bidder_id, 'amount', NEW.amount,\n" +
+        "            'timestamp', NEW.timestamp, 'logicalTimestamp', NEW.logical_timestamp, 'serverId', NEW.server_id,\n" +
+        "            'origin', current_setting('application_name', true),\n" +
+        "            'at', (extract(epoch FROM clock_timestamp()) * 1000)::bigint)::text);\n" +
+        "    ELSE\n" +
+        "        PERFORM pg_notify('" + CHANNEL + "', json_build_object(\n" +
+        "            'table', TG_TABLE_NAME, 'op', TG_OP, 'id', NEW.id,\n" +
+        "            'status', NEW.status, 'currentPrice', NEW.current_price, 'endTime', NEW.end_time,\n" +
+        "            'updatedAt', NEW.updated_at,\n" +
+        "            'origin', current_setting('application_name', true),\n" +
+        "            'at', (extract(epoch FROM clock_timestamp()) * 1000)::bigint)::text);\n" +
+        "    END IF;\n" +
+        "    RETURN NEW;\n" +
+        "END;\n" +
+        "$$ LANGUAGE plpgsql",
+        "DROP TRIGGER IF EXISTS auctions_insert_notify ON auctions",
+        "CREATE TRIGGER auctions_insert_notify AFTER INSERT ON auctions " +
+            "FOR EACH ROW EXECUTE FUNCTION notify_auction_change()",
+        "DROP TRIGGER IF EXISTS auctions_update_notify ON auctions",
+        "CREATE TRIGGER auctions_update_notify AFTER UPDATE ON auctions FOR EACH ROW " +
+            "WHEN (OLD.status IS DISTINCT FROM NEW.status OR OLD.current_price IS DISTINCT FROM NEW.current_price " +
+            "OR OLD.end_time IS DISTINCT FROM NEW.end_time) EXECUTE FUNCTION notify_auction_change()",
+        "DROP TRIGGER IF EXISTS bids_insert_notify ON bids",
+        "CREATE TRIGGER bids_insert_notify AFTER INSERT ON bids " +
+            "FOR EACH ROW EXECUTE FUNCTION notify_auction_change()"
+    };
+
+    @Value("${app.server.id}")
+    private int serverId;
+
+    @Value("${app.change-feed.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.change-feed.poll-ms:500}")
+    private int pollMs;
+
+    @Value("${app.change-feed.max-backoff-ms:30000}")
+    private long maxBackoffMs;
+
+    @Value("${spring.datasource.url}")
+    private String url;
+
+    @Value("${spring.datasource.username}")
+    private String username;
+
+    @Value("${spring.datasource.password}")
+    private String password;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final Map<String, Consumer<Map<String, Object>>> handlers = new ConcurrentHashMap<>();
+    private final List<Runnable> resyncActions = new CopyOnWriteArrayList<>();
+    private volatile boolean running;
+    private volatile boolean live;
+    private volatile Connection connection;
+    private Thread listenerThread;
+
+    private final LongAdder received = new LongAdder();
+    private final LongAdder applied = new LongAdder();
+    private final LongAdder ownSkipped = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder reconnects = new LongAdder();
+    private final LongAdder totalLatencyMillis = new LongAdder();
+    private final AtomicLong maxLatencyMillis = new AtomicLong();
+    private volatile long lastResyncAt;
+
+    /**
+     * Handle committed changes to a table (auctions or bids) made by other servers
+     */
+    public void registerHandler(String table, Consumer<Map<String, Object>> handler) {
+        handlers.put(table, handler);
+    }
+
+    /**
+     * Run after the listener reconnects, to recover changes missed while it was down
+     */
+    public void registerResync(Runnable action) {
+        resyncActions.add(action);
+    }
+
+    /**
+     * Whether peers rely on the feed (rather than replication) for bids; the same on every server
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isLive() {
+        return live;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            logger.info("Database change feed disabled");
+            return;
+        }
+        running = true;
+        listenerThread = new Thread(this::listenLoop, "pg-change-feed");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+
+    @PreDestroy
+    public void cleanup() {
+        running = false;
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+        }
+        Connection current = connection;
+        if (current != null) {
+            try {
+                current.close();
+            } catch (SQLException e) {
+                logger.debug("Failed to close change feed connection: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void listenLoop() {
+        ObjectReader reader = objectMapper.readerFor(Map.class).with(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+        long backoff = 0;
+        boolean connectedBefore = false;
+
+        while (running) {
+            try (Connection conn = openConnection()) {
+                connection = conn;
+                installTriggers(conn);
+                try (Statement statement = conn.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                PGConnection pgConnection = conn.unwrap(PGConnection.class);
+                live = true;
+                backoff = 0;
+                logger.info("Listening for database changes on {}", CHANNEL);
+
+                if (connectedBefore) {
+                    reconnects.increment();
+                    resync();
+                }
+                connectedBefore = true;
+
+                long lastValidated = System.currentTimeMillis();
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(pollMs);
+                    long now = System.currentTimeMillis();
+                    if (notifications == null || notifications.length == 0) {
+                        // A half-open socket never errors on its own
+                        if (now - lastValidated >= VALIDATE_INTERVAL_MS) {
+                            if (!conn.isValid(2)) {
+                                throw new SQLException("Change feed connection is no longer valid");
+                            }
+                            lastValidated = now;
+                        }
+                        continue;
+                    }
+                    lastValidated = now;
+                    for (PGNotification notification : notifications) {
+                        dispatch(reader, notification.getParameter());
+                    }
+                }
+            } catch (Exception e) {
+                live = false;
+                connection = null;
+                if (!running) {
+                    return;
+                }
+                backoff = backoff == 0 ? INITIAL_BACKOFF_MS : Math.min(backoff * 2, maxBackoffMs);
+                logger.warn("Database change feed disconnected, retrying in {}ms: {}", backoff, e.getMessage());
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+        live = false;
+    }
+
+    private Connection openConnection() throws SQLException {
+        // Outside the pool: LISTEN holds the connection for the life of the process
+        Properties properties = new Properties();
+        properties.setProperty("user", username);
+        properties.setProperty("password", password);
+        properties.setProperty("ApplicationName", "auction-feed-" + serverId);
+        return DriverManager.getConnection(url, properties);
+    }
+
+    private void installTriggers(Connection conn) throws SQLException {
+        conn.setAutoCommit(false);
+        try (Statement statement = conn.createStatement()) {
+            // Servers start together; serialize the drop/create pairs
+            statement.execute("SELECT pg_advisory_xact_lock(" + INSTALL_LOCK_KEY + ")");
+            for (String ddl : TRIGGER_DDL) {
+                statement.execute(ddl);
+            }
+            conn.commit();
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(true);
+        }
+    }
+
+    private void dispatch(ObjectReader reader, String payload) {
+        received.increment();
+        try {
+            Map<String, Object> change = reader.readValue(payload);
+            if ((APPLICATION_NAME_PREFIX + serverId).equals(change.get("origin"))) {
+                ownSkipped.increment();
+                return;
+            }
+            Consumer<Map<String, Object>> handler = handlers.get(String.valueOf(change.get("table")));
+            if (handler == null) {
+                return;
+            }
+            handler.accept(change);
+            applied.increment();
+
+            // Includes any skew between the database clock and this server's
+            if (change.get("at") instanceof Number at) {
+                long latency = Math.max(0, System.currentTimeMillis() - at.longValue());
+                totalLatencyMillis.add(latency);
+                maxLatencyMillis.accumulateAndGet(latency, Math::max);
+            }
+        } catch (Exception e) {
+            failed.increment();
+            logger.warn("Failed to apply database change {}: {}", payload, e.getMessage());
+        }
+    }
+
+    private void resync() {
+        logger.info("Change feed reconnected, resynchronizing node-local state");
+        for (Runnable action : resyncActions) {
+            try {
+                action.run();
+            } catch (Exception e) {
+                logger.error("Change feed resync action failed", e);
+            }
+        }
+        lastResyncAt = System.currentTimeMillis();
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new HashMap<>();
+        long count = applied.sum();
+        stats.put("enabled", enabled);
+        stats.put("live", live);
+        stats.put("received", received.sum());
+        stats.put("applied", count);
+        stats.put("ownSkipped", ownSkipped.sum());
+        stats.put("failed", failed.sum());
+        stats.put("reconnects", reconnects.sum());
+        stats.put("lastResyncAt", lastResyncAt);
+        stats.put("avgLatencyMillis", count > 0 ? totalLatencyMillis.sum() / count : 0);
+        stats.put("maxLatencyMillis", maxLatencyMillis.get());
+        return stats;
+    }
+}
@@ -1,6 +1,8 @@
 package com.auction.system.service;
 
 import com.auction.system.rmi.CoordinatorService;
+import com.auction.system.transport.ClusterTransport;
+import com.auction.system.websocket.WebSocketSessionRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,8 +15,6 @@ import org.springframework.stereotype.Service;
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 import java.rmi.RemoteException;
-import java.rmi.registry.LocateRegistry;
-import java.rmi.registry.Registry;
 import java.rmi.server.UnicastRemoteObject;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
@@ -39,6 +39,24 @@ public class DistributedCoordinatorService extends UnicastRemoteObject implement
     @Value("${app.server.peers}")
     private String peerServers;
     
+    @Value("${app.cluster.peers.failure-threshold:3}")
+    private int circuitFailureThreshold;
+    
+    @Value("${app.cluster.peers.open-ms:5000}")
+    private long circuitOpenMs;
+    
+    @Value("${app.cluster.peers.evict-after-heartbeats:3}")
+    private int evictAfterHeartbeats;
+    
+    @Value("${app.cluster.peers.heartbeat-timeout-ms:3000}")
+    private long heartbeatTimeoutMs;
+    
+    @Value("${app.cluster.peers.initial-backoff-ms:500}")
+    private long peerInitialBackoffMs;
+    
+    @Value("${app.cluster.peers.max-backoff-ms:30000}")
+    private long peerMaxBackoffMs;
+    
     @Autowired
     private RedisTemplate<String, Object> redisTemplate;
     
@@ -48,16 +66,27 @@ public class DistributedCoordinatorService extends UnicastRemoteObject implement
     @Autowired
     private LamportClockService lamportClockService;
     
+    @Autowired
+    private WebSocketSessionRegistry sessionRegistry;
+    
     @Autowired
     private AuctionService auctionService;
     
-    private Registry registry;
+    @Autowired
+    private ClusterTransport transport;
+    
+    @Autowired
+    private ReplicationLog replicationLog;
+    
     private Map<Integer, CoordinatorService> peerServices = new ConcurrentHashMap<>();
+    private final Set<Integer> knownPeerIds = ConcurrentHashMap.newKeySet();
     private final AtomicInteger logicalClock = new AtomicInteger(0);
     private volatile boolean isCoordinator = false;
     private volatile int coordinatorId = -1;
     private final ExecutorService executorService = Executors.newFixedThreadPool(10);
     private final Map<String, TransactionState> transactions = new ConcurrentHashMap<>();
+    private final ReplicationInbox replicationInbox = new ReplicationInbox(batch -> replicationLog.applyBatch(batch));
+    private PeerConnectionManager peerConnections;
     private long startTime = System.currentTimeMillis();
     
     // Election state
@@ -71,13 +100,16 @@ public class DistributedCoordinatorService extends UnicastRemoteObject implement
     @PostConstruct
     public void initialize() {
         try {
-            // Start RMI registry
-            registry = LocateRegistry.createRegistry(rmiPort);
-            registry.rebind("CoordinatorService", this);
-            logger.info("RMI CoordinatorService bound on port {} for server {}", rmiPort, serverId);
+            // Expose this service to peers over the configured transport
+            transport.start(this, rmiPort);
+            logger.info("CoordinatorService started over {} for server {}", transport.getName(), serverId);
             
-            // Connect to peer servers
-            connectToPeers();
+            // Connect to peer servers in the background, each on its own backoff
+            peerConnections = new PeerConnectionManager(serverId, peerServers, transport, peerServices,
+                circuitFailureThreshold, circuitOpenMs, evictAfterHeartbeats, heartbeatTimeoutMs,
+                peerInitialBackoffMs, peerMaxBackoffMs);
+            knownPeerIds.addAll(peerConnections.getPeerIds());
+            peerConnections.start();
             
             // Start heartbeat monitoring
             startHeartbeatMonitoring();
@@ -86,81 +118,24 @@ public class DistributedCoordinatorService extends UnicastRemoteObject implement
             discoverCoordinator();
             
         } catch (Exception e) {
-            logger.error("Failed to initialize RMI service", e);
+            logger.error("Failed to initialize coordinator service", e);
         }
     }
     
     @PreDestroy
     public void cleanup() {
         try {
-            if (registry != null) {
-                registry.unbind("CoordinatorService");
-                UnicastRemoteObject.unexportObject(this, true);
+            if (peerConnections != null) {
+                peerConnections.shutdown();
             }
+            transport.shutdown();
+            UnicastRemoteObject.unexportObject(this, true);
             executorService.shutdown();
         } catch (Exception e) {
             logger.error("Error during cleanup", e);
         }
     }
     
-    private void connectToPeers() {
-        String[] peers = peerServers.split(",");
-        for (String peer : peers) {
-            String[] parts = peer.trim().split(":");
-            if (parts.length == 2) {
-                try {
-                    String host = parts[0];
-                    int port = Integer.parseInt(parts[1]);
-                    
-                    // Extract server ID from hostname (e.g., auction-server-2 -> 2)
-                    int peerId = extractServerIdFromHost(host, port);
-                    
-                    // Skip if trying to connect to self
-                    if (peerId == serverId) {
-                        continue;
-                    }
-                    
-                    // Skip if already connected
-                    if (peerServices.containsKey(peerId)) {
-                        continue;
-                    }
-                    
-                    Registry peerRegistry = LocateRegistry.getRegistry(host, port);
-                    CoordinatorService peerService = (CoordinatorService) peerRegistry.lookup("CoordinatorService");
-                    
-                    peerServices.put(peerId, peerService);
-                    logger.info("Connected to peer server {} at {}:{}", peerId, host, port);
-                } catch (Exception e) {
-                    logger.debug("Failed to connect to peer: {} (will retry)", peer);
-                }
-            }
-        }
-    }
-    
-    private int extractServerIdFromHost(String host, int port) {
-        // Try to extract from hostname (e.g., "auction-server-2" -> 2)
-        try {
-            String[] hostParts = host.split("-");
-            for (String part : hostParts) {
-                if (part.matches("\\d+")) {
-                    int id = Integer.parseInt(part);
-                    if (id != serverId) {
-                        return id;
-                    }
-                }
-            }
-        } catch (Exception e) {
-            // Fall through to port-based mapping
-        }
-        
-        // Fallback: map port to server ID (1101->1, 1102->2, 1103->3)
-        if (port >= 1101 && port <= 1103) {
-            return port - 1100;
-        }
-        
-        return port;
-    }
-    
     private void discoverCoordinator() {
         executorService.submit(() -> {
             try {
@@ -198,17 +173,10 @@ public class DistributedCoordinatorService extends UnicastRemoteObject implement
     
     private void startHeartbeatMonitoring() {
         executorService.submit(() -> {
-            int reconnectCounter = 0;
             while (!Thread.currentThread().isInterrupted()) {
                 try {
                     Thread.sleep(5000);
                     
-                    // Retry connecting to missing peers every 10 seconds (every 2nd heartbeat)
-                    reconnectCounter++;
-                    if (reconnectCounter % 2 == 0) {
-                        connectToPeers();
-                    }
-                    
                     checkCoordinatorHealth();
                     checkPeerHealth();
                 } catch (InterruptedException e) {
@@ -220,26 +188,8 @@ public class DistributedCoordinatorService extends UnicastRemoteObject implement
     }
     
     private void checkPeerHealth() {
-        // Check health of all peers and remove dead connections
-        List<Integer> deadPeers = new ArrayList<>();
-        for (Map.Entry<Integer, CoordinatorService> entry : peerServices.entrySet()) {
-            try {
-                HeartbeatResponse response = entry.getValue().heartbeat(serverId);
-                if (!response.isAlive()) {
-                    logger.warn("Peer server {} is not responding", entry.getKey());
-                    deadPeers.add(entry.getKey());
-                }
-            } catch (Exception e) {
-                logger.debug("Failed to contact peer server {}, will retry connection", entry.getKey());
-                deadPeers.add(entry.getKey());
-            }
-        }
-        
-        // Remove dead peers so they can be reconnected
-        for (Integer peerId : deadPeers) {
-            peerServices.remove(peerId);
-            logger.info("Removed dead peer {} from peer list", peerId);
-        }
+        // Peers are evicted after repeated failures and reconnected on backoff
+        peerConnections.checkHealth();
     }
     
     private void checkCoordinatorHealth() {
@@ -332,6 +282,9 @@ public class DistributedCoordinatorService extends UnicastRemoteObject implement
     
     @Override
     public HeartbeatResponse heartbeat(int fromServerId) throws RemoteException {
+        if (fromServerId != serverId) {
+            knownPeerIds.add(fromServerId);
+        }
         int timestamp = lamportClockService.incrementAndGet();
         return new HeartbeatResponse(true, timestamp, isCoordinator);
     }
@@ -496,13 +449,26 @@ public class DistributedCoordinatorService extends UnicastRemoteObject implement
     
     @Override
     public boolean replicateData(ReplicationRequest request) throws RemoteException {
+        return applyReplication(request);
+    }
+    
+    @Override
+    public boolean replicateBatch(ReplicationBatch batch) throws RemoteException {
+        return replicationInbox.accept(batch);
+    }
+    
+    @Override
+    public ReplicationBatch readReplicationLog(long afterSeq, int maxEntries) throws RemoteException {
+        return replicationLog.read(afterSeq, maxEntries);
+    }
+    
+    boolean applyReplication(ReplicationRequest request) {
         try {
             // Apply replication with logical timestamp
             lamportClockService.updateClock(request.getLogicalTimestamp());
             
-            // Store in Redis for immediate consistency
-            String redisKey = "replication:" + request.getOperationId();
-            redisTemplate.opsForValue().set(redisKey, request);
+            // Keep node-local indexes current
+            auctionService.applyReplicatedChange(request);
             
             logger.info("Replicated operation {} from server {}", 
                        request.getOperationId(), request.getLogicalTimestamp());
@@ -528,19 +494,39 @@ public class DistributedCoordinatorService extends UnicastRemoteObject implement
         );
     }
     
-    private int getActiveConnections() {
-        // Implementation would track active WebSocket connections
-        return 0; // Placeholder
+    public int getActiveConnections() {
+        return sessionRegistry.getConnectionCount();
+    }
+    
+    public Map<String, Object> getTransportStatistics() {
+        return transport.getStatistics();
     }
     
     public Map<Integer, CoordinatorService> getPeerServices() {
         return new ConcurrentHashMap<>(peerServices);
     }
     
+    public Map<Integer, Object> getPeerConnectionStatistics() {
+        return peerConnections != null ? peerConnections.getStatistics() : new HashMap<>();
+    }
+    
+    public Map<Integer, Object> getReplicationInboxStatistics() {
+        return replicationInbox.getStatistics();
+    }
+    
     public CoordinatorService getPeerService(int serverId) {
         return peerServices.get(serverId);
     }
     
+    /**
+     * Peer IDs seen in configuration or heartbeats, whether currently connected or not
+     */
+    public Set<Integer> getKnownPeerIds() {
+        Set<Integer> ids = new TreeSet<>(knownPeerIds);
+        ids.addAll(peerServices.keySet());
+        return ids;
+    }
+    
     public int getServerId() {
         return serverId;
     }
@@ -0,0 +1,340 @@
+package com.auction.system.service;
+
+import com.auction.system.model.OutboxEvent;
+import com.auction.system.repository.OutboxEventRepository;
+import com.auction.system.rmi.CoordinatorService.ReplicationRequest;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Transactional outbox for side effects of auction writes.
+ *
+ * Replication, cache eviction and broadcast events are inserted into outbox_events in
+ * the same transaction as the entity change, so they exist only if it commits. A
+ * single relay thread per server publishes its own events in insert order, in
+ * batches, woken by each commit and polling as a fallback (e.g. for events left over
+ * from before a restart). Delivery is at least once: a crash between publishing and
+ * deleting a batch publishes it again, and an event whose handler fails stays in the
+ * table and is retried with doubling backoff. After max-attempts failures it is
+ * dead-lettered: kept with dead_lettered_at set for inspection, but no longer relayed.
+ */
+@Service
+public class OutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    public static final String REPLICATE = "REPLICATE";
+    public static final String CACHE_EVICT = "CACHE_EVICT";
+    public static final String BID_PLACED = "BID_PLACED";
+    public static final String AUCTION_CREATED = "AUCTION_CREATED";
+    public static final String AUCTION_ENDED = "AUCTION_ENDED";
+
+    @Value("${app.server.id}")
+    private int serverId;
+
+    @Value("${app.outbox.batch-size:200}")
+    private int batchSize;
+
+    @Value("${app.outbox.poll-interval-ms:1000}")
+    private long pollIntervalMs;
+
+    @Value("${app.outbox.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${app.outbox.retry-backoff-ms:1000}")
+    private long retryBackoffMs;
+
+    @Autowired
+    private OutboxEventRepository repository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ReplicationStream replicationStream;
+
+    @Autowired
+    private RedisTemplate<String, Object> redisTemplate;
+
+    private final Map<String, Consumer<Map<String, Object>>> handlers = new ConcurrentHashMap<>();
+    private final Semaphore wakeups = new Semaphore(0);
+    private volatile boolean running;
+    private Thread relayThread;
+
+    private final LongAdder relayed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder deadLettered = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder totalLagMillis = new LongAdder();
+    private final AtomicLong maxLagMillis = new AtomicLong();
+    private volatile long lastBatchMillis;
+    private volatile int lastBatchSize;
+
+    /**
+     * Publish events of a type with the given handler; events are relayed only after commit
+     */
+    public void registerHandler(String eventType, Consumer<Map<String, Object>> handler) {
+        handlers.put(eventType, handler);
+    }
+
+    /**
+     * Record an event in the current transaction (or on its own if there is none)
+     */
+    public void enqueue(String eventType, Map<String, Object> payload) {
+        try {
+            repository.save(new OutboxEvent(serverId, eventType, objectMapper.writeValueAsString(payload)));
+        } catch (Exception e) {
+            // Failing here rolls the entity change back with it, which is the point
+            throw new IllegalStateException("Failed to write outbox event " + eventType, e);
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    wakeups.release();
+                }
+            });
+        } else {
+            wakeups.release();
+        }
+    }
+
+    public void enqueueReplication(ReplicationRequest request) {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("operationId", request.getOperationId());
+        payload.put("operationType", request.getOperationType());
+        payload.put("tableName", request.getTableName());
+        payload.put("recordId", request.getRecordId());
+        payload.put("data", request.getData());
+        payload.put("logicalTimestamp", request.getLogicalTimestamp());
+        enqueue(REPLICATE, payload);
+    }
+
+    public void enqueueCacheEviction(Collection<String> keys) {
+        enqueue(CACHE_EVICT, Map.of("keys", keys));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        // Replication is sequenced here, after commit, so peers see commit order;
+        // relayBatch publishes runs of REPLICATE events itself so they share one log write
+        registerHandler(CACHE_EVICT, this::evictCache);
+
+        running = true;
+        relayThread = new Thread(this::relayLoop, "outbox-relay");
+        relayThread.setDaemon(true);
+        relayThread.start();
+    }
+
+    @PreDestroy
+    public void cleanup() {
+        running = false;
+        if (relayThread != null) {
+            relayThread.interrupt();
+        }
+    }
+
+    private void relayLoop() {
+        while (running) {
+            try {
+                wakeups.tryAcquire(pollIntervalMs, TimeUnit.MILLISECONDS);
+                wakeups.drainPermits();
+                // Keep going while full batches come back
+                int count;
+                do {
+                    count = relayBatch();
+                } while (running && count == batchSize);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                logger.error("Outbox relay failed", e);
+            }
+        }
+    }
+
+    private int relayBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> events = repository.findRelayable(serverId, now, PageRequest.of(0, batchSize));
+        if (events.isEmpty()) {
+            return 0;
+        }
+        long start = System.currentTimeMillis();
+        ObjectReader reader = objectMapper.readerFor(Map.class).with(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+        List<Long> done = new ArrayList<>(events.size());
+        List<OutboxEvent> replications = new ArrayList<>();
+        List<ReplicationRequest> requests = new ArrayList<>();
+        boolean stopped = false;
+
+        for (OutboxEvent event : events) {
+            if (REPLICATE.equals(event.getEventType())) {
+                try {
+                    requests.add(toReplicationRequest(reader.readValue(event.getPayload())));
+                    replications.add(event);
+                } catch (Exception e) {
+                    retryLater(event, now, e);
+                }
+                continue;
+            }
+            // Anything after a run of replication events must wait for it, to keep insert order
+            if (!publishReplications(replications, requests, done, now)) {
+                stopped = true;
+                break;
+            }
+
+            try {
+                Consumer<Map<String, Object>> handler = handlers.get(event.getEventType());
+                if (handler == null) {
+                    throw new IllegalStateException("No outbox handler for " + event.getEventType());
+                }
+                handler.accept(reader.readValue(event.getPayload()));
+                recordRelayed(event, now);
+                done.add(event.getId());
+            } catch (Exception e) {
+                // One bad event must not block the ones behind it
+                retryLater(event, now, e);
+            }
+        }
+        if (!stopped) {
+            stopped = !publishReplications(replications, requests, done, now);
+        }
+
+        repository.deleteAllByIdInBatch(done);
+        batches.increment();
+        lastBatchMillis = System.currentTimeMillis() - start;
+        lastBatchSize = done.size();
+        // Failed events are backed off, so a full page means more may be waiting
+        return stopped ? 0 : events.size();
+    }
+
+    /**
+     * Keep a failed event for a later pass, or dead-letter it once out of attempts
+     */
+    private void retryLater(OutboxEvent event, LocalDateTime now, Exception failure) {
+        failed.increment();
+        int attempts = event.getAttempts() + 1;
+        event.setAttempts(attempts);
+        if (attempts >= maxAttempts) {
+            event.setDeadLetteredAt(now);
+            deadLettered.increment();
+            logger.error("Outbox event {} ({}) failed {} times, dead-lettering it",
+                event.getId(), event.getEventType(), attempts, failure);
+        } else {
+            long backoffMs = retryBackoffMs << Math.min(attempts - 1, 16);
+            event.setNextAttemptAt(now.plus(Duration.ofMillis(backoffMs)));
+            logger.warn("Outbox event {} ({}) failed, attempt {} of {}, retrying in {}ms",
+                event.getId(), event.getEventType(), attempts, maxAttempts, backoffMs, failure);
+        }
+        try {
+            repository.save(event);
+        } catch (Exception e) {
+            // Still in the table unchanged, so it is simply retried on the next pass
+            logger.error("Failed to record failure of outbox event {}: {}", event.getId(), e.getMessage());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void evictCache(Map<String, Object> payload) {
+        redisTemplate.delete((Collection<String>) payload.get("keys"));
+    }
+
+    /**
+     * Publish a run of replication events with one log write; false if the log could not
+     * be written, in which case nothing was sequenced and the run is retried next pass
+     */
+    private boolean publishReplications(List<OutboxEvent> events, List<ReplicationRequest> requests,
+                                        List<Long> done, LocalDateTime now) {
+        if (events.isEmpty()) {
+            return true;
+        }
+        try {
+            replicationStream.publishAll(requests);
+        } catch (Exception e) {
+            // Stop here so peers keep commit order
+            logger.warn("Replication log write failed, retrying {} outbox events from {} later: {}",
+                events.size(), events.get(0).getId(), e.getMessage());
+            return false;
+        }
+        for (OutboxEvent event : events) {
+            recordRelayed(event, now);
+            done.add(event.getId());
+        }
+        events.clear();
+        requests.clear();
+        return true;
+    }
+
+    private void recordRelayed(OutboxEvent event, LocalDateTime now) {
+        relayed.increment();
+        long lag = Duration.between(event.getCreatedAt(), now).toMillis();
+        totalLagMillis.add(lag);
+        maxLagMillis.accumulateAndGet(lag, Math::max);
+    }
+
+    @SuppressWarnings("unchecked")
+    private ReplicationRequest toReplicationRequest(Map<String, Object> payload) {
+        // Fail here, per event, rather than in the log write for the whole run
+        if (payload.get("recordId") != null) {
+            UUID.fromString((String) payload.get("recordId"));
+        }
+        return new ReplicationRequest(
+            (String) payload.get("operationId"),
+            (String) payload.get("operationType"),
+            (String) payload.get("tableName"),
+            (String) payload.get("recordId"),
+            (Map<String, Object>) payload.get("data"),
+            ((Number) payload.get("logicalTimestamp")).intValue()
+        );
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new HashMap<>();
+        long count = relayed.sum();
+        stats.put("relayed", count);
+        stats.put("failed", failed.sum());
+        stats.put("deadLettered", deadLettered.sum());
+        stats.put("batches", batches.sum());
+        stats.put("lastBatchSize", lastBatchSize);
+        stats.put("lastBatchMillis", lastBatchMillis);
+        stats.put("lastBatchEventsPerSecond", lastBatchSize * 1000L / Math.max(1, lastBatchMillis));
+        stats.put("avgLagMillis", count > 0 ? totalLagMillis.sum() / count : 0);
+        stats.put("maxLagMillis", maxLagMillis.get());
+        try {
+            stats.put("pending", repository.countByServerIdAndDeadLetteredAtIsNull(serverId));
+            stats.put("deadLetteredTotal", repository.countByServerIdAndDeadLetteredAtIsNotNull(serverId));
+            LocalDateTime oldest = repository.findOldestCreatedAt(serverId);
+            stats.put("oldestPendingMillis", oldest != null ? Duration.between(oldest, LocalDateTime.now()).toMillis() : 0);
+        } catch (Exception e) {
+            logger.debug("Failed to read outbox backlog: {}", e.getMessage());
+        }
+        return stats;
+    }
+}
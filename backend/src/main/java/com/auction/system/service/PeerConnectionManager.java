@@ -0,0 +1,374 @@
+package com.auction.system.service;
+
+import com.auction.system.rmi.CoordinatorService;
+import com.auction.system.transport.ClusterTransport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.rmi.RemoteException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Connections to the configured peer servers.
+ *
+ * Peers are configured with explicit IDs ("2@auction-server-2:1102,..."). Missing
+ * peers are connected in parallel, each on its own exponential backoff, so one
+ * unreachable host never holds up the others. Every connected stub is wrapped in a
+ * circuit breaker: after consecutive failed calls the circuit opens and calls fail
+ * at once with a RemoteException, until a single trial call after the cool-down
+ * succeeds. A peer is evicted, and reconnected on backoff, only after several
+ * consecutive failed heartbeats.
+ */
+class PeerConnectionManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(PeerConnectionManager.class);
+
+    private static final long TICK_MS = 250;
+
+    private final int serverId;
+    private final ClusterTransport transport;
+    private final Map<Integer, CoordinatorService> peerServices;
+    private final Map<Integer, PeerState> peers = new LinkedHashMap<>();
+
+    private final int failureThreshold;
+    private final long openMillis;
+    private final int evictAfterHeartbeats;
+    private final long heartbeatTimeoutMs;
+    private final long initialBackoffMs;
+    private final long maxBackoffMs;
+
+    private final AtomicInteger threadCount = new AtomicInteger();
+    private final ExecutorService workers = Executors.newCachedThreadPool(r -> {
+        Thread thread = new Thread(r, "peer-connect-" + threadCount.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "peer-connector");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * @param peerServices connected peers, shared with the caller; stubs are added and removed here
+     */
+    PeerConnectionManager(int serverId, String peerSpec, ClusterTransport transport,
+                          Map<Integer, CoordinatorService> peerServices,
+                          int failureThreshold, long openMillis, int evictAfterHeartbeats,
+                          long heartbeatTimeoutMs, long initialBackoffMs, long maxBackoffMs) {
+        this.serverId = serverId;
+        this.transport = transport;
+        this.peerServices = peerServices;
+        this.failureThreshold = failureThreshold;
+        this.openMillis = openMillis;
+        this.evictAfterHeartbeats = evictAfterHeartbeats;
+        this.heartbeatTimeoutMs = heartbeatTimeoutMs;
+        this.initialBackoffMs = initialBackoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+
+        for (String entry : peerSpec.split(",")) {
+            PeerState peer = parse(entry.trim());
+            if (peer != null && peer.id != serverId) {
+                peers.put(peer.id, peer);
+            }
+        }
+    }
+
+    /**
+     * Parse "id@host:port"; the old "host:port" form falls back to guessing the ID
+     */
+    private PeerState parse(String entry) {
+        if (entry.isEmpty()) {
+            return null;
+        }
+        try {
+            int at = entry.indexOf('@');
+            String address = at >= 0 ? entry.substring(at + 1) : entry;
+            int colon = address.lastIndexOf(':');
+            String host = address.substring(0, colon);
+            int port = Integer.parseInt(address.substring(colon + 1));
+            int id;
+            if (at >= 0) {
+                id = Integer.parseInt(entry.substring(0, at));
+            } else {
+                id = guessServerId(host, port);
+                logger.warn("Peer {} has no explicit ID, assuming {}; configure it as {}@{}", entry, id, id, address);
+            }
+            return new PeerState(id, host, port);
+        } catch (Exception e) {
+            logger.error("Ignoring malformed peer entry '{}' (expected id@host:port)", entry);
+            return null;
+        }
+    }
+
+    // Hostname digits ("auction-server-2" -> 2), else ports 1101-1103 -> 1-3
+    private int guessServerId(String host, int port) {
+        for (String part : host.split("-")) {
+            if (part.matches("\\d+") && Integer.parseInt(part) != serverId) {
+                return Integer.parseInt(part);
+            }
+        }
+        if (port >= 1101 && port <= 1103) {
+            return port - 1100;
+        }
+        return port;
+    }
+
+    List<Integer> getPeerIds() {
+        return new ArrayList<>(peers.keySet());
+    }
+
+    void start() {
+        scheduler.scheduleWithFixedDelay(this::connectDue, 0, TICK_MS, TimeUnit.MILLISECONDS);
+    }
+
+    void shutdown() {
+        scheduler.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    /**
+     * Start a connection attempt for every missing peer whose backoff has elapsed
+     */
+    private void connectDue() {
+        long now = System.currentTimeMillis();
+        for (PeerState peer : peers.values()) {
+            if (!peerServices.containsKey(peer.id) && now >= peer.nextAttemptAt
+                    && peer.connecting.compareAndSet(false, true)) {
+                workers.submit(() -> connect(peer));
+            }
+        }
+    }
+
+    private void connect(PeerState peer) {
+        try {
+            CoordinatorService stub = transport.connect(peer.host, peer.port);
+            synchronized (peer) {
+                peer.connectFailures = 0;
+                peer.heartbeatFailures = 0;
+                peer.resetCircuit();
+            }
+            peer.connects.increment();
+            peerServices.put(peer.id, guard(peer, stub));
+            logger.info("Connected to peer server {} at {}:{}", peer.id, peer.host, peer.port);
+        } catch (Exception e) {
+            long backoff;
+            synchronized (peer) {
+                peer.connectFailures++;
+                backoff = backoff(peer.connectFailures);
+                peer.nextAttemptAt = System.currentTimeMillis() + backoff;
+            }
+            logger.debug("Failed to connect to peer {} at {}:{}, retrying in {}ms: {}",
+                peer.id, peer.host, peer.port, backoff, e.getMessage());
+        } finally {
+            peer.connecting.set(false);
+        }
+    }
+
+    private long backoff(int failures) {
+        long base = initialBackoffMs << Math.min(failures - 1, 20);
+        long capped = Math.min(base, maxBackoffMs);
+        // Jitter keeps restarted servers from reconnecting in lockstep
+        return capped / 2 + ThreadLocalRandom.current().nextLong(capped / 2 + 1);
+    }
+
+    /**
+     * Heartbeat every connected peer in parallel, evicting peers that keep failing
+     */
+    void checkHealth() {
+        Map<PeerState, CompletableFuture<Boolean>> pending = new HashMap<>();
+        for (PeerState peer : peers.values()) {
+            CoordinatorService stub = peerServices.get(peer.id);
+            if (stub == null) {
+                continue;
+            }
+            if (!peer.heartbeatInFlight.compareAndSet(false, true)) {
+                // The previous heartbeat is still stuck on the socket
+                recordHeartbeat(peer, false);
+                continue;
+            }
+            pending.put(peer, CompletableFuture.supplyAsync(() -> {
+                try {
+                    return stub.heartbeat(serverId).isAlive();
+                } catch (RemoteException e) {
+                    return false;
+                } finally {
+                    peer.heartbeatInFlight.set(false);
+                }
+            }, workers));
+        }
+
+        long deadline = System.currentTimeMillis() + heartbeatTimeoutMs;
+        pending.forEach((peer, future) -> {
+            boolean alive;
+            try {
+                alive = future.get(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                alive = false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                alive = false;
+            }
+            recordHeartbeat(peer, alive);
+        });
+    }
+
+    private void recordHeartbeat(PeerState peer, boolean alive) {
+        boolean evict;
+        synchronized (peer) {
+            peer.heartbeatFailures = alive ? 0 : peer.heartbeatFailures + 1;
+            evict = peer.heartbeatFailures >= evictAfterHeartbeats;
+            if (evict) {
+                peer.heartbeatFailures = 0;
+                peer.connectFailures = 1;
+                peer.nextAttemptAt = System.currentTimeMillis() + backoff(1);
+            }
+        }
+        if (!alive) {
+            logger.debug("Heartbeat to peer {} failed", peer.id);
+        }
+        if (evict && peerServices.remove(peer.id) != null) {
+            peer.evictions.increment();
+            logger.info("Evicted peer {} after {} failed heartbeats", peer.id, evictAfterHeartbeats);
+        }
+    }
+
+    /**
+     * Route every call to the stub through the peer's circuit breaker
+     */
+    private CoordinatorService guard(PeerState peer, CoordinatorService stub) {
+        return (CoordinatorService) Proxy.newProxyInstance(
+            CoordinatorService.class.getClassLoader(),
+            new Class<?>[] { CoordinatorService.class },
+            (proxy, method, args) -> {
+                if (method.getDeclaringClass() == Object.class) {
+                    return method.invoke(stub, args);
+                }
+                if (!peer.allowCall(openMillis)) {
+                    peer.rejectedCalls.increment();
+                    throw new RemoteException("Circuit open for peer " + peer.id);
+                }
+                try {
+                    Object result = method.invoke(stub, args);
+                    peer.onSuccess();
+                    return result;
+                } catch (InvocationTargetException e) {
+                    if (peer.onFailure(failureThreshold)) {
+                        logger.warn("Circuit opened for peer {} after {}: {}", peer.id, method.getName(),
+                            e.getCause().getMessage());
+                    }
+                    throw e.getCause();
+                }
+            });
+    }
+
+    Map<Integer, Object> getStatistics() {
+        Map<Integer, Object> stats = new HashMap<>();
+        long now = System.currentTimeMillis();
+        for (PeerState peer : peers.values()) {
+            Map<String, Object> peerStats = new HashMap<>();
+            synchronized (peer) {
+                peerStats.put("address", peer.host + ":" + peer.port);
+                peerStats.put("connected", peerServices.containsKey(peer.id));
+                peerStats.put("circuit", peer.circuit.name());
+                peerStats.put("consecutiveFailures", peer.consecutiveFailures);
+                peerStats.put("heartbeatFailures", peer.heartbeatFailures);
+                peerStats.put("connectFailures", peer.connectFailures);
+                peerStats.put("nextAttemptInMs", Math.max(0, peer.nextAttemptAt - now));
+            }
+            peerStats.put("connects", peer.connects.sum());
+            peerStats.put("evictions", peer.evictions.sum());
+            peerStats.put("circuitOpens", peer.circuitOpens.sum());
+            peerStats.put("rejectedCalls", peer.rejectedCalls.sum());
+            stats.put(peer.id, peerStats);
+        }
+        return stats;
+    }
+
+    private enum Circuit { CLOSED, OPEN, HALF_OPEN }
+
+    private static class PeerState {
+        private final int id;
+        private final String host;
+        private final int port;
+
+        private final AtomicBoolean connecting = new AtomicBoolean();
+        private final AtomicBoolean heartbeatInFlight = new AtomicBoolean();
+        private int connectFailures;
+        private long nextAttemptAt;
+        private int heartbeatFailures;
+
+        private Circuit circuit = Circuit.CLOSED;
+        private int consecutiveFailures;
+        private long openedAt;
+
+        private final LongAdder connects = new LongAdder();
+        private final LongAdder evictions = new LongAdder();
+        private final LongAdder circuitOpens = new LongAdder();
+        private final LongAdder rejectedCalls = new LongAdder();
+
+        PeerState(int id, String host, int port) {
+            this.id = id;
+            this.host = host;
+            this.port = port;
+        }
+
+        // Closed lets everything through; open lets one trial call through after the cool-down
+        synchronized boolean allowCall(long openMillis) {
+            switch (circuit) {
+                case CLOSED:
+                    return true;
+                case OPEN:
+                    if (System.currentTimeMillis() - openedAt >= openMillis) {
+                        circuit = Circuit.HALF_OPEN;
+                        return true;
+                    }
+                    return false;
+                default:
+                    return false;
+            }
+        }
+
+        synchronized void onSuccess() {
+            consecutiveFailures = 0;
+            circuit = Circuit.CLOSED;
+        }
+
+        /**
+         * Returns true if this failure opened the circuit
+         */
+        synchronized boolean onFailure(int threshold) {
+            consecutiveFailures++;
+            if (circuit == Circuit.HALF_OPEN || (circuit == Circuit.CLOSED && consecutiveFailures >= threshold)) {
+                circuit = Circuit.OPEN;
+                openedAt = System.currentTimeMillis();
+                circuitOpens.increment();
+                return true;
+            }
+            return false;
+        }
+
+        synchronized void resetCircuit() {
+            circuit = Circuit.CLOSED;
+            consecutiveFailures = 0;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.auction.system.service;
+
+import com.auction.system.rmi.CoordinatorService.ReplicationBatch;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Receiving end of the peers' replication streams.
+ *
+ * Batches from one origin may arrive out of order (several are in flight); they are
+ * held until the gap before them fills and then applied in sequence. A newer stream
+ * epoch from an origin discards anything held from the older one.
+ *
+ * The first batch of an epoch this server sees sets where the stream starts, since a
+ * restarted receiver joins the sender's stream part way through. A gap that does not
+ * fill (too many batches held, or held too long) is skipped. Neither loses changes:
+ * apply catches up from the origin's replication log whenever a batch starts past
+ * what was already applied.
+ */
+class ReplicationInbox {
+
+    static final int MAX_HELD_BATCHES = 64;
+    static final long MAX_GAP_MILLIS = 5000;
+
+    private final Consumer<ReplicationBatch> apply;
+    private final int maxHeld;
+    private final long maxGapMillis;
+    private final LongSupplier clock;
+    private final Map<Integer, OriginState> origins = new ConcurrentHashMap<>();
+
+    ReplicationInbox(Consumer<ReplicationBatch> apply) {
+        this(apply, MAX_HELD_BATCHES, MAX_GAP_MILLIS, System::currentTimeMillis);
+    }
+
+    ReplicationInbox(Consumer<ReplicationBatch> apply, int maxHeld, long maxGapMillis, LongSupplier clock) {
+        this.apply = apply;
+        this.maxHeld = maxHeld;
+        this.maxGapMillis = maxGapMillis;
+        this.clock = clock;
+    }
+
+    /**
+     * Accept a batch, applying it and any held batches it unblocks
+     */
+    boolean accept(ReplicationBatch batch) {
+        OriginState state = origins.computeIfAbsent(batch.getOriginServerId(), id -> new OriginState());
+        synchronized (state) {
+            if (batch.getStreamEpoch() < state.epoch) {
+                // Left over from a stream the sender already abandoned
+                return true;
+            }
+            if (batch.getStreamEpoch() > state.epoch) {
+                // Whatever this epoch sent before reaching us is filled from the log
+                state.epoch = batch.getStreamEpoch();
+                state.nextSeq = batch.getBatchSeq();
+                state.held.clear();
+                state.gapSince = 0;
+            }
+            if (batch.getBatchSeq() < state.nextSeq) {
+                // Retry of a batch that was already applied, or one skipped over
+                return true;
+            }
+
+            state.held.put(batch.getBatchSeq(), batch);
+            drain(state);
+            if (state.held.isEmpty()) {
+                state.gapSince = 0;
+                return true;
+            }
+
+            long now = clock.getAsLong();
+            if (state.gapSince == 0) {
+                state.gapSince = now;
+            }
+            if (state.held.size() > maxHeld || now - state.gapSince >= maxGapMillis) {
+                // The missing batch was dropped or given up on; the next one catches up for it
+                state.skippedGaps++;
+                state.nextSeq = state.held.firstKey();
+                drain(state);
+                state.gapSince = state.held.isEmpty() ? 0 : now;
+            }
+            return true;
+        }
+    }
+
+    private void drain(OriginState state) {
+        ReplicationBatch next;
+        while ((next = state.held.remove(state.nextSeq)) != null) {
+            apply.accept(next);
+            state.applied += next.getRequests().size();
+            state.nextSeq++;
+        }
+    }
+
+    Map<Integer, Object> getStatistics() {
+        Map<Integer, Object> stats = new HashMap<>();
+        origins.forEach((originId, state) -> {
+            synchronized (state) {
+                Map<String, Object> origin = new HashMap<>();
+                origin.put("epoch", state.epoch);
+                origin.put("nextSeq", state.nextSeq);
+                origin.put("heldBatches", state.held.size());
+                origin.put("applied", state.applied);
+                origin.put("skippedGaps", state.skippedGaps);
+                stats.put(originId, origin);
+            }
+        });
+        return stats;
+    }
+
+    private static class OriginState {
+        private long epoch = Long.MIN_VALUE;
+        private long nextSeq = 1;
+        private long applied;
+        private long skippedGaps;
+        // When the oldest unfilled gap was first seen, 0 when none
+        private long gapSince;
+        private final TreeMap<Long, ReplicationBatch> held = new TreeMap<>();
+    }
+}
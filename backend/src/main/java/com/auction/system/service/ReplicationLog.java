@@ -0,0 +1,313 @@
+package com.auction.system.service;
+
+import com.auction.system.model.ReplicationLogEntry;
+import com.auction.system.repository.ReplicationLogRepository;
+import com.auction.system.rmi.CoordinatorService;
+import com.auction.system.rmi.CoordinatorService.ReplicationBatch;
+import com.auction.system.rmi.CoordinatorService.ReplicationRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.annotation.PostConstruct;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Durable replication log with per-origin sequence numbers.
+ *
+ * Every change this server replicates is written to replication_log with the next
+ * sequence number for this origin before it is queued for peers; a sequence is only
+ * issued once its entry is durable, so the log never has holes. Receivers apply a
+ * sequenced change only if it is past their high-water mark for that origin, so
+ * retries and catch-up overlap are harmless. When a batch shows a gap (the receiver
+ * was evicted as a peer, or the stream restarted) the missed range is read from the
+ * origin's log before the batch is applied. Old entries are compacted and expired.
+ */
+@Service
+public class ReplicationLog {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicationLog.class);
+
+    @Value("${app.server.id}")
+    private int serverId;
+
+    @Value("${app.coordination.replication.log.retention-hours:24}")
+    private long retentionHours;
+
+    @Value("${app.coordination.replication.log.compact-after-minutes:10}")
+    private long compactAfterMinutes;
+
+    @Value("${app.coordination.replication.log.catch-up-page-size:500}")
+    private int catchUpPageSize;
+
+    @Autowired
+    private ReplicationLogRepository repository;
+
+    @Autowired
+    private DistributedCoordinatorService coordinatorService;
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    // Last sequence this server assigned
+    private final AtomicLong head = new AtomicLong();
+
+    // Per origin: highest sequence applied here, and highest seen in any batch
+    private final Map<Integer, Long> appliedThrough = new ConcurrentHashMap<>();
+    private final Map<Integer, Long> seenThrough = new ConcurrentHashMap<>();
+
+    private final LongAdder catchUps = new LongAdder();
+    private final LongAdder catchUpEntries = new LongAdder();
+    private final LongAdder truncatedCatchUps = new LongAdder();
+    private final LongAdder duplicatesSkipped = new LongAdder();
+    private volatile int lastCompacted;
+    private volatile int lastExpired;
+
+    @PostConstruct
+    public void initialize() {
+        try {
+            Long max = repository.findMaxOriginSeq(serverId);
+            head.set(max != null ? max : 0L);
+            // Local indexes are loaded from the shared database, which already reflects
+            // everything peers had logged before this process started
+            for (Object[] row : repository.findMaxOriginSeqPerServer()) {
+                int origin = ((Number) row[0]).intValue();
+                if (origin != serverId) {
+                    appliedThrough.put(origin, ((Number) row[1]).longValue());
+                }
+            }
+            logger.info("Replication log head for server {} is {}", serverId, head.get());
+        } catch (Exception e) {
+            logger.error("Failed to read replication log positions", e);
+        }
+        removeLegacyRedisEntries();
+    }
+
+    /**
+     * Persist changes under the next sequences, in one transaction, and assign them to the
+     * requests in list order. If the write fails the exception propagates and none of the
+     * sequences are used. Not thread-safe: the caller serializes appends with queueing so
+     * peers see sequences in order.
+     */
+    public void appendAll(List<ReplicationRequest> requests) {
+        long seq = head.get();
+        List<ReplicationLogEntry> entries = new ArrayList<>(requests.size());
+        for (ReplicationRequest request : requests) {
+            ReplicationLogEntry entry = new ReplicationLogEntry();
+            entry.setOperationId(request.getOperationId());
+            entry.setServerId(serverId);
+            entry.setOriginSeq(++seq);
+            entry.setOperationType(request.getOperationType());
+            entry.setTableName(request.getTableName());
+            entry.setRecordId(request.getRecordId() != null ? UUID.fromString(request.getRecordId()) : null);
+            entry.setData(request.getData());
+            entry.setLogicalTimestamp(request.getLogicalTimestamp());
+            entries.add(entry);
+        }
+        // saveAll runs in its own transaction, so everything below is durable once it returns
+        repository.saveAll(entries);
+        for (int i = 0; i < requests.size(); i++) {
+            requests.get(i).setSequence(entries.get(i).getOriginSeq());
+        }
+        head.set(seq);
+    }
+
+    public long getHead() {
+        return head.get();
+    }
+
+    /**
+     * This server's log after afterSeq, as served to a peer catching up
+     */
+    public ReplicationBatch read(long afterSeq, int maxEntries) {
+        return readFrom(serverId, afterSeq, maxEntries);
+    }
+
+    /**
+     * Apply a batch from an origin's stream (called in stream order), catching up first
+     * if the batch starts past the next expected sequence
+     */
+    public void applyBatch(ReplicationBatch batch) {
+        int origin = batch.getOriginServerId();
+        long through = appliedThrough.getOrDefault(origin, 0L);
+
+        long first = 0;
+        for (ReplicationRequest request : batch.getRequests()) {
+            if (request.getSequence() > 0) {
+                first = first == 0 ? request.getSequence() : Math.min(first, request.getSequence());
+                seenThrough.merge(origin, request.getSequence(), Math::max);
+            }
+        }
+        if (first > through + 1) {
+            through = catchUp(origin, through, first);
+        }
+
+        for (ReplicationRequest request : batch.getRequests()) {
+            long seq = request.getSequence();
+            if (seq == 0) {
+                coordinatorService.applyReplication(request);
+            } else if (seq > through) {
+                coordinatorService.applyReplication(request);
+                through = seq;
+            } else {
+                duplicatesSkipped.increment();
+            }
+        }
+        appliedThrough.put(origin, through);
+    }
+
+    /**
+     * Apply the origin's log entries between through and before; returns the new high-water mark
+     */
+    private long catchUp(int origin, long through, long before) {
+        catchUps.increment();
+        logger.info("Catching up replication from server {}: have {}, next batch starts at {}", origin, through, before);
+        boolean firstPage = true;
+        while (through < before - 1) {
+            ReplicationBatch page = fetch(origin, through);
+            List<ReplicationRequest> entries = page.getRequests();
+            if (entries.isEmpty()) {
+                break;
+            }
+            if (firstPage && entries.get(0).getSequence() > through + 1) {
+                // Expired or compacted away; the periodic index reconcile covers the rest
+                truncatedCatchUps.increment();
+                logger.warn("Replication log of server {} no longer holds {}..{}", origin,
+                    through + 1, entries.get(0).getSequence() - 1);
+            }
+            firstPage = false;
+            for (ReplicationRequest request : entries) {
+                if (request.getSequence() >= before) {
+                    return through;
+                }
+                coordinatorService.applyReplication(request);
+                catchUpEntries.increment();
+                through = request.getSequence();
+            }
+        }
+        return through;
+    }
+
+    private ReplicationBatch fetch(int origin, long afterSeq) {
+        CoordinatorService peer = coordinatorService.getPeerService(origin);
+        if (peer != null) {
+            try {
+                return peer.readReplicationLog(afterSeq, catchUpPageSize);
+            } catch (Exception e) {
+                logger.debug("Failed to read replication log from server {}: {}", origin, e.getMessage());
+            }
+        }
+        // The log table is shared, so an unreachable origin's entries can still be read
+        return readFrom(origin, afterSeq, catchUpPageSize);
+    }
+
+    private ReplicationBatch readFrom(int origin, long afterSeq, int maxEntries) {
+        List<ReplicationRequest> requests = new ArrayList<>();
+        for (ReplicationLogEntry entry : repository.findByServerIdAndOriginSeqGreaterThanOrderByOriginSeqAsc(
+                origin, afterSeq, PageRequest.of(0, maxEntries))) {
+            ReplicationRequest request = new ReplicationRequest(
+                entry.getOperationId(),
+                entry.getOperationType(),
+                entry.getTableName(),
+                entry.getRecordId() != null ? entry.getRecordId().toString() : null,
+                entry.getData(),
+                entry.getLogicalTimestamp()
+            );
+            request.setSequence(entry.getOriginSeq());
+            requests.add(request);
+        }
+        return new ReplicationBatch(origin, 0, 0, requests);
+    }
+
+    /**
+     * Compact superseded auction updates, then expire entries past retention
+     */
+    @Scheduled(fixedDelayString = "${app.coordination.replication.log.maintenance-interval:600000}", initialDelay = 60000)
+    @Transactional
+    public void maintain() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            lastCompacted = repository.deleteSupersededUpdates(serverId, now.minusMinutes(compactAfterMinutes));
+            lastExpired = repository.deleteOlderThan(serverId, now.minusHours(retentionHours));
+            if (lastCompacted > 0 || lastExpired > 0) {
+                logger.info("Replication log maintenance: compacted {}, expired {}", lastCompacted, lastExpired);
+            }
+        } catch (Exception e) {
+            logger.error("Replication log maintenance failed", e);
+        }
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("head", head.get());
+        try {
+            stats.put("retainedFrom", repository.findMinOriginSeq(serverId));
+            stats.put("retainedEntries", repository.countByServerId(serverId));
+        } catch (Exception e) {
+            logger.debug("Failed to read replication log size: {}", e.getMessage());
+        }
+
+        Map<Integer, Object> origins = new HashMap<>();
+        appliedThrough.forEach((origin, applied) -> {
+            Map<String, Object> originStats = new HashMap<>();
+            long seen = Math.max(seenThrough.getOrDefault(origin, 0L), applied);
+            originStats.put("appliedThrough", applied);
+            originStats.put("seenThrough", seen);
+            originStats.put("lag", seen - applied);
+            origins.put(origin, originStats);
+        });
+        stats.put("origins", origins);
+        stats.put("catchUps", catchUps.sum());
+        stats.put("catchUpEntries", catchUpEntries.sum());
+        stats.put("truncatedCatchUps", truncatedCatchUps.sum());
+        stats.put("duplicatesSkipped", duplicatesSkipped.sum());
+        stats.put("lastCompacted", lastCompacted);
+        stats.put("lastExpired", lastExpired);
+        return stats;
+    }
+
+    // Earlier versions wrote replication:<opId> keys with no TTL
+    private void removeLegacyRedisEntries() {
+        try (Cursor<String> keys = stringRedisTemplate.scan(ScanOptions.scanOptions().match("replication:*").count(1000).build())) {
+            List<String> batch = new ArrayList<>();
+            long removed = 0;
+            while (keys.hasNext()) {
+                batch.add(keys.next());
+                if (batch.size() == 1000) {
+                    removed += deleteKeys(batch);
+                }
+            }
+            removed += deleteKeys(batch);
+            if (removed > 0) {
+                logger.info("Removed {} legacy replication entries from Redis", removed);
+            }
+        } catch (Exception e) {
+            logger.warn("Failed to remove legacy replication entries from Redis: {}", e.getMessage());
+        }
+    }
+
+    private long deleteKeys(List<String> keys) {
+        if (keys.isEmpty()) {
+            return 0;
+        }
+        Long deleted = stringRedisTemplate.delete(keys);
+        keys.clear();
+        return deleted != null ? deleted : 0;
+    }
+}
@@ -0,0 +1,270 @@
+package com.auction.system.service;
+
+import com.auction.system.rmi.CoordinatorService;
+import com.auction.system.rmi.CoordinatorService.ReplicationBatch;
+import com.auction.system.rmi.CoordinatorService.ReplicationRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Outbound replication, one ordered stream per peer.
+ *
+ * Changes are queued instead of sent on the request thread. Each peer's queue is
+ * drained into batches (up to batch-size, or whatever arrived within linger-ms) and
+ * up to max-in-flight batches are sent at once. Batches carry a stream epoch and a
+ * sequence number so the receiver applies them in order even when they arrive out
+ * of order. A batch that still fails after the retry attempts starts a new epoch;
+ * the receiver then drops whatever it was holding from the old one and fills the
+ * gap from the replication log.
+ */
+@Service
+public class ReplicationStream {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicationStream.class);
+
+    @Value("${app.server.id}")
+    private int serverId;
+
+    @Value("${app.coordination.replication.batch-size:100}")
+    private int batchSize;
+
+    @Value("${app.coordination.replication.linger-ms:5}")
+    private long lingerMs;
+
+    @Value("${app.coordination.replication.max-in-flight:4}")
+    private int maxInFlight;
+
+    @Value("${app.coordination.replication.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${app.coordination.replication.retry-attempts:3}")
+    private int retryAttempts;
+
+    @Autowired
+    private DistributedCoordinatorService coordinatorService;
+
+    @Autowired
+    private ReplicationLog replicationLog;
+
+    private final Map<Integer, PeerStream> streams = new ConcurrentHashMap<>();
+
+    private final ExecutorService senders = Executors.newCachedThreadPool(new ThreadFactory() {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, "replication-send-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+
+    private volatile boolean running = true;
+
+    @PreDestroy
+    public void cleanup() {
+        running = false;
+        senders.shutdownNow();
+    }
+
+    /**
+     * Log a change and queue it for every connected peer. Throws if the change could not
+     * be logged, in which case it was neither sequenced nor queued.
+     */
+    public void publish(ReplicationRequest request) {
+        publishAll(List.of(request));
+    }
+
+    /**
+     * Log changes with one write and queue them, in order, for every connected peer.
+     * Throws if they could not be logged, in which case none was sequenced or queued.
+     */
+    public void publishAll(List<ReplicationRequest> requests) {
+        if (requests.isEmpty()) {
+            return;
+        }
+        // Queues must see changes in sequence order, or receivers would skip the lower one;
+        // and a sequence a peer sees must be in the log, or catch-up could never fill it.
+        // Callers hand over whole batches so the log write is paid once per batch.
+        synchronized (this) {
+            replicationLog.appendAll(requests);
+            for (Integer peerId : coordinatorService.getPeerServices().keySet()) {
+                PeerStream stream = streams.computeIfAbsent(peerId, this::openStream);
+                for (ReplicationRequest request : requests) {
+                    stream.offer(request);
+                }
+            }
+        }
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new HashMap<>();
+        Map<Integer, Object> peers = new HashMap<>();
+        streams.forEach((peerId, stream) -> peers.put(peerId, stream.getStatistics()));
+        stats.put("peers", peers);
+        stats.put("batchSize", batchSize);
+        stats.put("lingerMs", lingerMs);
+        stats.put("maxInFlight", maxInFlight);
+        return stats;
+    }
+
+    private PeerStream openStream(int peerId) {
+        PeerStream stream = new PeerStream(peerId);
+        Thread batcher = new Thread(stream::batchLoop, "replication-peer-" + peerId);
+        batcher.setDaemon(true);
+        batcher.start();
+        return stream;
+    }
+
+    private class PeerStream {
+        private final int peerId;
+        private final BlockingQueue<ReplicationRequest> queue = new LinkedBlockingQueue<>(queueCapacity);
+        private final Semaphore inFlight = new Semaphore(maxInFlight);
+
+        private long epoch = System.currentTimeMillis();
+        private long nextSeq = 1;
+        // Highest log sequence the peer has accepted
+        private volatile long ackedThrough;
+
+        private final LongAdder batchesSent = new LongAdder();
+        private final LongAdder requestsSent = new LongAdder();
+        private final LongAdder failedBatches = new LongAdder();
+        private final LongAdder dropped = new LongAdder();
+        private final LongAdder sendMillis = new LongAdder();
+
+        PeerStream(int peerId) {
+            this.peerId = peerId;
+        }
+
+        void offer(ReplicationRequest request) {
+            if (!queue.offer(request)) {
+                dropped.increment();
+                logger.warn("Replication queue for server {} is full, dropping operation {}",
+                    peerId, request.getOperationId());
+            }
+        }
+
+        void batchLoop() {
+            while (running) {
+                try {
+                    ReplicationRequest first = queue.poll(1, TimeUnit.SECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    List<ReplicationRequest> requests = new ArrayList<>(batchSize);
+                    requests.add(first);
+                    long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(lingerMs);
+                    while (requests.size() < batchSize) {
+                        long remaining = deadline - System.nanoTime();
+                        ReplicationRequest next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                        if (next == null) {
+                            break;
+                        }
+                        requests.add(next);
+                    }
+
+                    // Waiting here is what pushes back on the queue when the peer is slow
+                    inFlight.acquire();
+                    ReplicationBatch batch = nextBatch(requests);
+                    senders.execute(() -> {
+                        try {
+                            send(batch);
+                        } finally {
+                            inFlight.release();
+                        }
+                    });
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (Exception e) {
+                    logger.error("Replication stream to server {} failed", peerId, e);
+                }
+            }
+        }
+
+        private synchronized ReplicationBatch nextBatch(List<ReplicationRequest> requests) {
+            return new ReplicationBatch(serverId, epoch, nextSeq++, requests);
+        }
+
+        private void send(ReplicationBatch batch) {
+            long start = System.currentTimeMillis();
+            for (int attempt = 0; attempt <= retryAttempts && running; attempt++) {
+                CoordinatorService peer = coordinatorService.getPeerService(peerId);
+                try {
+                    if (peer != null && peer.replicateBatch(batch)) {
+                        acknowledge(batch);
+                        batchesSent.increment();
+                        requestsSent.add(batch.getRequests().size());
+                        sendMillis.add(System.currentTimeMillis() - start);
+                        return;
+                    }
+                } catch (Exception e) {
+                    logger.debug("Replication batch {} to server {} failed: {}", batch.getBatchSeq(), peerId, e.getMessage());
+                }
+                try {
+                    Thread.sleep(100L << attempt);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+
+            failedBatches.increment();
+            restart(batch.getStreamEpoch());
+            logger.warn("Gave up on replication batch {} ({} operations) to server {}",
+                batch.getBatchSeq(), batch.getRequests().size(), peerId);
+        }
+
+        private synchronized void acknowledge(ReplicationBatch batch) {
+            for (ReplicationRequest request : batch.getRequests()) {
+                ackedThrough = Math.max(ackedThrough, request.getSequence());
+            }
+        }
+
+        // Later batches of the failed epoch can never be applied in order, so start over
+        private synchronized void restart(long failedEpoch) {
+            if (epoch == failedEpoch) {
+                epoch = Math.max(System.currentTimeMillis(), epoch + 1);
+                nextSeq = 1;
+            }
+        }
+
+        synchronized Map<String, Object> getStatistics() {
+            Map<String, Object> stats = new HashMap<>();
+            long batches = batchesSent.sum();
+            stats.put("queued", queue.size());
+            stats.put("inFlight", maxInFlight - inFlight.availablePermits());
+            stats.put("epoch", epoch);
+            stats.put("nextSeq", nextSeq);
+            stats.put("batchesSent", batches);
+            stats.put("requestsSent", requestsSent.sum());
+            stats.put("avgBatchSize", batches > 0 ? (double) requestsSent.sum() / batches : 0.0);
+            stats.put("avgSendMillis", batches > 0 ? (double) sendMillis.sum() / batches : 0.0);
+            stats.put("failedBatches", failedBatches.sum());
+            stats.put("dropped", dropped.sum());
+            stats.put("ackedThrough", ackedThrough);
+            // Log entries the peer has not accepted yet (queued, in flight or lost)
+            stats.put("lag", ackedThrough > 0 ? replicationLog.getHead() - ackedThrough : queue.size());
+            return stats;
+        }
+    }
+}
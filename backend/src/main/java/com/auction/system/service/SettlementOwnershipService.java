@@ -0,0 +1,79 @@
+package com.auction.system.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.TreeSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Decides which node settles an expiring auction.
+ *
+ * Ownership is assigned by rendezvous hashing over the live cluster members (this
+ * node plus the peers currently passing health checks), so each auction has one
+ * owner and only the auctions of a dropped peer move when membership changes.
+ * Membership views can briefly disagree between nodes; the conditional status
+ * update in settlement keeps the outcome exactly-once, and non-owners take over
+ * after a grace period in case the owner never settles.
+ */
+@Service
+public class SettlementOwnershipService {
+
+    @Value("${app.auction.settlement.takeover-grace-ms:5000}")
+    private long takeoverGraceMs;
+
+    @Autowired
+    private DistributedCoordinatorService coordinatorService;
+
+    /**
+     * Live members used for ownership, including this node
+     */
+    public Set<Integer> getLiveMembers() {
+        Set<Integer> members = new TreeSet<>(coordinatorService.getPeerServices().keySet());
+        members.add(coordinatorService.getServerId());
+        return members;
+    }
+
+    /**
+     * Node that should settle the given auction
+     */
+    public int ownerOf(UUID auctionId) {
+        int owner = coordinatorService.getServerId();
+        long bestScore = Long.MIN_VALUE;
+        for (int member : getLiveMembers()) {
+            long score = score(auctionId, member);
+            if (score > bestScore || (score == bestScore && member < owner)) {
+                bestScore = score;
+                owner = member;
+            }
+        }
+        return owner;
+    }
+
+    public boolean isLocalOwner(UUID auctionId) {
+        return ownerOf(auctionId) == coordinatorService.getServerId();
+    }
+
+    /**
+     * How long a non-owner waits past the end time before settling itself
+     */
+    public long getTakeoverGraceMs() {
+        return takeoverGraceMs;
+    }
+
+    private static long score(UUID auctionId, int serverId) {
+        return mix(auctionId.getMostSignificantBits() ^ mix(auctionId.getLeastSignificantBits() + serverId));
+    }
+
+    // 64-bit finalizer from MurmurHash3
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb93fe53a87c3L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
@@ -0,0 +1,79 @@
+package com.auction.system.service;
+
+import com.auction.system.model.Auction;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Anti-sniping soft close: a bid accepted within the last window of an auction
+ * pushes its end time out by a fixed extension.
+ *
+ * Disabled unless app.auction.soft-close.enabled is set. The extension count is
+ * stored on the auction row, so max-extensions holds across restarts; the copy kept
+ * here only feeds broadcasts and the admin view, and is refreshed from committed bids
+ * and the counts carried on replicated ones.
+ */
+@Service
+public class SoftClosePolicy {
+
+    @Value("${app.auction.soft-close.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.auction.soft-close.window-seconds:60}")
+    private long windowSeconds;
+
+    @Value("${app.auction.soft-close.extension-seconds:60}")
+    private long extensionSeconds;
+
+    @Value("${app.auction.soft-close.max-extensions:0}")
+    private int maxExtensions; // 0 = unlimited
+
+    private final Map<UUID, Integer> extensionCounts = new ConcurrentHashMap<>();
+
+    /**
+     * New end time if a bid at bidTime on the loaded auction row triggers an extension,
+     * otherwise null. The caller bumps the row's extension count in the same transaction.
+     */
+    public LocalDateTime extendedEndTime(Auction auction, LocalDateTime bidTime) {
+        LocalDateTime endTime = auction.getEndTime();
+        if (!enabled || endTime == null || bidTime.isBefore(endTime.minusSeconds(windowSeconds))) {
+            return null;
+        }
+        if (maxExtensions > 0 && auction.getExtensionCount() >= maxExtensions) {
+            return null;
+        }
+        return endTime.plusSeconds(extensionSeconds);
+    }
+
+    /**
+     * Record a committed extension count, local or from a peer (counts only move forward)
+     */
+    public void applyExtensionCount(UUID auctionId, int count) {
+        extensionCounts.merge(auctionId, count, Math::max);
+    }
+
+    public int getExtensionCount(UUID auctionId) {
+        return extensionCounts.getOrDefault(auctionId, 0);
+    }
+
+    public Map<UUID, Integer> getExtensionCounts() {
+        return new HashMap<>(extensionCounts);
+    }
+
+    /**
+     * Drop the counter once an auction is settled
+     */
+    public void clear(UUID auctionId) {
+        extensionCounts.remove(auctionId);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+}
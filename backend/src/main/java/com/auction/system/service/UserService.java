@@ -1,5 +1,7 @@
 package com.auction.system.service;
 
+import com.auction.system.dto.UserBidSummary;
+import com.auction.system.model.Auction;
 import com.auction.system.model.User;
 import com.auction.system.repository.UserRepository;
 import com.auction.system.repository.AuctionRepository;
@@ -7,10 +9,14 @@ import com.auction.system.repository.BidRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -23,6 +29,8 @@ public class UserService {
     
     private static final Logger logger = LoggerFactory.getLogger(UserService.class);
     
+    private static final int MAX_DASHBOARD_PAGE_SIZE = 100;
+    
     @Autowired
     private UserRepository userRepository;
     
@@ -32,6 +40,9 @@ public class UserService {
     @Autowired
     private BidRepository bidRepository;
     
+    @Autowired
+    private AdminDashboardService adminDashboardService;
+    
     /**
      * Register a new user
      */
@@ -57,6 +68,7 @@ public class UserService {
             user.setUpdatedAt(LocalDateTime.now());
             
             User savedUser = userRepository.save(user);
+            adminDashboardService.recordUserRegistered();
             logger.info("User registered successfully: {}", username);
             return savedUser;
             
@@ -202,6 +214,7 @@ public class UserService {
             }
             
             userRepository.delete(user);
+            adminDashboardService.recordUserDeleted();
             logger.info("User deleted successfully: {}", user.getUsername());
             return true;
             
@@ -283,6 +296,54 @@ public class UserService {
         }
     }
     
+    /**
+     * Get selling, bidding and won auctions for a user in one call.
+     * Each section is paged independently; bidding is one row per auction with the user's top bid.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> getUserDashboard(String userId, int sellingPage, int biddingPage, int wonPage, int size) {
+        try {
+            UUID id = UUID.fromString(userId);
+            int pageSize = Math.max(1, Math.min(size, MAX_DASHBOARD_PAGE_SIZE));
+            
+            Page<Auction> selling = auctionRepository.findBySellerIdOrderByCreatedAtDesc(
+                id, PageRequest.of(Math.max(0, sellingPage), pageSize));
+            Page<UserBidSummary> bidding = bidRepository.summarizeBidsByBidder(
+                id, PageRequest.of(Math.max(0, biddingPage), pageSize));
+            Page<Auction> won = auctionRepository.findByWinnerIdOrderByEndTimeDesc(
+                id, PageRequest.of(Math.max(0, wonPage), pageSize));
+            
+            Object[] bidTotals = bidRepository.totalsForBidder(id).get(0);
+            Map<String, Object> totals = new HashMap<>();
+            totals.put("auctionsSelling", selling.getTotalElements());
+            totals.put("auctionsBidOn", bidding.getTotalElements());
+            totals.put("auctionsWon", won.getTotalElements());
+            totals.put("bidsPlaced", ((Number) bidTotals[0]).longValue());
+            totals.put("totalBidAmount", (BigDecimal) bidTotals[1]);
+            
+            Map<String, Object> dashboard = new HashMap<>();
+            dashboard.put("selling", toSection(selling));
+            dashboard.put("bidding", toSection(bidding));
+            dashboard.put("won", toSection(won));
+            dashboard.put("totals", totals);
+            return dashboard;
+            
+        } catch (Exception e) {
+            logger.error("Failed to get user dashboard: {}", userId, e);
+            throw new RuntimeException("Failed to get user dashboard", e);
+        }
+    }
+    
+    private Map<String, Object> toSection(Page<?> page) {
+        Map<String, Object> section = new HashMap<>();
+        section.put("content", page.getContent());
+        section.put("page", page.getNumber());
+        section.put("size", page.getSize());
+        section.put("totalElements", page.getTotalElements());
+        section.put("totalPages", page.getTotalPages());
+        return section;
+    }
+    
     /**
      * Hash password (simple implementation - in production use BCrypt)
      */
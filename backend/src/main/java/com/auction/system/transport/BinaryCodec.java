@@ -0,0 +1,315 @@
+package com.auction.system.transport;
+
+import com.auction.system.rmi.CoordinatorService.BidRequest;
+import com.auction.system.rmi.CoordinatorService.BidResponse;
+import com.auction.system.rmi.CoordinatorService.ClockSyncResponse;
+import com.auction.system.rmi.CoordinatorService.ElectionToken;
+import com.auction.system.rmi.CoordinatorService.HeartbeatResponse;
+import com.auction.system.rmi.CoordinatorService.Operation;
+import com.auction.system.rmi.CoordinatorService.ReplicationBatch;
+import com.auction.system.rmi.CoordinatorService.ReplicationRequest;
+import com.auction.system.rmi.CoordinatorService.ServerStatus;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Tagged binary encoding for coordinator call arguments and results.
+ *
+ * The coordinator DTOs, common scalars, maps and lists have compact fixed encodings;
+ * anything else falls back to Java serialization so no call can fail to encode. The
+ * port is reachable by anything on the network, so serialized values are only read
+ * back if they consist of the coordinator DTOs and plain JDK value types, and no
+ * length or element count on the wire is trusted beyond the bytes left in the frame.
+ */
+final class BinaryCodec {
+
+    private static final ObjectInputFilter SERIALIZED_FILTER = ObjectInputFilter.Config.createFilter(
+        "maxdepth=20;maxrefs=10000;maxarray=100000;"
+        + "com.auction.system.rmi.CoordinatorService$*;"
+        + "java.lang.String;java.lang.Number;java.lang.Integer;java.lang.Long;java.lang.Short;java.lang.Byte;"
+        + "java.lang.Double;java.lang.Float;java.lang.Boolean;java.lang.Character;java.lang.Enum;"
+        + "java.math.BigDecimal;java.math.BigInteger;java.time.*;java.util.UUID;"
+        + "java.util.HashMap;java.util.LinkedHashMap;java.util.ArrayList;"
+        + "!*");
+
+    private static final byte NULL = 0;
+    private static final byte STRING = 1;
+    private static final byte INT = 2;
+    private static final byte LONG = 3;
+    private static final byte DOUBLE = 4;
+    private static final byte BOOLEAN = 5;
+    private static final byte DECIMAL = 6;
+    private static final byte UUID_VALUE = 7;
+    private static final byte DATE_TIME = 8;
+    private static final byte MAP = 9;
+    private static final byte LIST = 10;
+    private static final byte BID_REQUEST = 11;
+    private static final byte BID_RESPONSE = 12;
+    private static final byte OPERATION = 13;
+    private static final byte CLOCK_SYNC_RESPONSE = 14;
+    private static final byte HEARTBEAT_RESPONSE = 15;
+    private static final byte ELECTION_TOKEN = 16;
+    private static final byte REPLICATION_REQUEST = 17;
+    private static final byte SERVER_STATUS = 18;
+    private static final byte REPLICATION_BATCH = 19;
+    private static final byte SERIALIZED = 127;
+
+    // Nested maps and lists deeper than this are refused rather than recursed into
+    private static final int MAX_DEPTH = 32;
+
+    private BinaryCodec() {}
+
+    static byte[] encode(Object[] values) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        DataOutputStream out = new DataOutputStream(bytes);
+        int count = values != null ? values.length : 0;
+        out.writeByte(count);
+        for (int i = 0; i < count; i++) {
+            write(out, values[i]);
+        }
+        return bytes.toByteArray();
+    }
+
+    static Object[] decode(byte[] data, int offset, int length) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(data, offset, length));
+        Object[] values = new Object[in.readUnsignedByte()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = read(in, 0);
+        }
+        return values;
+    }
+
+    private static void write(DataOutputStream out, Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(NULL);
+        } else if (value instanceof String s) {
+            out.writeByte(STRING);
+            writeString(out, s);
+        } else if (value instanceof Integer i) {
+            out.writeByte(INT);
+            out.writeInt(i);
+        } else if (value instanceof Long l) {
+            out.writeByte(LONG);
+            out.writeLong(l);
+        } else if (value instanceof Double d) {
+            out.writeByte(DOUBLE);
+            out.writeDouble(d);
+        } else if (value instanceof Boolean b) {
+            out.writeByte(BOOLEAN);
+            out.writeBoolean(b);
+        } else if (value instanceof BigDecimal d) {
+            out.writeByte(DECIMAL);
+            writeString(out, d.toPlainString());
+        } else if (value instanceof UUID u) {
+            out.writeByte(UUID_VALUE);
+            out.writeLong(u.getMostSignificantBits());
+            out.writeLong(u.getLeastSignificantBits());
+        } else if (value instanceof LocalDateTime t) {
+            out.writeByte(DATE_TIME);
+            writeString(out, t.toString());
+        } else if (value instanceof Map<?, ?> map) {
+            out.writeByte(MAP);
+            out.writeInt(map.size());
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                write(out, entry.getKey());
+                write(out, entry.getValue());
+            }
+        } else if (value instanceof List<?> list) {
+            out.writeByte(LIST);
+            out.writeInt(list.size());
+            for (Object item : list) {
+                write(out, item);
+            }
+        } else if (value instanceof BidRequest r) {
+            out.writeByte(BID_REQUEST);
+            write(out, r.getAuctionId());
+            write(out, r.getBidderId());
+            out.writeDouble(r.getAmount());
+            out.writeInt(r.getLogicalTimestamp());
+            out.writeInt(r.getServerId());
+        } else if (value instanceof BidResponse r) {
+            out.writeByte(BID_RESPONSE);
+            out.writeBoolean(r.isSuccess());
+            write(out, r.getMessage());
+            out.writeInt(r.getLogicalTimestamp());
+        } else if (value instanceof Operation o) {
+            out.writeByte(OPERATION);
+            write(out, o.getType());
+            write(out, o.getTable());
+            write(out, o.getRecordId());
+            write(out, o.getData());
+        } else if (value instanceof ClockSyncResponse r) {
+            out.writeByte(CLOCK_SYNC_RESPONSE);
+            out.writeInt(r.getAdjustedTime());
+            out.writeBoolean(r.isSuccess());
+        } else if (value instanceof HeartbeatResponse r) {
+            out.writeByte(HEARTBEAT_RESPONSE);
+            out.writeBoolean(r.isAlive());
+            out.writeInt(r.getLogicalClock());
+            out.writeBoolean(r.isCoordinator());
+        } else if (value instanceof ElectionToken t) {
+            out.writeByte(ELECTION_TOKEN);
+            out.writeInt(t.getCandidateId());
+            write(out, t.getParticipants());
+            out.writeBoolean(t.isActive());
+        } else if (value instanceof ReplicationRequest r) {
+            out.writeByte(REPLICATION_REQUEST);
+            write(out, r.getOperationId());
+            write(out, r.getOperationType());
+            write(out, r.getTableName());
+            write(out, r.getRecordId());
+            write(out, r.getData());
+            out.writeInt(r.getLogicalTimestamp());
+            out.writeLong(r.getSequence());
+        } else if (value instanceof ServerStatus s) {
+            out.writeByte(SERVER_STATUS);
+            out.writeInt(s.getServerId());
+            out.writeBoolean(s.isCoordinator());
+            out.writeInt(s.getLogicalClock());
+            out.writeBoolean(s.isHealthy());
+            out.writeLong(s.getUptime());
+            out.writeInt(s.getActiveConnections());
+        } else if (value instanceof ReplicationBatch b) {
+            out.writeByte(REPLICATION_BATCH);
+            out.writeInt(b.getOriginServerId());
+            out.writeLong(b.getStreamEpoch());
+            out.writeLong(b.getBatchSeq());
+            write(out, b.getRequests());
+        } else if (value instanceof Serializable) {
+            out.writeByte(SERIALIZED);
+            ByteArrayOutputStream serialized = new ByteArrayOutputStream();
+            try (ObjectOutputStream objects = new ObjectOutputStream(serialized)) {
+                objects.writeObject(value);
+            }
+            out.writeInt(serialized.size());
+            serialized.writeTo(out);
+        } else {
+            throw new IOException("Cannot encode " + value.getClass().getName());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object read(DataInputStream in, int depth) throws IOException {
+        if (depth > MAX_DEPTH) {
+            throw new IOException("Value nested deeper than " + MAX_DEPTH);
+        }
+        byte tag = in.readByte();
+        switch (tag) {
+            case NULL:
+                return null;
+            case STRING:
+                return readString(in);
+            case INT:
+                return in.readInt();
+            case LONG:
+                return in.readLong();
+            case DOUBLE:
+                return in.readDouble();
+            case BOOLEAN:
+                return in.readBoolean();
+            case DECIMAL:
+                return new BigDecimal(readString(in));
+            case UUID_VALUE:
+                return new UUID(in.readLong(), in.readLong());
+            case DATE_TIME:
+                return LocalDateTime.parse(readString(in));
+            case MAP: {
+                // Every entry takes at least a key tag and a value tag
+                int size = readLength(in, 2);
+                Map<Object, Object> map = new HashMap<>();
+                for (int i = 0; i < size; i++) {
+                    map.put(read(in, depth + 1), read(in, depth + 1));
+                }
+                return map;
+            }
+            case LIST: {
+                int size = readLength(in, 1);
+                List<Object> list = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    list.add(read(in, depth + 1));
+                }
+                return list;
+            }
+            case BID_REQUEST:
+                return new BidRequest((String) read(in, depth + 1), (String) read(in, depth + 1),
+                    in.readDouble(), in.readInt(), in.readInt());
+            case BID_RESPONSE:
+                return new BidResponse(in.readBoolean(), (String) read(in, depth + 1), in.readInt());
+            case OPERATION:
+                return new Operation((String) read(in, depth + 1), (String) read(in, depth + 1),
+                    (String) read(in, depth + 1), (Map<String, Object>) read(in, depth + 1));
+            case CLOCK_SYNC_RESPONSE:
+                return new ClockSyncResponse(in.readInt(), in.readBoolean());
+            case HEARTBEAT_RESPONSE:
+                return new HeartbeatResponse(in.readBoolean(), in.readInt(), in.readBoolean());
+            case ELECTION_TOKEN:
+                return new ElectionToken(in.readInt(), (List<Integer>) read(in, depth + 1), in.readBoolean());
+            case REPLICATION_REQUEST: {
+                ReplicationRequest request = new ReplicationRequest((String) read(in, depth + 1),
+                    (String) read(in, depth + 1), (String) read(in, depth + 1), (String) read(in, depth + 1),
+                    (Map<String, Object>) read(in, depth + 1), in.readInt());
+                request.setSequence(in.readLong());
+                return request;
+            }
+            case SERVER_STATUS:
+                return new ServerStatus(in.readInt(), in.readBoolean(), in.readInt(), in.readBoolean(),
+                    in.readLong(), in.readInt());
+            case REPLICATION_BATCH:
+                return new ReplicationBatch(in.readInt(), in.readLong(), in.readLong(),
+                    (List<ReplicationRequest>) read(in, depth + 1));
+            case SERIALIZED: {
+                byte[] serialized = new byte[readLength(in, 1)];
+                in.readFully(serialized);
+                try (ObjectInputStream objects = new ObjectInputStream(new ByteArrayInputStream(serialized))) {
+                    objects.setObjectInputFilter(SERIALIZED_FILTER);
+                    return objects.readObject();
+                } catch (ClassNotFoundException e) {
+                    throw new IOException("Unknown class in frame", e);
+                }
+            }
+            default:
+                throw new IOException("Unknown value tag " + tag);
+        }
+    }
+
+    /**
+     * Read a length or element count, refusing any that the rest of the frame could not
+     * hold at bytesPerItem each
+     */
+    private static int readLength(DataInputStream in, int bytesPerItem) throws IOException {
+        int length = in.readInt();
+        int remaining = in.available();
+        if (length < 0 || (long) length * bytesPerItem > remaining) {
+            throw new IOException("Length " + length + " exceeds the " + remaining + " bytes left in the frame");
+        }
+        return length;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(utf8.length);
+        out.write(utf8);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] utf8 = new byte[readLength(in, 1)];
+        in.readFully(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+}
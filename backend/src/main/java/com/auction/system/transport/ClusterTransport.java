@@ -0,0 +1,41 @@
+package com.auction.system.transport;
+
+import com.auction.system.rmi.CoordinatorService;
+
+import java.util.Map;
+
+/**
+ * How coordinator calls travel between auction servers.
+ *
+ * The local CoordinatorService is exposed through {@link #start}, and each peer is
+ * reached through the CoordinatorService returned by {@link #connect}, so callers
+ * keep programming against CoordinatorService whichever transport is configured
+ * (app.cluster.transport.type: rmi or nio).
+ */
+public interface ClusterTransport {
+
+    /**
+     * Short name of the transport, for status output
+     */
+    String getName();
+
+    /**
+     * Start accepting calls for the local service on the given (RMI-numbered) port
+     */
+    void start(CoordinatorService localService, int port) throws Exception;
+
+    /**
+     * Connect to a peer listening on the given (RMI-numbered) port
+     */
+    CoordinatorService connect(String host, int port) throws Exception;
+
+    /**
+     * Stop accepting calls and close peer connections
+     */
+    void shutdown();
+
+    /**
+     * Call counters and latency for monitoring
+     */
+    Map<String, Object> getStatistics();
+}
@@ -0,0 +1,553 @@
+package com.auction.system.transport;
+
+import com.auction.system.rmi.CoordinatorService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.Channel;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.rmi.RemoteException;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Binary transport over java.nio socket channels.
+ *
+ * Each peer gets one connection that carries any number of concurrent calls. Frames
+ * are length-prefixed: [int length][long requestId][byte kind][byte method][payload],
+ * with arguments and results in {@link BinaryCodec}. Responses are matched to callers
+ * by request id, so a slow call does not hold up the others on the connection.
+ * Listens on the RMI port plus app.cluster.transport.nio-port-offset.
+ *
+ * All sockets are non-blocking and serviced by one selector thread, which accepts,
+ * reads and frames, completes waiting callers, and finishes writes that did not go
+ * out in one go. Incoming calls run on a bounded worker pool; when it is full the
+ * call is answered with an error straight away.
+ */
+@Component
+@ConditionalOnProperty(name = "app.cluster.transport.type", havingValue = "nio")
+public class NioClusterTransport implements ClusterTransport {
+
+    private static final Logger logger = LoggerFactory.getLogger(NioClusterTransport.class);
+
+    private static final byte REQUEST = 0;
+    private static final byte RESPONSE = 1;
+    private static final byte ERROR = 2;
+
+    private static final int HEADER_BYTES = 8 + 1 + 1;
+    private static final int MAX_FRAME_BYTES = 16 * 1024 * 1024;
+    private static final int INITIAL_READ_BUFFER_BYTES = 64 * 1024;
+
+    // Both sides number the interface methods the same way
+    private static final Method[] METHODS = Arrays.stream(CoordinatorService.class.getMethods())
+        .sorted(Comparator.comparing(Method::getName))
+        .toArray(Method[]::new);
+    private static final Map<Method, Integer> METHOD_INDEX = new HashMap<>();
+
+    static {
+        for (int i = 0; i < METHODS.length; i++) {
+            METHOD_INDEX.put(METHODS[i], i);
+        }
+    }
+
+    @Value("${app.cluster.transport.nio-port-offset:1000}")
+    private int portOffset;
+
+    @Value("${app.cluster.transport.timeout-ms:5000}")
+    private long timeoutMs;
+
+    @Value("${app.cluster.transport.nio-worker-threads:8}")
+    private int workerThreads;
+
+    @Value("${app.cluster.transport.nio-worker-queue:1000}")
+    private int workerQueueCapacity;
+
+    private volatile boolean running;
+    private volatile Selector selector;
+    private ThreadPoolExecutor workers;
+    private ServerSocketChannel serverChannel;
+    private CoordinatorService localService;
+
+    private final Set<Connection> inbound = ConcurrentHashMap.newKeySet();
+    private final Map<InetSocketAddress, PeerConnection> outbound = new ConcurrentHashMap<>();
+
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder served = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder totalLatencyMicros = new LongAdder();
+    private final AtomicLong maxLatencyMicros = new AtomicLong();
+
+    @Override
+    public String getName() {
+        return "nio";
+    }
+
+    @Override
+    public void start(CoordinatorService localService, int port) throws Exception {
+        this.localService = localService;
+        int listenPort = port + portOffset;
+        Selector loop = ensureStarted();
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.setOption(StandardSocketOptions.SO_REUSEADDR, true);
+        serverChannel.bind(new InetSocketAddress(listenPort));
+        serverChannel.configureBlocking(false);
+        serverChannel.register(loop, SelectionKey.OP_ACCEPT);
+        loop.wakeup();
+        logger.info("NIO CoordinatorService listening on port {}", listenPort);
+    }
+
+    @Override
+    public CoordinatorService connect(String host, int port) throws Exception {
+        ensureStarted();
+        PeerConnection connection = new PeerConnection(host, port + portOffset);
+        connection.ensureOpen();
+        // A reconnect replaces the peer's connection; stubs still holding the old one fail fast
+        PeerConnection previous = outbound.put(connection.address, connection);
+        if (previous != null) {
+            previous.close();
+        }
+        return (CoordinatorService) Proxy.newProxyInstance(CoordinatorService.class.getClassLoader(),
+            new Class<?>[]{CoordinatorService.class}, (proxy, method, args) -> {
+                if (method.getDeclaringClass() == Object.class) {
+                    return switch (method.getName()) {
+                        case "equals" -> proxy == args[0];
+                        case "hashCode" -> System.identityHashCode(proxy);
+                        default -> "CoordinatorService[nio " + connection.address + "]";
+                    };
+                }
+                return connection.call(METHOD_INDEX.get(method), args);
+            });
+    }
+
+    @Override
+    public void shutdown() {
+        running = false;
+        closeQuietly(serverChannel);
+        inbound.forEach(Connection::close);
+        outbound.values().forEach(PeerConnection::close);
+        Selector loop = selector;
+        if (loop != null) {
+            try {
+                loop.close();
+            } catch (IOException ignored) {
+            }
+        }
+        if (workers != null) {
+            workers.shutdownNow();
+        }
+    }
+
+    @Override
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new HashMap<>();
+        long completed = calls.sum();
+        stats.put("transport", getName());
+        stats.put("calls", completed);
+        stats.put("failures", failures.sum());
+        stats.put("served", served.sum());
+        stats.put("rejected", rejected.sum());
+        stats.put("workerQueue", workers != null ? workers.getQueue().size() : 0);
+        stats.put("inFlight", outbound.values().stream().mapToInt(PeerConnection::inFlight).sum());
+        stats.put("peerConnections", outbound.size());
+        stats.put("inboundConnections", inbound.size());
+        stats.put("avgLatencyMicros", completed > 0 ? totalLatencyMicros.sum() / completed : 0);
+        stats.put("maxLatencyMicros", maxLatencyMicros.get());
+        return stats;
+    }
+
+    /**
+     * Open the selector and worker pool on first use, whether listening or connecting
+     */
+    private synchronized Selector ensureStarted() throws IOException {
+        if (selector == null) {
+            AtomicInteger workerCount = new AtomicInteger();
+            workers = new ThreadPoolExecutor(workerThreads, workerThreads, 0, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(workerQueueCapacity), r -> {
+                    Thread thread = new Thread(r, "nio-cluster-worker-" + workerCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            selector = Selector.open();
+            running = true;
+            Thread selectorThread = new Thread(this::selectLoop, "nio-cluster-selector");
+            selectorThread.setDaemon(true);
+            selectorThread.start();
+        }
+        return selector;
+    }
+
+    private void selectLoop() {
+        Selector loop = selector;
+        while (running) {
+            try {
+                loop.select();
+                Iterator<SelectionKey> keys = loop.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (key.isValid() && key.isAcceptable()) {
+                        accept();
+                    } else if (key.attachment() instanceof Connection connection) {
+                        try {
+                            if (key.isReadable()) {
+                                connection.onReadable();
+                            }
+                            if (key.isValid() && key.isWritable()) {
+                                connection.onWritable();
+                            }
+                        } catch (IOException | CancelledKeyException e) {
+                            logger.debug("Cluster connection {} closed: {}", connection.remote, e.getMessage());
+                            connection.close();
+                        }
+                    }
+                }
+            } catch (ClosedSelectorException e) {
+                return;
+            } catch (IOException e) {
+                if (running) {
+                    logger.warn("Cluster selector failed: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void accept() {
+        try {
+            SocketChannel channel;
+            while ((channel = serverChannel.accept()) != null) {
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                inbound.add(register(channel, true));
+            }
+        } catch (IOException e) {
+            if (running) {
+                logger.warn("Failed to accept cluster connection: {}", e.getMessage());
+            }
+        }
+    }
+
+    private Connection register(SocketChannel channel, boolean isInbound) throws IOException {
+        channel.configureBlocking(false);
+        Connection connection = new Connection(channel, isInbound);
+        connection.key = channel.register(selector, SelectionKey.OP_READ, connection);
+        selector.wakeup();
+        return connection;
+    }
+
+    /**
+     * Hand a request to a worker, answering at once if none can take it
+     */
+    private void dispatchRequest(Connection connection, Frame frame) {
+        try {
+            workers.execute(() -> connection.sendQuietly(serve(frame)));
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            connection.sendQuietly(errorFrame(frame, "Server busy"));
+        }
+    }
+
+    private Frame serve(Frame frame) {
+        Frame reply;
+        try {
+            Object[] args = BinaryCodec.decode(frame.payload, 0, frame.payload.length);
+            Object result = METHODS[frame.method].invoke(localService, args);
+            reply = new Frame(frame.requestId, RESPONSE, frame.method, BinaryCodec.encode(new Object[]{result}));
+        } catch (Exception e) {
+            Throwable cause = e instanceof InvocationTargetException ? e.getCause() : e;
+            reply = errorFrame(frame, cause.getClass().getSimpleName() + ": " + cause.getMessage());
+        }
+        served.increment();
+        return reply;
+    }
+
+    private static Frame errorFrame(Frame request, String message) {
+        return new Frame(request.requestId, ERROR, request.method, message.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static ByteBuffer encodeFrame(Frame frame) {
+        ByteBuffer buffer = ByteBuffer.allocate(4 + HEADER_BYTES + frame.payload.length);
+        buffer.putInt(HEADER_BYTES + frame.payload.length)
+            .putLong(frame.requestId)
+            .put(frame.kind)
+            .put((byte) frame.method)
+            .put(frame.payload)
+            .flip();
+        return buffer;
+    }
+
+    private void recordLatency(long startNanos) {
+        long micros = (System.nanoTime() - startNanos) / 1000;
+        calls.increment();
+        totalLatencyMicros.add(micros);
+        maxLatencyMicros.accumulateAndGet(micros, Math::max);
+    }
+
+    private static void closeQuietly(Channel channel) {
+        try {
+            if (channel != null) {
+                channel.close();
+            }
+        } catch (IOException ignored) {
+        }
+    }
+
+    private record Frame(long requestId, byte kind, int method, byte[] payload) {}
+
+    /**
+     * One non-blocking socket: frames read off it by the selector thread, frames written
+     * by whichever thread sends, and (outbound) the calls waiting for a response
+     */
+    private class Connection {
+        private final SocketChannel channel;
+        private final boolean isInbound;
+        private final Object remote;
+        private final Map<Long, CompletableFuture<Frame>> pending = new ConcurrentHashMap<>();
+        // Frames not yet fully written, oldest first; also serves as the write lock
+        private final Deque<ByteBuffer> writes = new ArrayDeque<>();
+        // Only touched by the selector thread
+        private ByteBuffer readBuffer = ByteBuffer.allocate(INITIAL_READ_BUFFER_BYTES);
+        private volatile SelectionKey key;
+
+        Connection(SocketChannel channel, boolean isInbound) throws IOException {
+            this.channel = channel;
+            this.isInbound = isInbound;
+            this.remote = channel.getRemoteAddress();
+        }
+
+        /**
+         * Write a frame now if the socket takes it, otherwise queue the rest for the selector
+         */
+        void send(Frame frame) throws IOException {
+            ByteBuffer buffer = encodeFrame(frame);
+            synchronized (writes) {
+                if (!channel.isOpen()) {
+                    throw new ClosedChannelException();
+                }
+                // Frames from concurrent senders must not interleave on the wire
+                if (writes.isEmpty()) {
+                    channel.write(buffer);
+                    if (!buffer.hasRemaining()) {
+                        return;
+                    }
+                }
+                writes.add(buffer);
+                try {
+                    key.interestOpsOr(SelectionKey.OP_WRITE);
+                } catch (CancelledKeyException e) {
+                    throw new ClosedChannelException();
+                }
+            }
+            selector.wakeup();
+        }
+
+        void sendQuietly(Frame frame) {
+            try {
+                send(frame);
+            } catch (IOException e) {
+                close();
+            }
+        }
+
+        void onWritable() throws IOException {
+            synchronized (writes) {
+                ByteBuffer head;
+                while ((head = writes.peek()) != null) {
+                    channel.write(head);
+                    if (head.hasRemaining()) {
+                        return;
+                    }
+                    writes.poll();
+                }
+                key.interestOpsAnd(~SelectionKey.OP_WRITE);
+            }
+        }
+
+        void onReadable() throws IOException {
+            if (channel.read(readBuffer) < 0) {
+                throw new EOFException("Connection closed");
+            }
+            readBuffer.flip();
+            while (readBuffer.remaining() >= 4) {
+                int length = readBuffer.getInt(readBuffer.position());
+                if (length < HEADER_BYTES || length > MAX_FRAME_BYTES) {
+                    throw new IOException("Bad frame length " + length);
+                }
+                if (readBuffer.remaining() < 4 + length) {
+                    if (readBuffer.capacity() < 4 + length) {
+                        // Make room for the whole frame, keeping what has arrived of it
+                        ByteBuffer larger = ByteBuffer.allocate(4 + length);
+                        larger.put(readBuffer);
+                        readBuffer = larger;
+                        return;
+                    }
+                    break;
+                }
+                readBuffer.getInt();
+                long requestId = readBuffer.getLong();
+                byte kind = readBuffer.get();
+                int method = Byte.toUnsignedInt(readBuffer.get());
+                byte[] payload = new byte[length - HEADER_BYTES];
+                readBuffer.get(payload);
+                onFrame(new Frame(requestId, kind, method, payload));
+            }
+            readBuffer.compact();
+            if (readBuffer.position() == 0 && readBuffer.capacity() > INITIAL_READ_BUFFER_BYTES) {
+                // Done with a large frame; don't hold on to its buffer
+                readBuffer = ByteBuffer.allocate(INITIAL_READ_BUFFER_BYTES);
+            }
+        }
+
+        private void onFrame(Frame frame) {
+            if (isInbound) {
+                if (frame.kind == REQUEST) {
+                    dispatchRequest(this, frame);
+                }
+                return;
+            }
+            CompletableFuture<Frame> waiting = pending.get(frame.requestId);
+            if (waiting != null) {
+                waiting.complete(frame);
+            }
+        }
+
+        boolean isOpen() {
+            return channel.isOpen();
+        }
+
+        void close() {
+            closeQuietly(channel);
+            SelectionKey current = key;
+            if (current != null) {
+                current.cancel();
+            }
+            if (isInbound) {
+                inbound.remove(this);
+            }
+            // Callers on this socket fail now rather than waiting out the timeout
+            IOException closed = new ClosedChannelException();
+            pending.values().forEach(future -> future.completeExceptionally(closed));
+        }
+    }
+
+    /**
+     * One multiplexed connection to a peer, reopened on the next call after a failure
+     * until it is replaced by a newer connection to the same peer
+     */
+    private class PeerConnection {
+        private final InetSocketAddress address;
+        private final AtomicLong nextRequestId = new AtomicLong();
+        private volatile Connection link;
+        private volatile boolean retired;
+
+        PeerConnection(String host, int port) {
+            this.address = new InetSocketAddress(host, port);
+        }
+
+        synchronized Connection ensureOpen() throws IOException {
+            if (retired) {
+                throw new ClosedChannelException();
+            }
+            Connection current = link;
+            if (current != null && current.isOpen()) {
+                return current;
+            }
+            // Connect blocking on the caller's thread, then hand the socket to the selector
+            SocketChannel opened = SocketChannel.open(address);
+            try {
+                opened.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                link = register(opened, false);
+            } catch (IOException e) {
+                closeQuietly(opened);
+                throw e;
+            }
+            return link;
+        }
+
+        Object call(int method, Object[] args) throws RemoteException {
+            long start = System.nanoTime();
+            long requestId = nextRequestId.incrementAndGet();
+            CompletableFuture<Frame> response = new CompletableFuture<>();
+            Connection current = null;
+            try {
+                current = ensureOpen();
+                current.pending.put(requestId, response);
+                current.send(new Frame(requestId, REQUEST, method, BinaryCodec.encode(args)));
+                Frame reply = response.get(timeoutMs, TimeUnit.MILLISECONDS);
+                if (reply.kind == ERROR) {
+                    throw new RemoteException("Remote call failed: " + new String(reply.payload, StandardCharsets.UTF_8));
+                }
+                Object result = BinaryCodec.decode(reply.payload, 0, reply.payload.length)[0];
+                recordLatency(start);
+                return result;
+            } catch (RemoteException e) {
+                failures.increment();
+                throw e;
+            } catch (TimeoutException e) {
+                failures.increment();
+                throw new RemoteException("Call to " + address + " timed out after " + timeoutMs + "ms");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failures.increment();
+                throw new RemoteException("Interrupted calling " + address);
+            } catch (IOException | ExecutionException e) {
+                failures.increment();
+                if (current != null) {
+                    current.close();
+                }
+                throw new RemoteException("Call to " + address + " failed", e);
+            } finally {
+                if (current != null) {
+                    current.pending.remove(requestId);
+                }
+            }
+        }
+
+        int inFlight() {
+            Connection current = link;
+            return current != null ? current.pending.size() : 0;
+        }
+
+        synchronized void close() {
+            retired = true;
+            Connection current = link;
+            if (current != null) {
+                current.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.auction.system.transport;
+
+import com.auction.system.rmi.CoordinatorService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.rmi.registry.LocateRegistry;
+import java.rmi.registry.Registry;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Java RMI transport: the local service is bound in an RMI registry and peers are
+ * looked up as remote stubs. This is the default.
+ */
+@Component
+@ConditionalOnProperty(name = "app.cluster.transport.type", havingValue = "rmi", matchIfMissing = true)
+public class RmiClusterTransport implements ClusterTransport {
+
+    private static final Logger logger = LoggerFactory.getLogger(RmiClusterTransport.class);
+
+    private static final String BINDING = "CoordinatorService";
+
+    @Value("${app.cluster.transport.timeout-ms:5000}")
+    private long timeoutMs;
+
+    private Registry registry;
+
+    @Override
+    public String getName() {
+        return "rmi";
+    }
+
+    @Override
+    public void start(CoordinatorService localService, int port) throws Exception {
+        registry = LocateRegistry.createRegistry(port);
+        registry.rebind(BINDING, localService);
+        logger.info("RMI CoordinatorService bound on port {}", port);
+    }
+
+    @Override
+    public CoordinatorService connect(String host, int port) throws Exception {
+        // Bound the registry lookup so an unreachable host fails instead of hanging
+        Registry peerRegistry = LocateRegistry.getRegistry(host, port, (socketHost, socketPort) -> {
+            Socket socket = new Socket();
+            socket.connect(new InetSocketAddress(socketHost, socketPort), (int) timeoutMs);
+            socket.setSoTimeout((int) timeoutMs);
+            return socket;
+        });
+        return (CoordinatorService) peerRegistry.lookup(BINDING);
+    }
+
+    @Override
+    public void shutdown() {
+        try {
+            if (registry != null) {
+                registry.unbind(BINDING);
+            }
+        } catch (Exception e) {
+            logger.warn("Failed to unbind RMI CoordinatorService: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("transport", getName());
+        return stats;
+    }
+}
@@ -0,0 +1,139 @@
+package com.auction.system.websocket;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded per-auction history of delivered events, keyed by channel sequence number.
+ *
+ * Lets a reconnecting client resume from the last sequence it saw instead of
+ * re-downloading the auction's full bid history. Each node records what it delivers,
+ * so the log is local; a resume that falls outside it gets a paged snapshot instead.
+ */
+@Component
+public class AuctionEventLog {
+
+    private static final long IDLE_EVICTION_MS = 10 * 60 * 1000L;
+
+    @Value("${app.websocket.resume.buffer-size:256}")
+    private int bufferSize;
+
+    private final Map<String, EventRing> rings = new ConcurrentHashMap<>();
+
+    private final LongAdder resumed = new LongAdder();
+    private final LongAdder snapshots = new LongAdder();
+
+    /**
+     * Record an event delivered on an auction's channel
+     */
+    public void record(String auctionId, long seq, Map<String, Object> event) {
+        if (seq <= 0) {
+            // Delivered through the local fallback without a cluster sequence
+            return;
+        }
+        rings.computeIfAbsent(auctionId, id -> new EventRing(bufferSize)).add(seq, event);
+    }
+
+    /**
+     * Events after lastSeq, or null if some of them are no longer (or never were) in the log
+     */
+    public List<Map<String, Object>> eventsAfter(String auctionId, long lastSeq) {
+        EventRing ring = rings.get(auctionId);
+        List<Map<String, Object>> events = ring != null ? ring.after(lastSeq) : null;
+        if (events != null) {
+            resumed.increment();
+        } else {
+            snapshots.increment();
+        }
+        return events;
+    }
+
+    /**
+     * Latest sequence recorded for an auction, or 0 if none
+     */
+    public long latestSeq(String auctionId) {
+        EventRing ring = rings.get(auctionId);
+        return ring != null ? ring.latest() : 0L;
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("bufferSize", bufferSize);
+        stats.put("auctions", rings.size());
+        stats.put("resumed", resumed.sum());
+        stats.put("snapshots", snapshots.sum());
+        return stats;
+    }
+
+    @Scheduled(fixedDelay = 60000)
+    public void evictIdle() {
+        long idleBefore = System.currentTimeMillis() - IDLE_EVICTION_MS;
+        rings.values().removeIf(ring -> ring.lastRecordedAt() < idleBefore);
+    }
+
+    // Fixed-capacity ring of contiguous sequence numbers; a gap restarts it
+    private static class EventRing {
+        private final long[] seqs;
+        private final Object[] events;
+        private int start;
+        private int size;
+        private volatile long lastRecordedAt;
+
+        EventRing(int capacity) {
+            this.seqs = new long[capacity];
+            this.events = new Object[capacity];
+        }
+
+        synchronized void add(long seq, Map<String, Object> event) {
+            long latest = latest();
+            if (size > 0 && seq <= latest) {
+                return;
+            }
+            if (size > 0 && seq != latest + 1) {
+                // Missed an event, so nothing before this one can be replayed reliably
+                start = 0;
+                size = 0;
+            }
+            int index = (start + size) % seqs.length;
+            if (size == seqs.length) {
+                start = (start + 1) % seqs.length;
+            } else {
+                size++;
+            }
+            seqs[index] = seq;
+            events[index] = event;
+            lastRecordedAt = System.currentTimeMillis();
+        }
+
+        @SuppressWarnings("unchecked")
+        synchronized List<Map<String, Object>> after(long lastSeq) {
+            if (size == 0 || lastSeq > latest() || lastSeq < seqs[start] - 1) {
+                return null;
+            }
+            List<Map<String, Object>> missed = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                int index = (start + i) % seqs.length;
+                if (seqs[index] > lastSeq) {
+                    missed.add((Map<String, Object>) events[index]);
+                }
+            }
+            return missed;
+        }
+
+        synchronized long latest() {
+            return size == 0 ? 0L : seqs[(start + size - 1) % seqs.length];
+        }
+
+        long lastRecordedAt() {
+            return lastRecordedAt;
+        }
+    }
+}
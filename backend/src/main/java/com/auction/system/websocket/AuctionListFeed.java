@@ -0,0 +1,228 @@
+package com.auction.system.websocket;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Batched delta feed for the auction list view.
+ *
+ * Each session tells the server which auctions are visible on its page. Price,
+ * bid-count, end-time and status changes are accumulated per auction and sent as
+ * one frame per session per interval, containing only that session's auctions.
+ * A frame also flags when auctions were created so the client can reload the list.
+ */
+@Component
+public class AuctionListFeed {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuctionListFeed.class);
+
+    private static final int MAX_WATCHED_PER_SESSION = 200;
+    public static final String FEED_DESTINATION = "/queue/auction-list";
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    private final Map<String, Set<String>> watchedBySession = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> watchersByAuction = new ConcurrentHashMap<>();
+    private final Map<String, AuctionDelta> pendingDeltas = new ConcurrentHashMap<>();
+    private final AtomicBoolean listChanged = new AtomicBoolean(false);
+
+    private final LongAdder framesSent = new LongAdder();
+
+    /**
+     * Replace the set of auctions a session is watching
+     */
+    public void watch(String sessionId, Collection<String> auctionIds) {
+        Set<String> watched = new LinkedHashSet<>();
+        for (String auctionId : auctionIds) {
+            if (watched.size() >= MAX_WATCHED_PER_SESSION) {
+                break;
+            }
+            watched.add(auctionId);
+        }
+
+        Set<String> previous = watchedBySession.put(sessionId, watched);
+        if (previous != null) {
+            for (String auctionId : previous) {
+                removeWatcher(auctionId, sessionId);
+            }
+        }
+        for (String auctionId : watched) {
+            watchersByAuction.computeIfAbsent(auctionId, id -> ConcurrentHashMap.newKeySet()).add(sessionId);
+        }
+    }
+
+    @EventListener
+    public void onSessionDisconnect(SessionDisconnectEvent event) {
+        Set<String> watched = watchedBySession.remove(event.getSessionId());
+        if (watched != null) {
+            for (String auctionId : watched) {
+                removeWatcher(auctionId, event.getSessionId());
+            }
+        }
+    }
+
+    /**
+     * Fold a delivered cluster event into the pending deltas
+     */
+    public void record(Map<String, Object> event) {
+        Object type = event.get("type");
+        if ("AUCTION_CREATED".equals(type)) {
+            listChanged.set(true);
+            return;
+        }
+        if ("AUCTIONS_ENDED".equals(type)) {
+            for (Object entry : (List<?>) event.get("auctions")) {
+                Map<?, ?> summary = (Map<?, ?>) entry;
+                applyDelta(summary.get("auctionId").toString(), "ENDED", summary.get("finalPrice"), null, 0);
+            }
+            return;
+        }
+
+        Object auctionId = event.get("auctionId");
+        if (auctionId == null) {
+            return;
+        }
+        if ("BID_UPDATE".equals(type)) {
+            applyDelta(auctionId.toString(), null, event.get("currentPrice"), event.get("endTime"), 1);
+        } else if ("AUCTION_UPDATE".equals(type)) {
+            applyDelta(auctionId.toString(), (String) event.get("status"), event.get("currentPrice"), event.get("endTime"), 0);
+        }
+    }
+
+    /**
+     * Send one frame per session with the deltas for its visible auctions
+     */
+    @Scheduled(fixedRateString = "${app.websocket.list-feed.interval-ms:1000}")
+    public void flush() {
+        try {
+            boolean changed = listChanged.getAndSet(false);
+            if (pendingDeltas.isEmpty() && !changed) {
+                return;
+            }
+
+            Map<String, List<Map<String, Object>>> framesBySession = new HashMap<>();
+            for (String auctionId : new ArrayList<>(pendingDeltas.keySet())) {
+                AuctionDelta delta = pendingDeltas.remove(auctionId);
+                Set<String> watchers = watchersByAuction.get(auctionId);
+                if (delta == null || watchers == null) {
+                    continue;
+                }
+                Map<String, Object> deltaMap = delta.toMap();
+                for (String sessionId : watchers) {
+                    framesBySession.computeIfAbsent(sessionId, id -> new ArrayList<>()).add(deltaMap);
+                }
+            }
+
+            Collection<String> recipients = changed ? watchedBySession.keySet() : framesBySession.keySet();
+            long sentAt = System.currentTimeMillis();
+            for (String sessionId : recipients) {
+                Map<String, Object> frame = new HashMap<>();
+                frame.put("type", "AUCTION_LIST_DELTA");
+                frame.put("deltas", framesBySession.getOrDefault(sessionId, List.of()));
+                frame.put("listChanged", changed);
+                frame.put("serverTime", sentAt);
+                sendToSession(sessionId, frame);
+            }
+        } catch (Exception e) {
+            logger.error("Failed to flush auction list feed", e);
+        }
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("sessions", watchedBySession.size());
+        stats.put("watchedAuctions", watchersByAuction.size());
+        stats.put("framesSent", framesSent.sum());
+        return stats;
+    }
+
+    private void applyDelta(String auctionId, String status, Object currentPrice, Object endTime, int bids) {
+        // Only track auctions someone is looking at
+        if (!watchersByAuction.containsKey(auctionId)) {
+            return;
+        }
+        // Applied inside compute so a concurrent flush never drops part of a delta
+        pendingDeltas.compute(auctionId, (id, delta) -> {
+            AuctionDelta updated = delta != null ? delta : new AuctionDelta(id);
+            updated.apply(status, currentPrice, endTime, bids);
+            return updated;
+        });
+    }
+
+    private void removeWatcher(String auctionId, String sessionId) {
+        watchersByAuction.computeIfPresent(auctionId, (id, sessions) -> {
+            sessions.remove(sessionId);
+            return sessions.isEmpty() ? null : sessions;
+        });
+    }
+
+    private void sendToSession(String sessionId, Map<String, Object> frame) {
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        headers.setSessionId(sessionId);
+        headers.setLeaveMutable(true);
+        messagingTemplate.convertAndSendToUser(sessionId, FEED_DESTINATION, frame, headers.getMessageHeaders());
+        framesSent.increment();
+    }
+
+    // Accumulated change for one auction since the last frame; only mutated inside compute
+    private static class AuctionDelta {
+        private final String auctionId;
+        private String status;
+        private Object currentPrice;
+        private Object endTime;
+        private int newBids;
+
+        AuctionDelta(String auctionId) {
+            this.auctionId = auctionId;
+        }
+
+        void apply(String newStatus, Object newPrice, Object newEndTime, int bids) {
+            if (newStatus != null) {
+                status = newStatus;
+            }
+            if (newPrice != null) {
+                currentPrice = newPrice;
+            }
+            if (newEndTime != null) {
+                endTime = newEndTime;
+            }
+            newBids += bids;
+        }
+
+        Map<String, Object> toMap() {
+            Map<String, Object> delta = new HashMap<>();
+            delta.put("auctionId", auctionId);
+            if (status != null) {
+                delta.put("status", status);
+            }
+            if (currentPrice != null) {
+                delta.put("currentPrice", currentPrice);
+            }
+            if (endTime != null) {
+                delta.put("endTime", endTime);
+            }
+            delta.put("newBids", newBids);
+            return delta;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.auction.system.websocket;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Conflates per-auction price updates for local subscribers.
+ *
+ * The first update for an idle auction is sent immediately; further updates within
+ * the flush interval only replace the pending one, which is sent on the next flush.
+ * Subscribers therefore get at most one price update per auction per interval and
+ * always end on the latest state. Every bid is still available unconflated on the
+ * auction's bid-history topic.
+ */
+@Component
+public class AuctionPriceTicker {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuctionPriceTicker.class);
+
+    @Value("${app.websocket.ticker.flush-ms:100}")
+    private long flushMs;
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Autowired
+    private CompactFrameEncoder compactEncoder;
+
+    private final Map<String, PendingUpdate> pending = new ConcurrentHashMap<>();
+    private final Map<String, Long> lastSentAt = new ConcurrentHashMap<>();
+
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder conflated = new LongAdder();
+
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "auction-price-ticker");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @PostConstruct
+    public void start() {
+        flusher.scheduleAtFixedRate(this::flushAll, flushMs, flushMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void cleanup() {
+        flusher.shutdownNow();
+    }
+
+    /**
+     * Offer the latest state of an auction; sent now if the auction is idle, otherwise conflated
+     */
+    public void offer(String auctionId, List<String> destinations, Map<String, Object> payload) {
+        long now = System.currentTimeMillis();
+        // Sending inside compute keeps an immediate send ordered before any later flush
+        pending.compute(auctionId, (id, existing) -> {
+            if (existing != null) {
+                conflated.increment();
+                return new PendingUpdate(destinations, payload, existing.suppressed + 1);
+            }
+            Long last = lastSentAt.get(id);
+            if (last == null || now - last >= flushMs) {
+                send(id, destinations, payload, 0);
+                return null;
+            }
+            return new PendingUpdate(destinations, payload, 0);
+        });
+    }
+
+    /**
+     * Send any pending update for an auction right away (e.g. before its end is announced)
+     */
+    public void flush(String auctionId) {
+        pending.computeIfPresent(auctionId, (id, update) -> {
+            send(id, update.destinations, update.payload, update.suppressed);
+            return null;
+        });
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("flushIntervalMs", flushMs);
+        stats.put("sent", sent.sum());
+        stats.put("conflated", conflated.sum());
+        stats.put("pending", pending.size());
+        return stats;
+    }
+
+    private void flushAll() {
+        try {
+            for (String auctionId : pending.keySet()) {
+                flush(auctionId);
+            }
+            // Forget auctions that have been idle for a while
+            long idleBefore = System.currentTimeMillis() - flushMs * 10;
+            lastSentAt.entrySet().removeIf(entry -> entry.getValue() < idleBefore && !pending.containsKey(entry.getKey()));
+        } catch (Exception e) {
+            logger.error("Failed to flush conflated price updates", e);
+        }
+    }
+
+    private void send(String auctionId, List<String> destinations, Map<String, Object> payload, int suppressed) {
+        Map<String, Object> update = new HashMap<>(payload);
+        update.put("conflated", suppressed);
+        for (String destination : destinations) {
+            messagingTemplate.convertAndSend(destination, update);
+        }
+        compactEncoder.publish(auctionId, update);
+        lastSentAt.put(auctionId, System.currentTimeMillis());
+        sent.increment();
+    }
+
+    // Latest not-yet-sent update for an auction and how many it replaced
+    private static class PendingUpdate {
+        private final List<String> destinations;
+        private final Map<String, Object> payload;
+        private final int suppressed;
+
+        PendingUpdate(List<String> destinations, Map<String, Object> payload, int suppressed) {
+            this.destinations = destinations;
+            this.payload = payload;
+            this.suppressed = suppressed;
+        }
+    }
+}
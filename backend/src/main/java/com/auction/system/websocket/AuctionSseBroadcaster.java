@@ -0,0 +1,400 @@
+package com.auction.system.websocket;
+
+import com.auction.system.service.AuctionService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Server-Sent Events streams for read-only watchers.
+ *
+ * Fed from the same delivered cluster events as the STOMP topics. Each event is
+ * serialized once and the resulting frame written to every stream that wants it.
+ * Per-auction streams use the auction channel sequence as event id, so Last-Event-ID
+ * resumes from the auction event log; the list stream keeps its own short history.
+ * If the requested id is gone the client gets a RESYNC event and should reload.
+ *
+ * Every stream has its own bounded frame queue, written by a small writer pool, so a
+ * slow client only holds up itself. A stream that falls max-queued-frames behind, or
+ * whose write has been stuck for send-timeout-ms, is closed; the client reconnects
+ * with Last-Event-ID and resumes.
+ */
+@Component
+public class AuctionSseBroadcaster {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuctionSseBroadcaster.class);
+
+    private static final int LIST_HISTORY_SIZE = 512;
+    // Frames one stream writes before yielding its writer thread to others
+    private static final int FRAMES_PER_TURN = 32;
+
+    @Value("${app.websocket.sse.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${app.websocket.sse.max-queued-frames:256}")
+    private int maxQueuedFrames;
+
+    @Value("${app.websocket.sse.send-timeout-ms:10000}")
+    private long sendTimeoutMs;
+
+    @Value("${app.websocket.sse.writer-threads:4}")
+    private int writerThreads;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AuctionEventLog eventLog;
+
+    @Autowired
+    private AuctionService auctionService;
+
+    private final Map<String, Set<Stream>> auctionStreams = new ConcurrentHashMap<>();
+    private final Set<Stream> listStreams = ConcurrentHashMap.newKeySet();
+
+    // Recent list-stream frames by local id, for Last-Event-ID resume
+    private final Deque<ListFrame> listHistory = new ArrayDeque<>();
+    private final AtomicLong listSeq = new AtomicLong();
+
+    private final LongAdder framesSent = new LongAdder();
+    private final LongAdder slowClosed = new LongAdder();
+
+    // Single thread orders replays, registrations and fan-out; it only queues frames
+    private final ExecutorService broadcaster = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "sse-broadcast");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Blocking writes to clients; each stream is drained by at most one thread at a time
+    private ExecutorService writers;
+
+    @PostConstruct
+    public void start() {
+        AtomicInteger count = new AtomicInteger();
+        writers = Executors.newFixedThreadPool(writerThreads, r -> {
+            Thread thread = new Thread(r, "sse-write-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void cleanup() {
+        broadcaster.shutdownNow();
+        writers.shutdownNow();
+    }
+
+    /**
+     * Open a stream of one auction's events, resuming after lastEventId if given
+     */
+    public SseEmitter openAuctionStream(String auctionId, String lastEventId) {
+        Stream stream = new Stream(new SseEmitter(timeoutMs));
+        stream.onClose(() -> auctionStreams.computeIfPresent(auctionId, (id, streams) -> {
+            streams.remove(stream);
+            return streams.isEmpty() ? null : streams;
+        }));
+        // Replay, then register, both on the broadcast thread: live events queued before
+        // this task are in the replay, and later ones reach the stream once registered
+        broadcaster.execute(() -> {
+            List<Map<String, Object>> missed = lastEventId != null
+                ? eventLog.eventsAfter(auctionId, parseId(lastEventId))
+                : List.of();
+            if (missed == null) {
+                Map<String, Object> resync = new HashMap<>();
+                long seq = eventLog.latestSeq(auctionId);
+                resync.put("type", "RESYNC");
+                resync.put("auction", auctionService.getAuction(auctionId));
+                resync.put("seq", seq);
+                stream.enqueue(frame(null, "RESYNC", resync));
+                stream.lastSeq = seq;
+            } else {
+                for (Map<String, Object> event : missed) {
+                    Object seq = event.get("seq");
+                    stream.enqueue(frame(String.valueOf(seq), (String) event.get("type"), event));
+                    if (seq instanceof Number number) {
+                        stream.lastSeq = Math.max(stream.lastSeq, number.longValue());
+                    }
+                }
+            }
+            if (!stream.closed) {
+                auctionStreams.computeIfAbsent(auctionId, id -> ConcurrentHashMap.newKeySet()).add(stream);
+            }
+        });
+        return stream.emitter;
+    }
+
+    /**
+     * Open a stream of auction list events, resuming after lastEventId if given
+     */
+    public SseEmitter openListStream(String lastEventId) {
+        Stream stream = new Stream(new SseEmitter(timeoutMs));
+        stream.onClose(() -> listStreams.remove(stream));
+        broadcaster.execute(() -> {
+            if (lastEventId != null) {
+                long after = parseId(lastEventId);
+                List<ListFrame> missed = new ArrayList<>();
+                boolean covered;
+                synchronized (listHistory) {
+                    covered = !listHistory.isEmpty() && listHistory.peekFirst().id <= after + 1;
+                    for (ListFrame frame : listHistory) {
+                        if (frame.id > after) {
+                            missed.add(frame);
+                        }
+                    }
+                }
+                if (!covered && after < listSeq.get()) {
+                    stream.enqueue(frame(null, "RESYNC", Map.of("type", "RESYNC")));
+                } else {
+                    for (ListFrame frame : missed) {
+                        stream.enqueue(frame.data);
+                    }
+                }
+            }
+            if (!stream.closed) {
+                listStreams.add(stream);
+            }
+        });
+        return stream.emitter;
+    }
+
+    /**
+     * Forward a delivered cluster event to the SSE streams for its destinations
+     */
+    public void publish(List<String> destinations, Map<String, Object> payload) {
+        Object auctionId = payload.get("auctionId");
+        boolean toAuction = auctionId != null && destinations.contains("/topic/auction/" + auctionId)
+            && auctionStreams.containsKey(auctionId.toString());
+        boolean toList = destinations.contains("/topic/auctions");
+        if (!toAuction && !toList) {
+            return;
+        }
+
+        broadcaster.execute(() -> {
+            try {
+                // Serialized once, shared by every stream
+                String json = objectMapper.writeValueAsString(payload);
+                String type = (String) payload.get("type");
+                if (toAuction) {
+                    // Unsequenced (local fallback) events carry no id, so Last-Event-ID stays put
+                    Object seq = payload.get("seq");
+                    Set<DataWithMediaType> frame = rawFrame(seq != null ? seq.toString() : null, type, json);
+                    for (Stream stream : auctionStreams.getOrDefault(auctionId.toString(), Set.of())) {
+                        if (seq instanceof Number number) {
+                            // Already sent in the stream's replay
+                            if (number.longValue() <= stream.lastSeq) {
+                                continue;
+                            }
+                            stream.lastSeq = number.longValue();
+                        }
+                        stream.enqueue(frame);
+                    }
+                }
+                if (toList) {
+                    long id = listSeq.incrementAndGet();
+                    Set<DataWithMediaType> frame = rawFrame(String.valueOf(id), type, json);
+                    synchronized (listHistory) {
+                        listHistory.addLast(new ListFrame(id, frame));
+                        if (listHistory.size() > LIST_HISTORY_SIZE) {
+                            listHistory.removeFirst();
+                        }
+                    }
+                    for (Stream stream : listStreams) {
+                        stream.enqueue(frame);
+                    }
+                }
+            } catch (Exception e) {
+                logger.error("Failed to publish SSE event", e);
+            }
+        });
+    }
+
+    /**
+     * Comment frames keep proxies from closing idle streams and reveal dead clients;
+     * streams whose write has been stuck too long are closed
+     */
+    @Scheduled(fixedDelay = 15000)
+    public void keepAlive() {
+        Set<DataWithMediaType> ping = SseEmitter.event().comment("keepalive").build();
+        long now = System.currentTimeMillis();
+        List<Stream> streams = new ArrayList<>(listStreams);
+        auctionStreams.values().forEach(streams::addAll);
+        for (Stream stream : streams) {
+            long since = stream.sendingSince;
+            if (since > 0 && now - since > sendTimeoutMs) {
+                stream.closeSlow("send blocked for " + (now - since) + " ms");
+            } else {
+                stream.enqueue(ping);
+            }
+        }
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("auctionStreams", auctionStreams.values().stream().mapToInt(Set::size).sum());
+        stats.put("listStreams", listStreams.size());
+        stats.put("framesSent", framesSent.sum());
+        stats.put("slowClosed", slowClosed.sum());
+        return stats;
+    }
+
+    private Set<DataWithMediaType> frame(String id, String type, Map<String, Object> payload) {
+        try {
+            return rawFrame(id, type, objectMapper.writeValueAsString(payload));
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to serialize SSE event", e);
+        }
+    }
+
+    private static Set<DataWithMediaType> rawFrame(String id, String type, String json) {
+        SseEmitter.SseEventBuilder event = SseEmitter.event().data(json, MediaType.APPLICATION_JSON);
+        if (id != null) {
+            event.id(id);
+        }
+        if (type != null) {
+            event.name(type);
+        }
+        return event.build();
+    }
+
+    private static long parseId(String id) {
+        try {
+            return Long.parseLong(id.trim());
+        } catch (NumberFormatException e) {
+            return -1L;
+        }
+    }
+
+    // One client's emitter and the frames waiting to be written to it
+    private class Stream {
+        private final SseEmitter emitter;
+        // Guarded by itself, as is draining
+        private final Deque<Set<DataWithMediaType>> pending = new ArrayDeque<>();
+        private boolean draining;
+        private volatile boolean closed;
+        // When the write in progress started, 0 if none
+        private volatile long sendingSince;
+        // Highest auction sequence queued; only touched on the broadcast thread
+        private long lastSeq = -1;
+
+        Stream(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void onClose(Runnable remove) {
+            Runnable close = () -> {
+                closed = true;
+                remove.run();
+            };
+            emitter.onCompletion(close);
+            emitter.onTimeout(close);
+            emitter.onError(e -> close.run());
+        }
+
+        void enqueue(Set<DataWithMediaType> frame) {
+            if (closed) {
+                return;
+            }
+            synchronized (pending) {
+                if (pending.size() >= maxQueuedFrames) {
+                    closeSlow(pending.size() + " frames behind");
+                    return;
+                }
+                pending.addLast(frame);
+                if (draining) {
+                    return;
+                }
+                draining = true;
+            }
+            schedule();
+        }
+
+        private void schedule() {
+            try {
+                writers.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                // Shutting down
+                synchronized (pending) {
+                    draining = false;
+                }
+            }
+        }
+
+        private void drain() {
+            for (int sent = 0; ; sent++) {
+                Set<DataWithMediaType> frame;
+                synchronized (pending) {
+                    if (closed) {
+                        pending.clear();
+                    }
+                    if (pending.isEmpty()) {
+                        draining = false;
+                        return;
+                    }
+                    if (sent == FRAMES_PER_TURN) {
+                        // Still draining; let other streams' writes in first
+                        break;
+                    }
+                    frame = pending.pollFirst();
+                }
+                sendingSince = System.currentTimeMillis();
+                try {
+                    emitter.send(frame);
+                    framesSent.increment();
+                } catch (Exception e) {
+                    // Client went away; completion callbacks remove the stream
+                    closed = true;
+                    emitter.completeWithError(e);
+                } finally {
+                    sendingSince = 0;
+                }
+            }
+            schedule();
+        }
+
+        void closeSlow(String reason) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            slowClosed.increment();
+            logger.debug("Closing slow SSE stream: {}", reason);
+            emitter.completeWithError(new IllegalStateException("SSE client too slow: " + reason));
+        }
+    }
+
+    // A list-stream frame and its local id
+    private static class ListFrame {
+        private final long id;
+        private final Set<DataWithMediaType> data;
+
+        ListFrame(long id, Set<DataWithMediaType> data) {
+            this.id = id;
+            this.data = data;
+        }
+    }
+}
@@ -2,12 +2,17 @@ package com.auction.system.websocket;
 
 import com.auction.system.model.Auction;
 import com.auction.system.model.Bid;
+import com.auction.system.service.ActiveAuctionIndex;
 import com.auction.system.service.AuctionService;
 import com.auction.system.service.LamportClockService;
+import com.auction.system.service.OutboxRelay;
+import com.auction.system.service.SoftClosePolicy;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
@@ -15,12 +20,13 @@ import org.springframework.messaging.simp.annotation.SendToUser;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Controller;
 
+import jakarta.annotation.PostConstruct;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * WebSocket handler for real-time auction updates
@@ -30,6 +36,9 @@ public class AuctionWebSocketHandler {
     
     private static final Logger logger = LoggerFactory.getLogger(AuctionWebSocketHandler.class);
     
+    private static final int DEFAULT_SNAPSHOT_PAGE_SIZE = 50;
+    private static final int MAX_SNAPSHOT_PAGE_SIZE = 200;
+    
     @Autowired
     private SimpMessagingTemplate messagingTemplate;
     
@@ -39,24 +48,82 @@ public class AuctionWebSocketHandler {
     @Autowired
     private LamportClockService lamportClockService;
     
+    @Autowired
+    private ActiveAuctionIndex activeAuctionIndex;
+    
+    @Autowired
+    private SoftClosePolicy softClosePolicy;
+    
+    @Autowired
+    private ClusterEventBridge eventBridge;
+    
+    @Autowired
+    private AuctionPriceTicker priceTicker;
+    
+    @Autowired
+    private AuctionListFeed listFeed;
+    
+    @Autowired
+    private CompactFrameEncoder compactEncoder;
+    
+    @Autowired
+    private AuctionEventLog eventLog;
+    
+    @Autowired
+    private OutboundBackpressureInterceptor backpressure;
+    
     @Autowired
     private ObjectMapper objectMapper;
     
-    // Track active connections and subscriptions
-    private final Map<String, String> userSessions = new ConcurrentHashMap<>();
-    private final Map<String, Integer> auctionSubscribers = new ConcurrentHashMap<>();
+    @Autowired
+    private WebSocketSessionRegistry sessionRegistry;
+    
+    @Autowired
+    private BidSubmissionPipeline bidPipeline;
+    
+    @Autowired
+    private AuctionSseBroadcaster sseBroadcaster;
+    
+    @Autowired
+    private OutboxRelay outboxRelay;
+    
+    /**
+     * Broadcasts for committed writes arrive through the outbox relay
+     */
+    @PostConstruct
+    public void registerOutboxHandlers() {
+        outboxRelay.registerHandler(OutboxRelay.BID_PLACED, event -> broadcastBidUpdate(
+            event.get("auctionId").toString(),
+            objectMapper.convertValue(event.get("bid"), Bid.class),
+            ((Number) event.get("logicalTimestamp")).intValue()));
+        outboxRelay.registerHandler(OutboxRelay.AUCTION_CREATED, event -> broadcastAuctionCreated(
+            objectMapper.convertValue(event.get("auction"), Auction.class),
+            ((Number) event.get("logicalTimestamp")).intValue()));
+        outboxRelay.registerHandler(OutboxRelay.AUCTION_ENDED, event -> broadcastAuctionUpdate(
+            event.get("auctionId").toString(),
+            objectMapper.convertValue(event.get("auction"), Auction.class),
+            ((Number) event.get("logicalTimestamp")).intValue()));
+    }
     
     /**
-     * Handle bid placement via WebSocket
+     * Handle bid placement via WebSocket.
+     *
+     * The bid runs on the bid executor so a slow commit doesn't hold up the inbound channel;
+     * the result arrives on /user/queue/bid-response tagged with the client's correlationId.
      */
     @MessageMapping("/bid")
-    @SendToUser("/queue/bid-response")
-    public Map<String, Object> handleBid(@Payload Map<String, Object> bidMessage) {
+    public void handleBid(@Payload Map<String, Object> bidMessage, @Header("simpSessionId") String sessionId) {
+        Object correlationId = bidMessage.get("correlationId");
+        Object auctionId = bidMessage.get("auctionId");
+        bidPipeline.submit(sessionId, correlationId != null ? correlationId.toString() : null,
+            auctionId != null ? auctionId.toString() : null, () -> placeBid(bidMessage));
+    }
+    
+    private Map<String, Object> placeBid(Map<String, Object> bidMessage) {
         try {
             String auctionId = (String) bidMessage.get("auctionId");
             String bidderId = (String) bidMessage.get("bidderId");
             BigDecimal amount = new BigDecimal(bidMessage.get("amount").toString());
-            String sessionId = (String) bidMessage.get("sessionId");
             
             // Increment logical clock
             int timestamp = lamportClockService.incrementAndGet();
@@ -72,8 +139,7 @@ public class AuctionWebSocketHandler {
             response.put("logicalTimestamp", timestamp);
             response.put("serverTime", LocalDateTime.now());
             
-            // Broadcast to all subscribers of this auction
-            broadcastBidUpdate(auctionId, bid, timestamp);
+            // Subscribers hear about it from the outbox relay once the bid commits
             
             logger.info("WebSocket bid placed: {} on auction {} at timestamp {}", 
                        bid.getId(), auctionId, timestamp);
@@ -94,32 +160,80 @@ public class AuctionWebSocketHandler {
     }
     
     /**
-     * Handle auction subscription
+     * Set the auctions visible in a client's list view; deltas arrive on /user/queue/auction-list
+     */
+    @MessageMapping("/list/watch")
+    public void handleListWatch(@Payload Map<String, Object> watchMessage, @Header("simpSessionId") String sessionId) {
+        try {
+            List<String> auctionIds = new ArrayList<>();
+            Object ids = watchMessage.get("auctionIds");
+            if (ids instanceof List<?> list) {
+                for (Object id : list) {
+                    auctionIds.add(id.toString());
+                }
+            }
+            listFeed.watch(sessionId, auctionIds);
+            logger.debug("Session {} watching {} auctions in list view", sessionId, auctionIds.size());
+            
+        } catch (Exception e) {
+            logger.error("Failed to handle list watch", e);
+        }
+    }
+    
+    /**
+     * Handle auction subscription.
+     *
+     * A client that sends the last sequence number it saw gets only the events it missed;
+     * otherwise (or if those events have been evicted) it gets the auction and a first page
+     * of bids, tagged with the sequence the snapshot is current as of.
      */
     @MessageMapping("/subscribe")
     @SendToUser("/queue/subscription-response")
-    public Map<String, Object> handleSubscription(@Payload Map<String, Object> subscriptionMessage) {
+    public Map<String, Object> handleSubscription(@Payload Map<String, Object> subscriptionMessage,
+                                                  @Header("simpSessionId") String sessionId) {
         try {
             String auctionId = (String) subscriptionMessage.get("auctionId");
-            String sessionId = (String) subscriptionMessage.get("sessionId");
             String userId = (String) subscriptionMessage.get("userId");
             
-            // Track subscription
-            userSessions.put(sessionId, userId);
-            auctionSubscribers.merge(auctionId, 1, Integer::sum);
-            
-            // Get current auction state
-            Auction auction = auctionService.getAuction(auctionId);
-            List<Bid> bids = auctionService.getBidsForAuction(auctionId);
+            // Topic subscriptions themselves are tracked from STOMP session events
+            sessionRegistry.bindUser(sessionId, userId);
             
             Map<String, Object> response = new HashMap<>();
-            response.put("type", "SUBSCRIPTION_CONFIRMED");
             response.put("auctionId", auctionId);
-            response.put("auction", auction);
-            response.put("bids", bids);
-            response.put("subscriberCount", auctionSubscribers.get(auctionId));
+            response.put("subscriberCount", sessionRegistry.getSubscriberCount(auctionId));
             response.put("logicalTimestamp", lamportClockService.getCurrentTime());
             
+            Object lastSeqValue = subscriptionMessage.get("lastSeq");
+            if (lastSeqValue != null) {
+                long lastSeq = Long.parseLong(lastSeqValue.toString());
+                List<Map<String, Object>> missed = eventLog.eventsAfter(auctionId, lastSeq);
+                if (missed == null && lastSeq == eventBridge.currentSeq("auction:" + auctionId)) {
+                    // Nothing happened since, even if this node has no log for the auction
+                    missed = List.of();
+                }
+                if (missed != null) {
+                    response.put("type", "SUBSCRIPTION_RESUMED");
+                    response.put("events", missed);
+                    response.put("seq", missed.isEmpty() ? lastSeq : missed.get(missed.size() - 1).get("seq"));
+                    logger.debug("User {} resumed auction {} from seq {} ({} events)", userId, auctionId, lastSeq, missed.size());
+                    return response;
+                }
+            }
+            
+            // Taken before reading state, so live events after it are never lost (only possibly repeated)
+            long snapshotSeq = Math.max(eventLog.latestSeq(auctionId), eventBridge.currentSeq("auction:" + auctionId));
+            int pageSize = subscriptionMessage.get("pageSize") != null
+                ? Math.min(Integer.parseInt(subscriptionMessage.get("pageSize").toString()), MAX_SNAPSHOT_PAGE_SIZE)
+                : DEFAULT_SNAPSHOT_PAGE_SIZE;
+            Page<Bid> bids = auctionService.getBidPage(auctionId, 0, pageSize);
+            
+            response.put("type", "SUBSCRIPTION_CONFIRMED");
+            response.put("auction", auctionService.getAuction(auctionId));
+            response.put("bids", bids.getContent());
+            response.put("totalBids", bids.getTotalElements());
+            response.put("hasMoreBids", bids.hasNext());
+            response.put("seq", snapshotSeq);
+            
             logger.info("User {} subscribed to auction {}", userId, auctionId);
             
             return response;
@@ -136,7 +250,7 @@ public class AuctionWebSocketHandler {
     }
     
     /**
-     * Handle unsubscription
+     * Handle unsubscription (counts follow the STOMP UNSUBSCRIBE frames, this is informational)
      */
     @MessageMapping("/unsubscribe")
     public void handleUnsubscription(@Payload Map<String, Object> unsubscriptionMessage) {
@@ -144,10 +258,6 @@ public class AuctionWebSocketHandler {
             String auctionId = (String) unsubscriptionMessage.get("auctionId");
             String sessionId = (String) unsubscriptionMessage.get("sessionId");
             
-            // Remove subscription tracking
-            userSessions.remove(sessionId);
-            auctionSubscribers.computeIfPresent(auctionId, (k, v) -> v > 1 ? v - 1 : null);
-            
             logger.info("Session {} unsubscribed from auction {}", sessionId, auctionId);
             
         } catch (Exception e) {
@@ -158,20 +268,25 @@ public class AuctionWebSocketHandler {
     /**
      * Broadcast bid update to all auction subscribers
      */
-    private void broadcastBidUpdate(String auctionId, Bid bid, int timestamp) {
+    public void broadcastBidUpdate(String auctionId, Bid bid, int timestamp) {
         try {
             Map<String, Object> update = new HashMap<>();
             update.put("type", "BID_UPDATE");
             update.put("auctionId", auctionId);
             update.put("bid", bid);
+            update.put("currentPrice", bid.getAmount());
+            
+            // Current end time so clients follow soft-close extensions without reloading
+            Auction indexed = activeAuctionIndex.get(bid.getAuctionId());
+            if (indexed != null) {
+                update.put("endTime", indexed.getEndTime());
+            }
+            update.put("extensionCount", softClosePolicy.getExtensionCount(bid.getAuctionId()));
             update.put("logicalTimestamp", timestamp);
             update.put("serverTime", LocalDateTime.now());
             
-            // Send to topic for all subscribers
-            messagingTemplate.convertAndSend("/topic/auction/" + auctionId, update);
-            
-            // Also send to general auction updates topic
-            messagingTemplate.convertAndSend("/topic/auctions", update);
+            // Send to auction subscribers on every node; list views get it via the delta feed
+            eventBridge.publish("auction:" + auctionId, List.of("/topic/auction/" + auctionId), update);
             
         } catch (Exception e) {
             logger.error("Failed to broadcast bid update", e);
@@ -187,14 +302,17 @@ public class AuctionWebSocketHandler {
             update.put("type", "AUCTION_UPDATE");
             update.put("auctionId", auctionId);
             update.put("auction", auction);
+            if (auction != null) {
+                update.put("status", auction.getStatus());
+                update.put("currentPrice", auction.getCurrentPrice());
+                update.put("endTime", auction.getEndTime());
+            }
             update.put("logicalTimestamp", timestamp);
             update.put("serverTime", LocalDateTime.now());
             
-            // Send to topic for all subscribers
-            messagingTemplate.convertAndSend("/topic/auction/" + auctionId, update);
-            
-            // Also send to general auction updates topic
-            messagingTemplate.convertAndSend("/topic/auctions", update);
+            // Send to auction subscribers and the general auction topic on every node
+            eventBridge.publish("auction:" + auctionId,
+                List.of("/topic/auction/" + auctionId, "/topic/auctions"), update);
             
         } catch (Exception e) {
             logger.error("Failed to broadcast auction update", e);
@@ -210,8 +328,8 @@ public class AuctionWebSocketHandler {
             Map<String, Object> status = new HashMap<>();
             status.put("type", "SERVER_STATUS");
             status.put("logicalClock", lamportClockService.getCurrentTime());
-            status.put("activeConnections", userSessions.size());
-            status.put("activeAuctions", auctionService.getActiveAuctions().size());
+            status.put("activeConnections", sessionRegistry.getConnectionCount());
+            status.put("activeAuctions", auctionService.getActiveAuctionCount());
             status.put("serverTime", LocalDateTime.now());
             
             // Send to server status topic
@@ -223,29 +341,95 @@ public class AuctionWebSocketHandler {
     }
     
     /**
-     * Check for expired auctions and notify subscribers
+     * Announce a new auction so list views can refresh
      */
-    @Scheduled(fixedDelay = 30000) // Every 30 seconds
-    public void checkExpiredAuctions() {
+    public void broadcastAuctionCreated(Auction auction, int timestamp) {
         try {
-            List<Auction> activeAuctions = auctionService.getActiveAuctions();
-            LocalDateTime now = LocalDateTime.now();
-            
-            for (Auction auction : activeAuctions) {
-                if (now.isAfter(auction.getEndTime())) {
-                    // End the auction
-                    Auction endedAuction = auctionService.endAuction(auction.getId().toString());
-                    int timestamp = lamportClockService.incrementAndGet();
-                    
-                    // Broadcast auction end
-                    broadcastAuctionUpdate(auction.getId().toString(), endedAuction, timestamp);
-                    
-                    logger.info("Auction {} ended and notifications sent", auction.getId());
-                }
-            }
+            Map<String, Object> update = new HashMap<>();
+            update.put("type", "AUCTION_CREATED");
+            update.put("auctionId", auction.getId().toString());
+            update.put("logicalTimestamp", timestamp);
+            update.put("serverTime", LocalDateTime.now());
+            eventBridge.publish("auctions", List.of("/topic/auctions"), update);
             
         } catch (Exception e) {
-            logger.error("Failed to check expired auctions", e);
+            logger.error("Failed to broadcast auction creation", e);
+        }
+    }
+    
+    /**
+     * Broadcast a batch of settled auctions as one message
+     */
+    public void broadcastAuctionsEnded(List<Map<String, Object>> settled, int timestamp) {
+        try {
+            Map<String, Object> update = new HashMap<>();
+            update.put("type", "AUCTIONS_ENDED");
+            update.put("auctions", settled);
+            update.put("logicalTimestamp", timestamp);
+            update.put("serverTime", LocalDateTime.now());
+            eventBridge.publish("auctions", List.of("/topic/auctions"), update);
+            
+        } catch (Exception e) {
+            logger.error("Failed to broadcast settled auctions", e);
+        }
+    }
+    
+    /**
+     * Deliver a cluster event to subscribers connected to this node.
+     * Bid updates go out unconflated on the bid-history topic and conflated everywhere else.
+     */
+    public void deliverClusterEvent(List<String> destinations, Map<String, Object> payload) {
+        listFeed.record(payload);
+        
+        Object auctionId = payload.get("auctionId");
+        if (auctionId != null && ("auction:" + auctionId).equals(payload.get("channel"))) {
+            long seq = payload.get("seq") instanceof Number number ? number.longValue() : 0L;
+            eventLog.record(auctionId.toString(), seq, payload);
+        }
+        sseBroadcaster.publish(destinations, payload);
+        if ("BID_UPDATE".equals(payload.get("type")) && auctionId != null) {
+            messagingTemplate.convertAndSend("/topic/auction/" + auctionId + "/bids", payload);
+            priceTicker.offer(auctionId.toString(), destinations, payload);
+            return;
+        }
+        
+        if (auctionId != null) {
+            // Don't let a stale conflated price arrive after this event
+            priceTicker.flush(auctionId.toString());
+        }
+        for (String destination : destinations) {
+            messagingTemplate.convertAndSend(destination, payload);
+        }
+        if (auctionId != null) {
+            compactEncoder.publish(auctionId.toString(), payload);
+        }
+        if ("AUCTIONS_ENDED".equals(payload.get("type"))) {
+            notifyWatchedAuctionsEnded(payload);
+        }
+    }
+    
+    // Auctions watched from this node also get a full update on their own topic
+    private void notifyWatchedAuctionsEnded(Map<String, Object> batch) {
+        for (Object entry : (List<?>) batch.get("auctions")) {
+            Map<?, ?> summary = (Map<?, ?>) entry;
+            String auctionId = summary.get("auctionId").toString();
+            
+            Map<String, Object> compactUpdate = new HashMap<>();
+            compactUpdate.put("type", "AUCTION_UPDATE");
+            compactUpdate.put("status", "ENDED");
+            compactUpdate.put("currentPrice", summary.get("finalPrice"));
+            compactUpdate.put("seq", batch.get("seq"));
+            compactEncoder.publish(auctionId, compactUpdate);
+            
+            if (sessionRegistry.hasSubscribers(auctionId)) {
+                Map<String, Object> auctionUpdate = new HashMap<>();
+                auctionUpdate.put("type", "AUCTION_UPDATE");
+                auctionUpdate.put("auctionId", auctionId);
+                auctionUpdate.put("auction", auctionService.getAuction(auctionId));
+                auctionUpdate.put("logicalTimestamp", batch.get("logicalTimestamp"));
+                auctionUpdate.put("serverTime", LocalDateTime.now());
+                messagingTemplate.convertAndSend("/topic/auction/" + auctionId, auctionUpdate);
+            }
         }
     }
     
@@ -254,9 +438,19 @@ public class AuctionWebSocketHandler {
      */
     public Map<String, Object> getStatistics() {
         Map<String, Object> stats = new HashMap<>();
-        stats.put("activeConnections", userSessions.size());
-        stats.put("auctionSubscribers", new HashMap<>(auctionSubscribers));
+        stats.put("activeConnections", sessionRegistry.getConnectionCount());
+        stats.put("authenticatedSessions", sessionRegistry.getAuthenticatedSessionCount());
+        stats.put("auctionSubscribers", sessionRegistry.getSubscriberCounts());
+        stats.put("cluster", sessionRegistry.getClusterAggregates());
         stats.put("logicalClock", lamportClockService.getCurrentTime());
+        stats.put("clusterEvents", eventBridge.getStatistics());
+        stats.put("priceTicker", priceTicker.getStatistics());
+        stats.put("listFeed", listFeed.getStatistics());
+        stats.put("compactFrames", compactEncoder.getStatistics());
+        stats.put("resume", eventLog.getStatistics());
+        stats.put("backpressure", backpressure.getStatistics());
+        stats.put("bidPipeline", bidPipeline.getStatistics());
+        stats.put("sse", sseBroadcaster.getStatistics());
         return stats;
     }
 }
\ No newline at end of file
@@ -0,0 +1,171 @@
+package com.auction.system.websocket;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Runs WebSocket bids off the inbound channel thread.
+ *
+ * Each bid is handed to a bounded executor and the ack or nack is sent later to the
+ * session's /queue/bid-response, carrying the client's correlation id. A session can
+ * have a limited number of bids in flight; beyond that, or when the executor is full,
+ * bids are nacked straight away instead of queueing.
+ *
+ * The executor is striped by auction: bids on one auction always run on the same
+ * single thread, in arrival order, because placeBid reads and then writes the current
+ * price. Bids on different auctions still run in parallel.
+ */
+@Component
+public class BidSubmissionPipeline {
+
+    private static final Logger logger = LoggerFactory.getLogger(BidSubmissionPipeline.class);
+
+    public static final String RESPONSE_DESTINATION = "/queue/bid-response";
+
+    @Value("${app.websocket.bids.threads:8}")
+    private int threads;
+
+    @Value("${app.websocket.bids.queue-capacity:1000}")
+    private int queueCapacity;
+
+    @Value("${app.websocket.bids.max-in-flight-per-session:8}")
+    private int maxInFlightPerSession;
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    private ThreadPoolExecutor[] stripes;
+
+    private final Map<String, AtomicInteger> inFlightBySession = new ConcurrentHashMap<>();
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    @PostConstruct
+    public void start() {
+        stripes = new ThreadPoolExecutor[threads];
+        int stripeCapacity = Math.max(1, queueCapacity / threads);
+        for (int i = 0; i < threads; i++) {
+            String name = "websocket-bid-" + (i + 1);
+            stripes[i] = new ThreadPoolExecutor(1, 1, 0, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(stripeCapacity), r -> {
+                    Thread thread = new Thread(r, name);
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        }
+    }
+
+    @PreDestroy
+    public void cleanup() {
+        for (ThreadPoolExecutor stripe : stripes) {
+            stripe.shutdown();
+        }
+    }
+
+    @EventListener
+    public void onSessionDisconnect(SessionDisconnectEvent event) {
+        inFlightBySession.remove(event.getSessionId());
+    }
+
+    /**
+     * Run a bid asynchronously, after any earlier bid on the same auction, and send its
+     * response to the session when done
+     */
+    public void submit(String sessionId, String correlationId, String auctionId, Supplier<Map<String, Object>> bid) {
+        AtomicInteger inFlight = inFlightBySession.computeIfAbsent(sessionId, id -> new AtomicInteger());
+        if (inFlight.incrementAndGet() > maxInFlightPerSession) {
+            inFlight.decrementAndGet();
+            reject(sessionId, correlationId, "Too many bids in flight (max " + maxInFlightPerSession + ")");
+            return;
+        }
+
+        try {
+            stripeFor(auctionId).execute(() -> {
+                try {
+                    reply(sessionId, correlationId, bid.get());
+                    completed.increment();
+                } catch (Exception e) {
+                    logger.error("Failed to process WebSocket bid {}", correlationId, e);
+                    reply(sessionId, correlationId, error(e.getMessage()));
+                } finally {
+                    inFlight.decrementAndGet();
+                }
+            });
+            submitted.increment();
+        } catch (RejectedExecutionException e) {
+            inFlight.decrementAndGet();
+            reject(sessionId, correlationId, "Server busy, please retry");
+        }
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("submitted", submitted.sum());
+        stats.put("completed", completed.sum());
+        stats.put("rejected", rejected.sum());
+        int queued = 0;
+        int active = 0;
+        int busiestStripe = 0;
+        for (ThreadPoolExecutor stripe : stripes) {
+            queued += stripe.getQueue().size();
+            active += stripe.getActiveCount();
+            busiestStripe = Math.max(busiestStripe, stripe.getQueue().size());
+        }
+        stats.put("queued", queued);
+        stats.put("activeThreads", active);
+        stats.put("busiestStripeQueued", busiestStripe);
+        stats.put("stripes", stripes.length);
+        stats.put("maxInFlightPerSession", maxInFlightPerSession);
+        return stats;
+    }
+
+    private ThreadPoolExecutor stripeFor(String auctionId) {
+        return stripes[auctionId != null ? Math.floorMod(auctionId.hashCode(), stripes.length) : 0];
+    }
+
+    private void reject(String sessionId, String correlationId, String reason) {
+        rejected.increment();
+        Map<String, Object> response = error(reason);
+        response.put("rejected", true);
+        reply(sessionId, correlationId, response);
+    }
+
+    private Map<String, Object> error(String message) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("type", "BID_ERROR");
+        response.put("success", false);
+        response.put("error", message);
+        return response;
+    }
+
+    private void reply(String sessionId, String correlationId, Map<String, Object> response) {
+        response.put("correlationId", correlationId);
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        headers.setSessionId(sessionId);
+        headers.setLeaveMutable(true);
+        messagingTemplate.convertAndSendToUser(sessionId, RESPONSE_DESTINATION, response, headers.getMessageHeaders());
+    }
+}
@@ -0,0 +1,214 @@
+package com.auction.system.websocket;
+
+import com.auction.system.service.DistributedCoordinatorService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cluster-wide fan-out of auction events over Redis pub/sub.
+ *
+ * The simple STOMP broker only reaches clients connected to the local JVM, so each
+ * event is published once to Redis and every node (including the publisher)
+ * re-emits it to its own subscribers. Events carry a sequence number per logical
+ * channel (one per auction, plus the global auction feed) so clients can detect
+ * gaps; the number is assigned and the event published in one script, so events
+ * reach subscribers in sequence order. If Redis is unavailable the event is still
+ * delivered locally, without a sequence number. Each channel's counter is its own
+ * key and expires sequence-ttl-hours after the channel's last event, so counters of
+ * ended auctions do not pile up.
+ */
+@Component
+public class ClusterEventBridge implements MessageListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClusterEventBridge.class);
+
+    public static final String EVENTS_TOPIC = "auction-events";
+    private static final String SEQUENCE_KEY_PREFIX = "auction-events:seq:";
+    // Single hash of every channel's counter used by older servers; drained as channels move
+    private static final String LEGACY_SEQUENCE_KEY = "auction-events:seq";
+
+    // KEYS[1] channel counter, KEYS[2] legacy hash;
+    // ARGV: channel, topic, envelope JSON without its seq field, counter TTL in ms
+    private static final RedisScript<Long> SEQUENCE_AND_PUBLISH = new DefaultRedisScript<>(
+        "if redis.call('EXISTS', KEYS[1]) == 0 then\n" +
+        "  local legacy = redis.call('HGET', KEYS[2], ARGV[1])\n" +
+        "  if legacy then\n" +
+        "    redis.call('SET', KEYS[1], legacy)\n" +
+        "    redis.call('HDEL', KEYS[2], ARGV[1])\n" +
+        "  end\n" +
+        "end\n" +
+        "local seq = redis.call('INCR', KEYS[1])\n" +
+        "redis.call('PEXPIRE', KEYS[1], ARGV[4])\n" +
+        "redis.call('PUBLISH', ARGV[2], '{\"seq\":' .. seq .. ',' .. string.sub(ARGV[3], 2))\n" +
+        "return seq", Long.class);
+
+    @Value("${app.websocket.cluster-events.sequence-ttl-hours:24}")
+    private long sequenceTtlHours;
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Autowired
+    private RedisMessageListenerContainer listenerContainer;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private DistributedCoordinatorService coordinatorService;
+
+    @Autowired
+    private AuctionWebSocketHandler webSocketHandler;
+
+    private final LongAdder published = new LongAdder();
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder localFallbacks = new LongAdder();
+    private final LongAdder latencyTotalMs = new LongAdder();
+    private final AtomicLong latencyMaxMs = new AtomicLong(0);
+
+    @PostConstruct
+    public void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(EVENTS_TOPIC));
+    }
+
+    /**
+     * Publish an event to every node's local subscribers of the given destinations
+     */
+    public void publish(String channel, List<String> destinations, Map<String, Object> payload) {
+        ClusterEvent event = new ClusterEvent();
+        event.setChannel(channel);
+        event.setOrigin(coordinatorService.getServerId());
+        event.setDestinations(destinations);
+        event.setPayload(payload);
+
+        try {
+            event.setPublishedAt(System.currentTimeMillis());
+            ObjectNode envelope = objectMapper.valueToTree(event);
+            envelope.remove("seq");
+            stringRedisTemplate.execute(SEQUENCE_AND_PUBLISH, List.of(SEQUENCE_KEY_PREFIX + channel, LEGACY_SEQUENCE_KEY),
+                channel, EVENTS_TOPIC, objectMapper.writeValueAsString(envelope),
+                String.valueOf(TimeUnit.HOURS.toMillis(sequenceTtlHours)));
+            published.increment();
+        } catch (Exception e) {
+            logger.warn("Failed to publish event on {} to the cluster, delivering locally: {}", channel, e.getMessage());
+            localFallbacks.increment();
+            event.setPublishedAt(System.currentTimeMillis());
+            deliver(event);
+        }
+    }
+
+    /**
+     * Last sequence number issued on a channel, or 0 if unknown
+     */
+    public long currentSeq(String channel) {
+        try {
+            Object seq = stringRedisTemplate.opsForValue().get(SEQUENCE_KEY_PREFIX + channel);
+            if (seq == null) {
+                // Not published since the move to per-channel keys
+                seq = stringRedisTemplate.opsForHash().get(LEGACY_SEQUENCE_KEY, channel);
+            }
+            return seq != null ? Long.parseLong(seq.toString()) : 0L;
+        } catch (Exception e) {
+            logger.warn("Failed to read sequence for {}: {}", channel, e.getMessage());
+            return 0L;
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            ClusterEvent event = objectMapper.readValue(
+                new String(message.getBody(), StandardCharsets.UTF_8), ClusterEvent.class);
+            deliver(event);
+        } catch (Exception e) {
+            logger.error("Failed to handle cluster event", e);
+        }
+    }
+
+    private void deliver(ClusterEvent event) {
+        Map<String, Object> payload = event.getPayload();
+        payload.put("channel", event.getChannel());
+        if (event.getSeq() != null) {
+            payload.put("seq", event.getSeq());
+        } else {
+            // Local fallback: not part of the channel's sequence, so not resumable
+            payload.remove("seq");
+        }
+        payload.put("originServerId", event.getOrigin());
+
+        webSocketHandler.deliverClusterEvent(event.getDestinations(), payload);
+
+        // Cross-node latency includes any wall-clock skew between servers
+        long latency = Math.max(0, System.currentTimeMillis() - event.getPublishedAt());
+        delivered.increment();
+        latencyTotalMs.add(latency);
+        latencyMaxMs.accumulateAndGet(latency, Math::max);
+    }
+
+    /**
+     * Publish and delivery counters plus publish-to-deliver latency
+     */
+    public Map<String, Object> getStatistics() {
+        long deliveredCount = delivered.sum();
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("published", published.sum());
+        stats.put("delivered", deliveredCount);
+        stats.put("localFallbacks", localFallbacks.sum());
+        stats.put("avgDeliveryLatencyMs", deliveredCount == 0 ? 0.0 : (double) latencyTotalMs.sum() / deliveredCount);
+        stats.put("maxDeliveryLatencyMs", latencyMaxMs.get());
+        return stats;
+    }
+
+    /**
+     * Envelope published on the Redis topic
+     */
+    public static class ClusterEvent {
+        private String channel;
+        private Long seq;
+        private int origin;
+        private long publishedAt;
+        private List<String> destinations;
+        private Map<String, Object> payload;
+
+        public ClusterEvent() {}
+
+        public String getChannel() { return channel; }
+        public void setChannel(String channel) { this.channel = channel; }
+
+        public Long getSeq() { return seq; }
+        public void setSeq(Long seq) { this.seq = seq; }
+
+        public int getOrigin() { return origin; }
+        public void setOrigin(int origin) { this.origin = origin; }
+
+        public long getPublishedAt() { return publishedAt; }
+        public void setPublishedAt(long publishedAt) { this.publishedAt = publishedAt; }
+
+        public List<String> getDestinations() { return destinations; }
+        public void setDestinations(List<String> destinations) { this.destinations = destinations; }
+
+        public Map<String, Object> getPayload() { return payload; }
+        public void setPayload(Map<String, Object> payload) { this.payload = payload; }
+    }
+}
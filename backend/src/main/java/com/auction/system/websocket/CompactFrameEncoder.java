@@ -0,0 +1,240 @@
+package com.auction.system.websocket;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Opt-in compact binary encoding of auction updates.
+ *
+ * Clients opt in by subscribing to /topic/auction/{id}/compact instead of (or next to)
+ * the JSON topic. Each update is encoded once and the same bytes go to every compact
+ * subscriber; nothing is encoded for auctions without one. Binary bodies need the raw
+ * /ws-raw endpoint, as SockJS transports are text-only.
+ *
+ * Frame layout (big-endian):
+ * <pre>
+ *   u8  version (1)
+ *   u8  type     1 = price/bid, 2 = auction update, 3 = ended
+ *   u8  flags    1 = bid fields, 2 = end time, 4 = status
+ *   i64 seq      channel sequence number (0 if unknown)
+ *   16B auctionId
+ *   i64 price    in cents
+ *   [bid]      16B bidderId, i64 bid time (epoch ms), i32 logical timestamp, u8 server id
+ *   [end time] i64 epoch ms, only when it changed since the last frame for the auction
+ *   [status]   u8 0 = ACTIVE, 1 = ENDED, 2 = other
+ * </pre>
+ */
+@Component
+public class CompactFrameEncoder {
+
+    private static final Logger logger = LoggerFactory.getLogger(CompactFrameEncoder.class);
+
+    public static final String COMPACT_SUFFIX = "/compact";
+
+    private static final byte VERSION = 1;
+    private static final byte TYPE_PRICE = 1;
+    private static final byte TYPE_AUCTION_UPDATE = 2;
+    private static final byte TYPE_ENDED = 3;
+    private static final byte FLAG_BID = 1;
+    private static final byte FLAG_END_TIME = 2;
+    private static final byte FLAG_STATUS = 4;
+    private static final int HEADER_SIZE = 3 + 8 + 16 + 8;
+    private static final int BID_SIZE = 16 + 8 + 4 + 1;
+    private static final int END_TIME_SIZE = 8;
+    private static final int STATUS_SIZE = 1;
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Compact subscriptions per auction, and "session:subscription" -> auction for unsubscribe
+    private final Map<String, Integer> subscribersByAuction = new ConcurrentHashMap<>();
+    private final Map<String, String> auctionBySubscription = new ConcurrentHashMap<>();
+    private final Map<String, Long> lastEndTimeByAuction = new ConcurrentHashMap<>();
+
+    private final LongAdder framesEncoded = new LongAdder();
+    private final LongAdder bytesEncoded = new LongAdder();
+
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        String auctionId = compactAuctionId(accessor.getDestination());
+        if (auctionId != null) {
+            auctionBySubscription.put(accessor.getSessionId() + ":" + accessor.getSubscriptionId(), auctionId);
+            subscribersByAuction.merge(auctionId, 1, Integer::sum);
+        }
+    }
+
+    @EventListener
+    public void onUnsubscribe(SessionUnsubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        removeSubscription(accessor.getSessionId() + ":" + accessor.getSubscriptionId());
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        String prefix = event.getSessionId() + ":";
+        for (String key : auctionBySubscription.keySet()) {
+            if (key.startsWith(prefix)) {
+                removeSubscription(key);
+            }
+        }
+    }
+
+    /**
+     * Encode an auction event once and send it to the auction's compact subscribers, if any
+     */
+    public void publish(String auctionId, Map<String, Object> payload) {
+        if (!subscribersByAuction.containsKey(auctionId)) {
+            return;
+        }
+        try {
+            Long endTime = toEpochMillis(payload.get("endTime"));
+            boolean endTimeChanged = endTime != null && !endTime.equals(lastEndTimeByAuction.get(auctionId));
+            byte[] frame = encode(auctionId, payload, endTimeChanged ? endTime : null);
+            if (frame == null) {
+                return;
+            }
+            Map<String, Object> headers = Map.of(MessageHeaders.CONTENT_TYPE, MimeTypeUtils.APPLICATION_OCTET_STREAM);
+            messagingTemplate.convertAndSend("/topic/auction/" + auctionId + COMPACT_SUFFIX, frame, headers);
+            framesEncoded.increment();
+            bytesEncoded.add(frame.length);
+
+            // Only an end time that actually went out counts as known to clients
+            if (frame[1] == TYPE_ENDED) {
+                lastEndTimeByAuction.remove(auctionId);
+            } else if (endTimeChanged) {
+                lastEndTimeByAuction.put(auctionId, endTime);
+            }
+        } catch (Exception e) {
+            logger.warn("Failed to encode compact frame for auction {}: {}", auctionId, e.getMessage());
+        }
+    }
+
+    public Map<String, Object> getStatistics() {
+        long frames = framesEncoded.sum();
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("compactSubscriptions", auctionBySubscription.size());
+        stats.put("framesEncoded", frames);
+        stats.put("avgFrameBytes", frames == 0 ? 0.0 : (double) bytesEncoded.sum() / frames);
+        return stats;
+    }
+
+    private byte[] encode(String auctionId, Map<String, Object> payload, Long changedEndTime) {
+        Object type = payload.get("type");
+        byte frameType;
+        if ("BID_UPDATE".equals(type)) {
+            frameType = TYPE_PRICE;
+        } else if ("AUCTION_UPDATE".equals(type)) {
+            frameType = "ENDED".equals(payload.get("status")) ? TYPE_ENDED : TYPE_AUCTION_UPDATE;
+        } else {
+            return null;
+        }
+
+        Map<?, ?> bid = frameType == TYPE_PRICE ? asMap(payload.get("bid")) : null;
+        String status = (String) payload.get("status");
+
+        byte flags = 0;
+        int size = HEADER_SIZE;
+        if (bid != null) {
+            flags |= FLAG_BID;
+            size += BID_SIZE;
+        }
+        if (changedEndTime != null) {
+            flags |= FLAG_END_TIME;
+            size += END_TIME_SIZE;
+        }
+        if (status != null) {
+            flags |= FLAG_STATUS;
+            size += STATUS_SIZE;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.put(VERSION).put(frameType).put(flags);
+        buffer.putLong(payload.get("seq") instanceof Number seq ? seq.longValue() : 0L);
+        putUuid(buffer, UUID.fromString(auctionId));
+        buffer.putLong(toCents(payload.get("currentPrice")));
+
+        if (bid != null) {
+            putUuid(buffer, UUID.fromString(bid.get("bidderId").toString()));
+            Long bidTime = toEpochMillis(bid.get("timestamp"));
+            buffer.putLong(bidTime != null ? bidTime : 0L);
+            buffer.putInt(((Number) bid.get("logicalTimestamp")).intValue());
+            buffer.put(((Number) bid.get("serverId")).byteValue());
+        }
+        if (changedEndTime != null) {
+            buffer.putLong(changedEndTime);
+        }
+        if (status != null) {
+            buffer.put((byte) ("ACTIVE".equals(status) ? 0 : "ENDED".equals(status) ? 1 : 2));
+        }
+        return buffer.array();
+    }
+
+    private Map<?, ?> asMap(Object value) {
+        if (value == null) {
+            return null;
+        }
+        return value instanceof Map<?, ?> map ? map : objectMapper.convertValue(value, Map.class);
+    }
+
+    private static long toCents(Object price) {
+        if (price == null) {
+            return 0L;
+        }
+        return new BigDecimal(price.toString()).setScale(2, RoundingMode.HALF_UP).movePointRight(2).longValueExact();
+    }
+
+    private static Long toEpochMillis(Object time) {
+        if (time == null) {
+            return null;
+        }
+        LocalDateTime dateTime = time instanceof LocalDateTime local ? local : LocalDateTime.parse(time.toString());
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static void putUuid(ByteBuffer buffer, UUID uuid) {
+        buffer.putLong(uuid.getMostSignificantBits()).putLong(uuid.getLeastSignificantBits());
+    }
+
+    private static String compactAuctionId(String destination) {
+        if (destination == null || !destination.startsWith("/topic/auction/") || !destination.endsWith(COMPACT_SUFFIX)) {
+            return null;
+        }
+        return destination.substring("/topic/auction/".length(), destination.length() - COMPACT_SUFFIX.length());
+    }
+
+    private void removeSubscription(String key) {
+        String auctionId = auctionBySubscription.remove(key);
+        if (auctionId != null) {
+            subscribersByAuction.computeIfPresent(auctionId, (id, count) -> count > 1 ? count - 1 : null);
+            if (!subscribersByAuction.containsKey(auctionId)) {
+                lastEndTimeByAuction.remove(auctionId);
+            }
+        }
+    }
+}
@@ -0,0 +1,328 @@
+package com.auction.system.websocket;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Per-session limits on messages queued for the client outbound channel.
+ *
+ * Messages are counted when handed to the channel and released once written to (or
+ * buffered by) the session. When a session is over its limits the destination decides
+ * what happens: price-ticker topics are conflated to the latest message per destination
+ * and sent when the session drains, user queues disconnect the session, and anything
+ * else waits in a short overflow queue that gives up its oldest message when full, so
+ * a client that catches up sees the most recent state. Bytes buffered inside the
+ * session itself are bounded separately by the transport's send-time and buffer-size
+ * limits.
+ */
+@Component
+public class OutboundBackpressureInterceptor implements ExecutorChannelInterceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboundBackpressureInterceptor.class);
+
+    private static final Pattern TICKER_DESTINATION = Pattern.compile("^/topic/(auction/[^/]+(/compact)?|server-status)$");
+    private static final String COUNTED_HEADER = "backpressureCounted";
+
+    /**
+     * CONFLATE keeps the latest message per destination, DROP_OLDEST keeps the newest
+     * max-overflow-messages, DROP discards the new message, DISCONNECT closes the session.
+     */
+    public enum OverflowPolicy { CONFLATE, DROP_OLDEST, DROP, DISCONNECT }
+
+    @Value("${app.websocket.backpressure.max-queued-messages:500}")
+    private int maxQueuedMessages;
+
+    @Value("${app.websocket.backpressure.max-queued-bytes:1048576}")
+    private long maxQueuedBytes;
+
+    @Value("${app.websocket.backpressure.ticker-policy:CONFLATE}")
+    private OverflowPolicy tickerPolicy;
+
+    @Value("${app.websocket.backpressure.user-queue-policy:DISCONNECT}")
+    private OverflowPolicy userQueuePolicy;
+
+    @Value("${app.websocket.backpressure.default-policy:DROP_OLDEST}")
+    private OverflowPolicy defaultPolicy;
+
+    @Value("${app.websocket.backpressure.max-overflow-messages:100}")
+    private int maxOverflowMessages;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final Map<String, WebSocketSession> sessions = new ConcurrentHashMap<>();
+    private final Map<String, SessionQueue> queues = new ConcurrentHashMap<>();
+
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder conflated = new LongAdder();
+    private final LongAdder disconnected = new LongAdder();
+
+    /**
+     * Wrap the WebSocket handler so sessions can be found (and closed) by id
+     */
+    public WebSocketHandler decorate(WebSocketHandler handler) {
+        return new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                sessions.put(session.getId(), session);
+                super.afterConnectionEstablished(session);
+            }
+
+            @Override
+            public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+                sessions.remove(session.getId());
+                queues.remove(session.getId());
+                super.afterConnectionClosed(session, closeStatus);
+            }
+        };
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(message);
+        String sessionId = accessor.getSessionId();
+        if (accessor.getMessageType() != SimpMessageType.MESSAGE || sessionId == null || !sessions.containsKey(sessionId)) {
+            return message;
+        }
+
+        if (message.getHeaders().get(COUNTED_HEADER) != null) {
+            // Sent on from the overflow queue, already admitted
+            return message;
+        }
+
+        SessionQueue queue = queues.computeIfAbsent(sessionId, id -> new SessionQueue(channel));
+        int size = payloadSize(message, accessor);
+        OverflowPolicy policy = policyFor(accessor);
+        if (policy == OverflowPolicy.DROP_OLDEST && queue.hasOverflow()) {
+            // Older messages are still waiting; going ahead of them would reorder the stream
+            overflow(queue, message, size);
+            return null;
+        }
+        if (hasRoom(queue, size)) {
+            return queue.admit(message, size);
+        }
+
+        switch (policy) {
+            case CONFLATE -> {
+                // Latest wins; sent once the session drains
+                if (queue.conflated.put(accessor.getDestination(), message) != null) {
+                    conflated.increment();
+                }
+            }
+            case DROP_OLDEST -> overflow(queue, message, size);
+            case DISCONNECT -> disconnect(sessionId, queue);
+            default -> dropped.increment();
+        }
+        return null;
+    }
+
+    @Override
+    public void afterMessageHandled(Message<?> message, MessageChannel channel, MessageHandler handler, Exception ex) {
+        Object counted = message.getHeaders().get(COUNTED_HEADER);
+        if (counted == null) {
+            return;
+        }
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+        SessionQueue queue = queues.get(sessionId);
+        if (queue == null) {
+            return;
+        }
+        queue.release((Integer) counted);
+        drainOverflow(queue);
+
+        // Drained to half the limit: send what was conflated while the session was slow
+        if (!queue.conflated.isEmpty() && queue.messages.get() <= maxQueuedMessages / 2) {
+            for (String destination : new ArrayList<>(queue.conflated.keySet())) {
+                Message<?> latest = queue.conflated.remove(destination);
+                if (latest != null) {
+                    queue.channel.send(latest);
+                }
+            }
+        }
+    }
+
+    /**
+     * Gauges for sessions that are not keeping up
+     */
+    public Map<String, Object> getStatistics() {
+        List<Map<String, Object>> slowSessions = new ArrayList<>();
+        queues.forEach((sessionId, queue) -> {
+            if (queue.messages.get() > maxQueuedMessages / 2 || !queue.conflated.isEmpty() || queue.hasOverflow()) {
+                Map<String, Object> slow = new HashMap<>();
+                slow.put("sessionId", sessionId);
+                slow.put("queuedMessages", queue.messages.get());
+                slow.put("queuedBytes", queue.bytes.get());
+                slow.put("conflatedDestinations", queue.conflated.size());
+                slow.put("overflowMessages", queue.overflowSize());
+                slowSessions.add(slow);
+            }
+        });
+        slowSessions.sort(Comparator.comparing(slow -> -((Integer) slow.get("queuedMessages"))));
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("maxQueuedMessages", maxQueuedMessages);
+        stats.put("maxQueuedBytes", maxQueuedBytes);
+        stats.put("maxOverflowMessages", maxOverflowMessages);
+        stats.put("slowSessionCount", slowSessions.size());
+        stats.put("slowSessions", slowSessions.subList(0, Math.min(10, slowSessions.size())));
+        stats.put("queuedMessages", queues.values().stream().mapToInt(queue -> queue.messages.get()).sum());
+        stats.put("dropped", dropped.sum());
+        stats.put("conflated", conflated.sum());
+        stats.put("disconnected", disconnected.sum());
+        return stats;
+    }
+
+    private OverflowPolicy policyFor(SimpMessageHeaderAccessor accessor) {
+        String destination = accessor.getDestination();
+        if (accessor.getHeader(SimpMessageHeaderAccessor.ORIGINAL_DESTINATION) != null
+                || (destination != null && destination.startsWith("/queue/"))) {
+            return userQueuePolicy;
+        }
+        if (destination != null && TICKER_DESTINATION.matcher(destination).matches()) {
+            return tickerPolicy;
+        }
+        return defaultPolicy;
+    }
+
+    private boolean hasRoom(SessionQueue queue, int size) {
+        return queue.messages.get() < maxQueuedMessages && queue.bytes.get() + size <= maxQueuedBytes;
+    }
+
+    private void overflow(SessionQueue queue, Message<?> message, int size) {
+        synchronized (queue.overflow) {
+            queue.overflow.addLast(new Pending(message, size));
+            while (queue.overflow.size() > maxOverflowMessages) {
+                queue.overflow.pollFirst();
+                dropped.increment();
+            }
+        }
+        // The session may have drained while this was being queued
+        drainOverflow(queue);
+    }
+
+    // Hand waiting messages to the channel, oldest first, while the session has room
+    private void drainOverflow(SessionQueue queue) {
+        synchronized (queue.overflow) {
+            Pending next;
+            while ((next = queue.overflow.peekFirst()) != null && hasRoom(queue, next.size())) {
+                queue.overflow.pollFirst();
+                queue.channel.send(queue.admit(next.message(), next.size()));
+            }
+        }
+    }
+
+    private void disconnect(String sessionId, SessionQueue queue) {
+        if (!queue.closing.compareAndSet(false, true)) {
+            dropped.increment();
+            return;
+        }
+        WebSocketSession session = sessions.get(sessionId);
+        logger.warn("Closing slow WebSocket session {} ({} messages, {} bytes queued)",
+                   sessionId, queue.messages.get(), queue.bytes.get());
+        disconnected.increment();
+        try {
+            if (session != null) {
+                session.close(CloseStatus.SESSION_NOT_RELIABLE);
+            }
+        } catch (Exception e) {
+            logger.warn("Failed to close slow session {}: {}", sessionId, e.getMessage());
+        }
+    }
+
+    // Bytes the message will take on the wire, so max-queued-bytes holds for any payload type
+    private int payloadSize(Message<?> message, SimpMessageHeaderAccessor accessor) {
+        Object payload = message.getPayload();
+        if (payload instanceof byte[] bytes) {
+            return bytes.length;
+        }
+        if (payload instanceof String text) {
+            return text.getBytes(StandardCharsets.UTF_8).length;
+        }
+        String contentLength = accessor.getFirstNativeHeader(StompHeaderAccessor.STOMP_CONTENT_LENGTH_HEADER);
+        if (contentLength != null) {
+            try {
+                return Integer.parseInt(contentLength);
+            } catch (NumberFormatException e) {
+                // Fall through and measure it
+            }
+        }
+        try {
+            return objectMapper.writeValueAsBytes(payload).length;
+        } catch (Exception e) {
+            logger.debug("Could not measure {} payload: {}", payload.getClass().getSimpleName(), e.getMessage());
+            return 0;
+        }
+    }
+
+    private record Pending(Message<?> message, int size) {
+    }
+
+    // Outbound messages accepted for a session but not yet handed to it
+    private static class SessionQueue {
+        private final MessageChannel channel;
+        private final AtomicInteger messages = new AtomicInteger();
+        private final AtomicLong bytes = new AtomicLong();
+        private final Map<String, Message<?>> conflated = new ConcurrentHashMap<>();
+        // Guarded by itself
+        private final Deque<Pending> overflow = new ArrayDeque<>();
+        private final AtomicBoolean closing = new AtomicBoolean(false);
+
+        SessionQueue(MessageChannel channel) {
+            this.channel = channel;
+        }
+
+        Message<?> admit(Message<?> message, int size) {
+            messages.incrementAndGet();
+            bytes.addAndGet(size);
+            SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(message);
+            accessor.setHeader(COUNTED_HEADER, size);
+            return MessageBuilder.createMessage(message.getPayload(), accessor.getMessageHeaders());
+        }
+
+        void release(int size) {
+            messages.decrementAndGet();
+            bytes.addAndGet(-size);
+        }
+
+        boolean hasOverflow() {
+            return overflowSize() > 0;
+        }
+
+        int overflowSize() {
+            synchronized (overflow) {
+                return overflow.size();
+            }
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.auction.system.websocket;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionConnectedEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Registry of local STOMP sessions and the auctions they are subscribed to.
+ *
+ * Driven entirely by broker session events, so a tab that closes without
+ * unsubscribing is still removed on disconnect. Local counts are published to Redis
+ * periodically (with a TTL, so a dead node's counts expire) for cluster-wide totals.
+ */
+@Component
+public class WebSocketSessionRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(WebSocketSessionRegistry.class);
+
+    private static final Pattern AUCTION_DESTINATION = Pattern.compile("^/topic/auction/([^/]+)(/.*)?$");
+    private static final String COUNTS_KEY_PREFIX = "ws:subscribers:";
+    private static final String CONNECTIONS_FIELD = "_connections";
+    private static final Duration COUNTS_TTL = Duration.ofSeconds(30);
+
+    @Value("${app.server.id}")
+    private int serverId;
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    private final Map<String, SessionInfo> sessions = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> subscribersByAuction = new ConcurrentHashMap<>();
+
+    @EventListener
+    public void onConnected(SessionConnectedEvent event) {
+        String sessionId = StompHeaderAccessor.wrap(event.getMessage()).getSessionId();
+        if (sessionId != null) {
+            sessions.putIfAbsent(sessionId, new SessionInfo());
+        }
+    }
+
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        String destination = accessor.getDestination();
+        if (destination == null) {
+            return;
+        }
+        Matcher matcher = AUCTION_DESTINATION.matcher(destination);
+        if (!matcher.matches()) {
+            return;
+        }
+        String auctionId = matcher.group(1);
+        SessionInfo session = sessions.computeIfAbsent(accessor.getSessionId(), id -> new SessionInfo());
+        session.auctionBySubscription.put(accessor.getSubscriptionId(), auctionId);
+        subscribersByAuction.computeIfAbsent(auctionId, id -> ConcurrentHashMap.newKeySet()).add(accessor.getSessionId());
+    }
+
+    @EventListener
+    public void onUnsubscribe(SessionUnsubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        SessionInfo session = sessions.get(accessor.getSessionId());
+        if (session == null) {
+            return;
+        }
+        String auctionId = session.auctionBySubscription.remove(accessor.getSubscriptionId());
+        // A session can hold several subscriptions for one auction (/bids, /compact)
+        if (auctionId != null && !session.auctionBySubscription.containsValue(auctionId)) {
+            removeSubscriber(auctionId, accessor.getSessionId());
+        }
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        SessionInfo session = sessions.remove(event.getSessionId());
+        if (session != null) {
+            for (String auctionId : session.auctionBySubscription.values()) {
+                removeSubscriber(auctionId, event.getSessionId());
+            }
+        }
+    }
+
+    /**
+     * Associate the signed-in user with a session (sent by the client on /app/subscribe)
+     */
+    public void bindUser(String sessionId, String userId) {
+        SessionInfo session = sessions.get(sessionId);
+        if (session != null && userId != null) {
+            session.userId = userId;
+        }
+    }
+
+    public int getConnectionCount() {
+        return sessions.size();
+    }
+
+    public int getSubscriberCount(String auctionId) {
+        Set<String> subscribers = subscribersByAuction.get(auctionId);
+        return subscribers != null ? subscribers.size() : 0;
+    }
+
+    public boolean hasSubscribers(String auctionId) {
+        return subscribersByAuction.containsKey(auctionId);
+    }
+
+    public Map<String, Integer> getSubscriberCounts() {
+        Map<String, Integer> counts = new HashMap<>();
+        subscribersByAuction.forEach((auctionId, subscribers) -> counts.put(auctionId, subscribers.size()));
+        return counts;
+    }
+
+    public int getAuthenticatedSessionCount() {
+        return (int) sessions.values().stream().filter(session -> session.userId != null).count();
+    }
+
+    /**
+     * Publish this node's counts for the cluster-wide totals
+     */
+    @Scheduled(fixedDelay = 5000)
+    public void publishCounts() {
+        try {
+            String key = COUNTS_KEY_PREFIX + serverId;
+            Map<String, String> counts = new HashMap<>();
+            counts.put(CONNECTIONS_FIELD, String.valueOf(sessions.size()));
+            subscribersByAuction.forEach((auctionId, subscribers) -> counts.put(auctionId, String.valueOf(subscribers.size())));
+
+            stringRedisTemplate.delete(key);
+            stringRedisTemplate.opsForHash().putAll(key, counts);
+            stringRedisTemplate.expire(key, COUNTS_TTL);
+        } catch (Exception e) {
+            logger.warn("Failed to publish WebSocket session counts: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Connections and per-auction subscribers summed over every node that published recently
+     */
+    public Map<String, Object> getClusterAggregates() {
+        Map<Integer, Integer> connectionsPerServer = new HashMap<>();
+        Map<String, Integer> subscribers = new HashMap<>();
+        try (Cursor<String> keys = stringRedisTemplate.scan(ScanOptions.scanOptions().match(COUNTS_KEY_PREFIX + "*").build())) {
+            while (keys.hasNext()) {
+                String key = keys.next();
+                int server = Integer.parseInt(key.substring(COUNTS_KEY_PREFIX.length()));
+                stringRedisTemplate.opsForHash().entries(key).forEach((field, value) -> {
+                    int count = Integer.parseInt(value.toString());
+                    if (CONNECTIONS_FIELD.equals(field)) {
+                        connectionsPerServer.put(server, count);
+                    } else {
+                        subscribers.merge(field.toString(), count, Integer::sum);
+                    }
+                });
+            }
+        } catch (Exception e) {
+            logger.warn("Failed to read cluster WebSocket counts: {}", e.getMessage());
+            connectionsPerServer.put(serverId, sessions.size());
+            subscribers.putAll(getSubscriberCounts());
+        }
+
+        Map<String, Object> aggregates = new HashMap<>();
+        aggregates.put("connectionsPerServer", connectionsPerServer);
+        aggregates.put("totalConnections", connectionsPerServer.values().stream().mapToInt(Integer::intValue).sum());
+        aggregates.put("auctionSubscribers", subscribers);
+        return aggregates;
+    }
+
+    private void removeSubscriber(String auctionId, String sessionId) {
+        subscribersByAuction.computeIfPresent(auctionId, (id, subscribers) -> {
+            subscribers.remove(sessionId);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+    }
+
+    // What the registry knows about one STOMP session
+    private static class SessionInfo {
+        private final Map<String, String> auctionBySubscription = new ConcurrentHashMap<>();
+        private volatile String userId;
+    }
+}
@@ -0,0 +1,53 @@
+package com.auction.system;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Shared helpers for the standalone benchmark harnesses under src/test.
+ *
+ * The harnesses are plain main classes, not tests, so the build never runs them.
+ * Build a classpath once and run one directly, e.g.:
+ * <pre>
+ *   mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=target/bench.classpath
+ *   java -cp target/test-classes:target/classes:$(cat target/bench.classpath) \
+ *       com.auction.system.transport.ClusterTransportBenchmark nio
+ * </pre>
+ * Each harness documents its own arguments.
+ */
+public final class BenchmarkSupport {
+
+    private BenchmarkSupport() {}
+
+    /**
+     * Value at the given percentile (0-100) of unsorted samples; sorts the array in place
+     */
+    public static long percentile(long[] samples, int count, double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        Arrays.sort(samples, 0, count);
+        int index = (int) Math.ceil(percentile / 100.0 * count) - 1;
+        return samples[Math.max(0, Math.min(count - 1, index))];
+    }
+
+    public static String micros(long nanos) {
+        return String.format(Locale.ROOT, "%.1fus", nanos / 1000.0);
+    }
+
+    public static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.1fms", nanos / 1_000_000.0);
+    }
+
+    public static String rate(long count, long nanos) {
+        return String.format(Locale.ROOT, "%,.0f/s", nanos == 0 ? 0.0 : count * 1_000_000_000.0 / nanos);
+    }
+
+    public static String arg(String[] args, int index, String fallback) {
+        return args.length > index ? args[index] : fallback;
+    }
+
+    public static int intArg(String[] args, int index, int fallback) {
+        return args.length > index ? Integer.parseInt(args[index]) : fallback;
+    }
+}
@@ -0,0 +1,192 @@
+package com.auction.system.repository;
+
+import com.auction.system.BenchmarkSupport;
+import org.springframework.data.jpa.repository.Query;
+
+import java.math.BigDecimal;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Settles N expired auctions (default 10,000, three bids each) two ways against a real
+ * Postgres and reports the wall time of each:
+ * <ul>
+ *   <li>batch: AuctionRepository.settleExpiredBatch in chunks of the bulk batch size</li>
+ *   <li>single: the same statement for one auction per transaction, as the per-auction path pays</li>
+ * </ul>
+ * The statement is read from the repository's @Query, so the harness measures what ships.
+ * Rows are created under throwaway users and removed afterwards. Run it with the auction
+ * servers stopped, or their expiry sweep may settle the rows first.
+ *
+ * Arguments: [auctions] [batchSize] [jdbcUrl] [user] [password]
+ */
+public class SettlementBenchmark {
+
+    private static final Pattern PARAMETER = Pattern.compile(":(ids|now)\\b");
+    private static final int BIDS_PER_AUCTION = 3;
+    private static final int BIDDERS = 20;
+
+    public static void main(String[] args) throws Exception {
+        int auctions = BenchmarkSupport.intArg(args, 0, 10_000);
+        int batchSize = BenchmarkSupport.intArg(args, 1, 5000);
+        String url = BenchmarkSupport.arg(args, 2, "jdbc:postgresql://localhost:5432/auctiondb");
+        String user = BenchmarkSupport.arg(args, 3, "auctionuser");
+        String password = BenchmarkSupport.arg(args, 4, "auctionpass");
+
+        String sql = settleStatement();
+        List<String> parameters = new ArrayList<>();
+        Matcher matcher = PARAMETER.matcher(sql);
+        while (matcher.find()) {
+            parameters.add(matcher.group(1));
+        }
+        String jdbcSql = matcher.replaceAll(result -> "ids".equals(result.group(1)) ? "ANY(?)" : "?")
+            .replace("IN (ANY(?))", "= ANY(?)");
+
+        String tag = "bench-" + UUID.randomUUID().toString().substring(0, 8);
+        try (Connection conn = DriverManager.getConnection(url, user, password)) {
+            conn.setAutoCommit(false);
+            List<UUID> bidders = new ArrayList<>();
+            try {
+                UUID seller = insertUser(conn, tag + "-seller");
+                for (int i = 0; i < BIDDERS; i++) {
+                    bidders.add(insertUser(conn, tag + "-bidder-" + i));
+                }
+                conn.commit();
+
+                List<UUID> ids = insertExpiredAuctions(conn, seller, bidders, auctions);
+                long batchNanos = settle(conn, jdbcSql, parameters, ids, batchSize);
+                System.out.printf("batch  (%d per statement): %d auctions in %s, %s%n",
+                    batchSize, auctions, BenchmarkSupport.millis(batchNanos), BenchmarkSupport.rate(auctions, batchNanos));
+
+                reopen(conn, ids);
+                long singleNanos = settle(conn, jdbcSql, parameters, ids, 1);
+                System.out.printf("single (1 per transaction): %d auctions in %s, %s%n",
+                    auctions, BenchmarkSupport.millis(singleNanos), BenchmarkSupport.rate(auctions, singleNanos));
+            } finally {
+                conn.rollback();
+                cleanup(conn, tag);
+            }
+        }
+    }
+
+    private static String settleStatement() throws NoSuchMethodException {
+        return AuctionRepository.class.getMethod("settleExpiredBatch", Collection.class, LocalDateTime.class)
+            .getAnnotation(Query.class).value();
+    }
+
+    private static long settle(Connection conn, String sql, List<String> parameters, List<UUID> ids, int batchSize)
+            throws SQLException {
+        int settled = 0;
+        long start = System.nanoTime();
+        try (PreparedStatement statement = conn.prepareStatement(sql)) {
+            for (int from = 0; from < ids.size(); from += batchSize) {
+                List<UUID> batch = ids.subList(from, Math.min(from + batchSize, ids.size()));
+                Array idArray = conn.createArrayOf("uuid", batch.toArray());
+                Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+                for (int i = 0; i < parameters.size(); i++) {
+                    if ("ids".equals(parameters.get(i))) {
+                        statement.setArray(i + 1, idArray);
+                    } else {
+                        statement.setTimestamp(i + 1, now);
+                    }
+                }
+                try (ResultSet rows = statement.executeQuery()) {
+                    while (rows.next()) {
+                        settled++;
+                    }
+                }
+                conn.commit();
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        if (settled != ids.size()) {
+            System.out.printf("  warning: settled %d of %d (another process may be settling them)%n", settled, ids.size());
+        }
+        return elapsed;
+    }
+
+    private static UUID insertUser(Connection conn, String username) throws SQLException {
+        UUID id = UUID.randomUUID();
+        try (PreparedStatement statement = conn.prepareStatement(
+                "INSERT INTO users (id, username, email, password_hash, created_at, updated_at) " +
+                "VALUES (?, ?, ?, 'x', now(), now())")) {
+            statement.setObject(1, id);
+            statement.setString(2, username);
+            statement.setString(3, username + "@bench.invalid");
+            statement.executeUpdate();
+        }
+        return id;
+    }
+
+    private static List<UUID> insertExpiredAuctions(Connection conn, UUID seller, List<UUID> bidders, int count)
+            throws SQLException {
+        List<UUID> ids = new ArrayList<>(count);
+        Timestamp ended = Timestamp.valueOf(LocalDateTime.now().minusMinutes(1));
+        try (PreparedStatement auction = conn.prepareStatement(
+                "INSERT INTO auctions (id, title, starting_price, current_price, end_time, seller_id, status, " +
+                "created_at, updated_at) VALUES (?, ?, 10.00, ?, ?, ?, 'ACTIVE', now(), now())");
+             PreparedStatement bid = conn.prepareStatement(
+                "INSERT INTO bids (id, auction_id, bidder_id, amount, timestamp, logical_timestamp, server_id) " +
+                "VALUES (?, ?, ?, ?, ?, ?, 1)")) {
+            for (int i = 0; i < count; i++) {
+                UUID id = UUID.randomUUID();
+                ids.add(id);
+                auction.setObject(1, id);
+                auction.setString(2, "Benchmark auction " + i);
+                auction.setBigDecimal(3, BigDecimal.valueOf(10 + BIDS_PER_AUCTION));
+                auction.setTimestamp(4, ended);
+                auction.setObject(5, seller);
+                auction.addBatch();
+                for (int b = 1; b <= BIDS_PER_AUCTION; b++) {
+                    bid.setObject(1, UUID.randomUUID());
+                    bid.setObject(2, id);
+                    bid.setObject(3, bidders.get((i + b) % bidders.size()));
+                    bid.setBigDecimal(4, BigDecimal.valueOf(10 + b));
+                    bid.setTimestamp(5, ended);
+                    bid.setInt(6, b);
+                    bid.addBatch();
+                }
+                if (i % 1000 == 999) {
+                    auction.executeBatch();
+                    bid.executeBatch();
+                }
+            }
+            auction.executeBatch();
+            bid.executeBatch();
+        }
+        conn.commit();
+        return ids;
+    }
+
+    private static void reopen(Connection conn, List<UUID> ids) throws SQLException {
+        try (PreparedStatement statement = conn.prepareStatement(
+                "UPDATE auctions SET status = 'ACTIVE', winner_id = NULL, winner_name = NULL WHERE id = ANY(?)")) {
+            statement.setArray(1, conn.createArrayOf("uuid", ids.toArray()));
+            statement.executeUpdate();
+        }
+        conn.commit();
+    }
+
+    private static void cleanup(Connection conn, String tag) throws SQLException {
+        try (Statement statement = conn.createStatement()) {
+            String users = "(SELECT id FROM users WHERE username LIKE '" + tag + "-%')";
+            statement.executeUpdate("DELETE FROM bids WHERE bidder_id IN " + users);
+            statement.executeUpdate("DELETE FROM auctions WHERE seller_id IN " + users);
+            statement.executeUpdate("DELETE FROM users WHERE id IN " + users);
+        }
+        conn.commit();
+    }
+}
@@ -0,0 +1,157 @@
+package com.auction.system.service;
+
+import com.auction.system.repository.AuctionRepository;
+import com.auction.system.websocket.AuctionWebSocketHandler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AuctionExpirySchedulerTest {
+
+    // 10 ms ticks over 8 slots: deadlines more than 70 ms out start in the overflow queue
+    private static final long TICK_MS = 10;
+    private static final int WHEEL_SIZE = 8;
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private final AuctionService auctionService = mock(AuctionService.class);
+    private final SettlementOwnershipService ownershipService = mock(SettlementOwnershipService.class);
+    private AuctionExpiryScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        when(ownershipService.isLocalOwner(any())).thenReturn(true);
+
+        scheduler = new AuctionExpiryScheduler();
+        ReflectionTestUtils.setField(scheduler, "tickMs", TICK_MS);
+        ReflectionTestUtils.setField(scheduler, "wheelSize", WHEEL_SIZE);
+        ReflectionTestUtils.setField(scheduler, "bulkThreshold", 3);
+        ReflectionTestUtils.setField(scheduler, "bulkBatchSize", 100);
+        ReflectionTestUtils.setField(scheduler, "clock", (LongSupplier) now::get);
+        ReflectionTestUtils.setField(scheduler, "auctionService", auctionService);
+        ReflectionTestUtils.setField(scheduler, "ownershipService", ownershipService);
+        ReflectionTestUtils.setField(scheduler, "auctionRepository", mock(AuctionRepository.class));
+        ReflectionTestUtils.setField(scheduler, "webSocketHandler", mock(AuctionWebSocketHandler.class));
+        ReflectionTestUtils.setField(scheduler, "lamportClockService", mock(LamportClockService.class));
+        scheduler.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.cleanup();
+    }
+
+    @Test
+    void firesAWheelDeadlineOnItsTick() {
+        UUID auctionId = UUID.randomUUID();
+        scheduler.schedule(auctionId, at(now.get() + 35));
+
+        tickAt(now.get() + 39);
+        assertEquals(0, scheduler.getExpiredCount());
+
+        tickAt(now.get() + 1);
+        assertEquals(1, scheduler.getExpiredCount());
+        assertEquals(0, scheduler.getScheduledCount());
+        verify(auctionService, timeout(1000)).settleExpiredAuction(auctionId);
+    }
+
+    @Test
+    void cascadesAnOverflowDeadlineIntoTheWheel() {
+        UUID auctionId = UUID.randomUUID();
+        long deadline = now.get() + 500;
+        scheduler.schedule(auctionId, at(deadline));
+
+        tick();
+        tickAt(deadline - 1);
+        assertEquals(0, scheduler.getExpiredCount());
+
+        tickAt(deadline);
+        assertEquals(1, scheduler.getExpiredCount());
+        verify(auctionService, timeout(1000)).settleExpiredAuction(auctionId);
+    }
+
+    @Test
+    void firesAPastDeadlineOnTheNextTick() {
+        UUID auctionId = UUID.randomUUID();
+        scheduler.schedule(auctionId, at(now.get() - 5_000));
+
+        tick();
+        assertEquals(1, scheduler.getExpiredCount());
+        verify(auctionService, timeout(1000)).settleExpiredAuction(auctionId);
+    }
+
+    @Test
+    void firesARescheduledAuctionOnlyAtItsNewDeadline() {
+        UUID auctionId = UUID.randomUUID();
+        long start = now.get();
+        scheduler.schedule(auctionId, at(start + 30));
+        tick();
+        scheduler.schedule(auctionId, at(start + 600));
+        assertEquals(1, scheduler.getStaleEntryCount());
+
+        tickAt(start + 30);
+        assertEquals(0, scheduler.getExpiredCount());
+        assertEquals(0, scheduler.getStaleEntryCount());
+
+        tickAt(start + 600);
+        assertEquals(1, scheduler.getExpiredCount());
+        verify(auctionService, timeout(1000)).settleExpiredAuction(auctionId);
+    }
+
+    @Test
+    void skipsCancelledAuctions() {
+        UUID auctionId = UUID.randomUUID();
+        scheduler.schedule(auctionId, at(now.get() + 20));
+        tick();
+        scheduler.cancel(auctionId);
+
+        tickAt(now.get() + 100);
+        assertEquals(0, scheduler.getExpiredCount());
+        assertEquals(0, scheduler.getStaleEntryCount());
+        verify(auctionService, never()).settleExpiredAuction(auctionId);
+    }
+
+    @Test
+    void settlesBurstsInBulk() {
+        List<UUID> auctionIds = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+        long deadline = now.get() + 200;
+        for (UUID auctionId : auctionIds) {
+            scheduler.schedule(auctionId, at(deadline));
+        }
+
+        tickAt(deadline);
+        assertEquals(3, scheduler.getExpiredCount());
+        verify(auctionService, timeout(1000)).settleExpiredAuctions(anyList());
+        verify(auctionService, never()).settleExpiredAuction(any());
+    }
+
+    private void tickAt(long millis) {
+        now.set(millis);
+        tick();
+    }
+
+    private void tick() {
+        ReflectionTestUtils.invokeMethod(scheduler, "tick");
+    }
+
+    private static LocalDateTime at(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+    }
+}
@@ -0,0 +1,104 @@
+package com.auction.system.service;
+
+import com.auction.system.rmi.CoordinatorService.ReplicationBatch;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReplicationInboxTest {
+
+    private static final int ORIGIN = 2;
+
+    private final List<Long> applied = new ArrayList<>();
+    private final AtomicLong now = new AtomicLong(1_000);
+    private ReplicationInbox inbox;
+
+    @BeforeEach
+    void setUp() {
+        inbox = new ReplicationInbox(batch -> applied.add(batch.getBatchSeq()), 4, 5000, now::get);
+    }
+
+    @Test
+    void appliesInOrderBatchesImmediately() {
+        assertTrue(inbox.accept(batch(10, 1)));
+        assertTrue(inbox.accept(batch(10, 2)));
+        assertTrue(inbox.accept(batch(10, 3)));
+
+        assertEquals(List.of(1L, 2L, 3L), applied);
+    }
+
+    @Test
+    void holdsOutOfOrderBatchesUntilTheGapFills() {
+        inbox.accept(batch(10, 1));
+        inbox.accept(batch(10, 3));
+        inbox.accept(batch(10, 4));
+        assertEquals(List.of(1L), applied);
+
+        inbox.accept(batch(10, 2));
+        assertEquals(List.of(1L, 2L, 3L, 4L), applied);
+    }
+
+    @Test
+    void ignoresRetriesOfAppliedBatches() {
+        inbox.accept(batch(10, 1));
+        inbox.accept(batch(10, 2));
+        inbox.accept(batch(10, 1));
+
+        assertEquals(List.of(1L, 2L), applied);
+    }
+
+    @Test
+    void newEpochDropsHeldBatchesAndStartsFresh() {
+        inbox.accept(batch(10, 1));
+        inbox.accept(batch(10, 3));
+
+        inbox.accept(batch(11, 1));
+        inbox.accept(batch(11, 2));
+        // Late arrival from the abandoned epoch
+        inbox.accept(batch(10, 2));
+
+        assertEquals(List.of(1L, 1L, 2L), applied);
+    }
+
+    @Test
+    void restartedReceiverJoinsTheStreamWhereItIs() {
+        inbox.accept(batch(10, 812));
+        inbox.accept(batch(10, 814));
+        inbox.accept(batch(10, 813));
+
+        assertEquals(List.of(812L, 813L, 814L), applied);
+    }
+
+    @Test
+    void skipsAGapOnceTooManyBatchesAreHeld() {
+        inbox.accept(batch(10, 1));
+        for (long seq = 3; seq <= 7; seq++) {
+            inbox.accept(batch(10, seq));
+        }
+
+        assertEquals(List.of(1L, 3L, 4L, 5L, 6L, 7L), applied);
+        inbox.accept(batch(10, 2));
+        assertEquals(6, applied.size());
+    }
+
+    @Test
+    void skipsAGapThatStaysOpenTooLong() {
+        inbox.accept(batch(10, 1));
+        inbox.accept(batch(10, 3));
+        assertEquals(List.of(1L), applied);
+
+        now.addAndGet(5000);
+        inbox.accept(batch(10, 4));
+        assertEquals(List.of(1L, 3L, 4L), applied);
+    }
+
+    private static ReplicationBatch batch(long epoch, long seq) {
+        return new ReplicationBatch(ORIGIN, epoch, seq, new ArrayList<>());
+    }
+}
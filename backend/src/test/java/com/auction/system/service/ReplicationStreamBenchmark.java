@@ -0,0 +1,168 @@
+package com.auction.system.service;
+
+import com.auction.system.BenchmarkSupport;
+import com.auction.system.rmi.CoordinatorService;
+import com.auction.system.rmi.CoordinatorService.ReplicationBatch;
+import com.auction.system.rmi.CoordinatorService.ReplicationRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Replication throughput to a healthy peer while another peer is slowed down.
+ *
+ * Drives the real ReplicationStream with a fast peer and a peer whose replicateBatch
+ * takes a fixed delay, publishing N operations (default 100,000) from one thread in
+ * runs of the outbox batch size, as the outbox relay does. For each delay, reports the
+ * publish rate, and for each peer the operations delivered, delivery rate and
+ * operations dropped at its full queue. The fast peer's numbers should not move as the
+ * slow peer's delay grows.
+ *
+ * The replication log is not written: each append instead waits logWriteMicros
+ * (default 0) to stand in for one database round trip per run. Publish rates with 0
+ * are therefore an upper bound; pass a measured round trip to see the effect of the
+ * log write on publishing.
+ *
+ * Arguments: [operations] [slowPeerDelaysMs, comma separated] [logWriteMicros] [outboxBatchSize]
+ */
+public class ReplicationStreamBenchmark {
+
+    private static final int FAST_PEER = 2;
+    private static final int SLOW_PEER = 3;
+    private static final long DRAIN_TIMEOUT_MS = 30_000;
+
+    public static void main(String[] args) throws Exception {
+        int operations = BenchmarkSupport.intArg(args, 0, 100_000);
+        String delays = BenchmarkSupport.arg(args, 1, "0,10,100");
+        long logWriteMicros = BenchmarkSupport.intArg(args, 2, 0);
+        int outboxBatchSize = BenchmarkSupport.intArg(args, 3, 200);
+
+        run(operations / 10, 0, logWriteMicros, outboxBatchSize, false);
+        for (String delay : delays.split(",")) {
+            run(operations, Long.parseLong(delay.trim()), logWriteMicros, outboxBatchSize, true);
+        }
+        System.exit(0);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void run(int operations, long slowDelayMs, long logWriteMicros, int outboxBatchSize,
+                            boolean report) throws Exception {
+        PeerStub fast = new PeerStub(0);
+        PeerStub slow = new PeerStub(slowDelayMs);
+        Map<Integer, CoordinatorService> peers = Map.of(FAST_PEER, fast.service(), SLOW_PEER, slow.service());
+
+        DistributedCoordinatorService coordinator = mock(DistributedCoordinatorService.class);
+        when(coordinator.getPeerServices()).thenReturn(peers);
+        when(coordinator.getPeerService(anyInt())).thenAnswer(call -> peers.get(call.<Integer>getArgument(0)));
+
+        // Stands in for the log write: sequences the run after a fixed wait
+        ReplicationLog log = mock(ReplicationLog.class);
+        AtomicLong head = new AtomicLong();
+        doAnswer(call -> {
+            if (logWriteMicros > 0) {
+                TimeUnit.MICROSECONDS.sleep(logWriteMicros);
+            }
+            for (ReplicationRequest request : call.<List<ReplicationRequest>>getArgument(0)) {
+                request.setSequence(head.incrementAndGet());
+            }
+            return null;
+        }).when(log).appendAll(any());
+        when(log.getHead()).thenAnswer(call -> head.get());
+
+        ReplicationStream stream = new ReplicationStream();
+        ReflectionTestUtils.setField(stream, "serverId", 1);
+        ReflectionTestUtils.setField(stream, "batchSize", 100);
+        ReflectionTestUtils.setField(stream, "lingerMs", 5L);
+        ReflectionTestUtils.setField(stream, "maxInFlight", 4);
+        ReflectionTestUtils.setField(stream, "queueCapacity", 10_000);
+        ReflectionTestUtils.setField(stream, "retryAttempts", 3);
+        ReflectionTestUtils.setField(stream, "coordinatorService", coordinator);
+        ReflectionTestUtils.setField(stream, "replicationLog", log);
+
+        long start = System.nanoTime();
+        for (int from = 0; from < operations; from += outboxBatchSize) {
+            List<ReplicationRequest> run = new ArrayList<>(outboxBatchSize);
+            for (int i = from; i < Math.min(from + outboxBatchSize, operations); i++) {
+                run.add(request(i));
+            }
+            stream.publishAll(run);
+        }
+        long publishNanos = System.nanoTime() - start;
+
+        Map<Integer, Object> stats = (Map<Integer, Object>) stream.getStatistics().get("peers");
+        long deadline = System.currentTimeMillis() + DRAIN_TIMEOUT_MS;
+        while (System.currentTimeMillis() < deadline
+                && (fast.received.get() + dropped(stats, FAST_PEER) < operations
+                    || slow.received.get() + dropped(stats, SLOW_PEER) < operations)) {
+            Thread.sleep(50);
+            stats = (Map<Integer, Object>) stream.getStatistics().get("peers");
+        }
+
+        if (report) {
+            System.out.printf("slow peer +%dms, log write %dus: publish %s%n", slowDelayMs, logWriteMicros,
+                BenchmarkSupport.rate(operations, publishNanos));
+            report("fast", fast, start, dropped(stats, FAST_PEER));
+            report("slow", slow, start, dropped(stats, SLOW_PEER));
+        }
+        stream.cleanup();
+    }
+
+    private static void report(String label, PeerStub peer, long start, long dropped) {
+        long elapsed = Math.max(1, peer.lastReceivedAt.get() - start);
+        System.out.printf("  %s peer: %,d delivered in %s (%s), %,d dropped%n", label, peer.received.get(),
+            BenchmarkSupport.millis(elapsed), BenchmarkSupport.rate(peer.received.get(), elapsed), dropped);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static long dropped(Map<Integer, Object> peers, int peerId) {
+        Object peer = peers.get(peerId);
+        return peer != null ? ((Number) ((Map<String, Object>) peer).get("dropped")).longValue() : 0;
+    }
+
+    private static ReplicationRequest request(int i) {
+        Map<String, Object> data = new HashMap<>();
+        data.put("auctionId", UUID.randomUUID().toString());
+        data.put("amount", BigDecimal.valueOf(100 + i));
+        return new ReplicationRequest(UUID.randomUUID().toString(), "CREATE", "bids", UUID.randomUUID().toString(), data, i);
+    }
+
+    // A peer that accepts every batch after a fixed delay and counts what it got
+    private static class PeerStub {
+        private final long delayMs;
+        private final AtomicLong received = new AtomicLong();
+        private final AtomicLong lastReceivedAt = new AtomicLong();
+
+        PeerStub(long delayMs) {
+            this.delayMs = delayMs;
+        }
+
+        CoordinatorService service() {
+            return (CoordinatorService) Proxy.newProxyInstance(CoordinatorService.class.getClassLoader(),
+                new Class<?>[]{CoordinatorService.class}, (proxy, method, args) -> {
+                    if (!"replicateBatch".equals(method.getName())) {
+                        return method.getReturnType() == boolean.class ? Boolean.TRUE : null;
+                    }
+                    if (delayMs > 0) {
+                        TimeUnit.MILLISECONDS.sleep(delayMs);
+                    }
+                    received.addAndGet(((ReplicationBatch) args[0]).getRequests().size());
+                    lastReceivedAt.set(System.nanoTime());
+                    return true;
+                });
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package com.auction.system.transport;
+
+import com.auction.system.rmi.CoordinatorService.BidRequest;
+import com.auction.system.rmi.CoordinatorService.ElectionToken;
+import com.auction.system.rmi.CoordinatorService.HeartbeatResponse;
+import com.auction.system.rmi.CoordinatorService.Operation;
+import com.auction.system.rmi.CoordinatorService.ReplicationBatch;
+import com.auction.system.rmi.CoordinatorService.ReplicationRequest;
+import com.auction.system.rmi.CoordinatorService.ServerStatus;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BinaryCodecTest {
+
+    // Tags as BinaryCodec writes them
+    private static final byte STRING = 1;
+    private static final byte MAP = 9;
+    private static final byte LIST = 10;
+    private static final byte SERIALIZED = 127;
+
+    @Test
+    void roundTripsScalars() throws IOException {
+        UUID id = UUID.randomUUID();
+        LocalDateTime time = LocalDateTime.of(2024, 5, 1, 12, 30, 15, 123_000_000);
+        Object[] values = {null, "héllo", 42, 7L, 2.5, true, new BigDecimal("125.50"), id, time};
+
+        assertArrayEquals(values, roundTrip(values));
+    }
+
+    @Test
+    void roundTripsNestedMapsAndLists() throws IOException {
+        Map<String, Object> inner = new HashMap<>();
+        inner.put("amount", new BigDecimal("10.00"));
+        inner.put("ids", List.of(1, 2, 3));
+        Map<String, Object> outer = new HashMap<>();
+        outer.put("inner", inner);
+        outer.put("empty", new ArrayList<>());
+        outer.put("missing", null);
+
+        assertEquals(outer, roundTrip(new Object[]{outer})[0]);
+    }
+
+    @Test
+    void roundTripsNoArguments() throws IOException {
+        assertEquals(0, roundTrip(null).length);
+        assertEquals(0, roundTrip(new Object[0]).length);
+    }
+
+    @Test
+    void roundTripsCoordinatorTypes() throws IOException {
+        Map<String, Object> data = new HashMap<>();
+        data.put("auctionId", UUID.randomUUID().toString());
+        data.put("amount", new BigDecimal("99.99"));
+        ReplicationRequest request = new ReplicationRequest("op-1", "CREATE", "bids", UUID.randomUUID().toString(), data, 17);
+        request.setSequence(812);
+
+        Object[] decoded = roundTrip(new Object[]{
+            new BidRequest("a-1", "b-1", 12.5, 3, 2),
+            new HeartbeatResponse(true, 9, false),
+            new ElectionToken(3, List.of(1, 2, 3), true),
+            new Operation("INSERT", "auctions", "r-1", data),
+            new ServerStatus(2, true, 44, true, 1234L, 5),
+            new ReplicationBatch(1, 1_700_000_000_000L, 4, List.of(request))
+        });
+
+        BidRequest bid = (BidRequest) decoded[0];
+        assertEquals("a-1", bid.getAuctionId());
+        assertEquals("b-1", bid.getBidderId());
+        assertEquals(12.5, bid.getAmount());
+        assertEquals(3, bid.getLogicalTimestamp());
+        assertEquals(2, bid.getServerId());
+
+        HeartbeatResponse heartbeat = (HeartbeatResponse) decoded[1];
+        assertTrue(heartbeat.isAlive());
+        assertEquals(9, heartbeat.getLogicalClock());
+
+        ElectionToken token = (ElectionToken) decoded[2];
+        assertEquals(3, token.getCandidateId());
+        assertEquals(List.of(1, 2, 3), token.getParticipants());
+        assertTrue(token.isActive());
+
+        Operation operation = (Operation) decoded[3];
+        assertEquals("INSERT", operation.getType());
+        assertEquals("auctions", operation.getTable());
+        assertEquals("r-1", operation.getRecordId());
+        assertEquals(data, operation.getData());
+
+        ServerStatus status = (ServerStatus) decoded[4];
+        assertEquals(2, status.getServerId());
+        assertEquals(44, status.getLogicalClock());
+        assertEquals(1234L, status.getUptime());
+        assertEquals(5, status.getActiveConnections());
+
+        ReplicationBatch batch = (ReplicationBatch) decoded[5];
+        assertEquals(1, batch.getOriginServerId());
+        assertEquals(1_700_000_000_000L, batch.getStreamEpoch());
+        assertEquals(4, batch.getBatchSeq());
+        ReplicationRequest copy = batch.getRequests().get(0);
+        assertEquals("op-1", copy.getOperationId());
+        assertEquals("CREATE", copy.getOperationType());
+        assertEquals("bids", copy.getTableName());
+        assertEquals(request.getRecordId(), copy.getRecordId());
+        assertEquals(data, copy.getData());
+        assertEquals(17, copy.getLogicalTimestamp());
+        assertEquals(812, copy.getSequence());
+    }
+
+    @Test
+    void fallsBackToSerializationForOtherValueTypes() throws IOException {
+        LocalDate date = LocalDate.of(2024, 2, 29);
+
+        assertEquals(date, roundTrip(new Object[]{date})[0]);
+    }
+
+    @Test
+    void refusesSerializedClassesOutsideTheAllowList() throws IOException {
+        byte[] frame = BinaryCodec.encode(new Object[]{new java.util.Date()});
+
+        assertThrows(InvalidClassException.class, () -> BinaryCodec.decode(frame, 0, frame.length));
+    }
+
+    @Test
+    void refusesStringLongerThanTheFrame() throws IOException {
+        byte[] frame = frame(out -> {
+            out.writeByte(STRING);
+            out.writeInt(Integer.MAX_VALUE);
+            out.write(new byte[16]);
+        });
+
+        assertThrows(IOException.class, () -> BinaryCodec.decode(frame, 0, frame.length));
+    }
+
+    @Test
+    void refusesSerializedLengthLongerThanTheFrame() throws IOException {
+        byte[] frame = frame(out -> {
+            out.writeByte(SERIALIZED);
+            out.writeInt(1 << 30);
+        });
+
+        assertThrows(IOException.class, () -> BinaryCodec.decode(frame, 0, frame.length));
+    }
+
+    @Test
+    void refusesCollectionSizesTheFrameCannotHold() throws IOException {
+        byte[] list = frame(out -> {
+            out.writeByte(LIST);
+            out.writeInt(100_000_000);
+        });
+        byte[] map = frame(out -> {
+            out.writeByte(MAP);
+            out.writeInt(-1);
+        });
+
+        assertThrows(IOException.class, () -> BinaryCodec.decode(list, 0, list.length));
+        assertThrows(IOException.class, () -> BinaryCodec.decode(map, 0, map.length));
+    }
+
+    @Test
+    void refusesDeeplyNestedValues() throws IOException {
+        byte[] frame = frame(out -> {
+            for (int i = 0; i < 1000; i++) {
+                out.writeByte(LIST);
+                out.writeInt(1);
+            }
+            out.writeByte(0);
+        });
+
+        assertThrows(IOException.class, () -> BinaryCodec.decode(frame, 0, frame.length));
+    }
+
+    @Test
+    void decodesFromAnOffset() throws IOException {
+        byte[] encoded = BinaryCodec.encode(new Object[]{"value", 3});
+        byte[] padded = ByteBuffer.allocate(encoded.length + 8).put(new byte[4]).put(encoded).array();
+
+        assertEquals(Arrays.asList("value", 3), Arrays.asList(BinaryCodec.decode(padded, 4, encoded.length)));
+    }
+
+    @Test
+    void encodesNullArgumentsAsNull() throws IOException {
+        Object[] decoded = roundTrip(new Object[]{null, "x"});
+
+        assertNull(decoded[0]);
+        assertInstanceOf(String.class, decoded[1]);
+    }
+
+    private static Object[] roundTrip(Object[] values) throws IOException {
+        byte[] encoded = BinaryCodec.encode(values);
+        return BinaryCodec.decode(encoded, 0, encoded.length);
+    }
+
+    private interface Writer {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    // A one-argument frame with a hand-written value
+    private static byte[] frame(Writer value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(1);
+        value.write(out);
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,206 @@
+package com.auction.system.transport;
+
+import com.auction.system.BenchmarkSupport;
+import com.auction.system.rmi.CoordinatorService;
+import com.auction.system.rmi.CoordinatorService.HeartbeatResponse;
+import com.auction.system.rmi.CoordinatorService.ReplicationBatch;
+import com.auction.system.rmi.CoordinatorService.ReplicationRequest;
+import com.auction.system.rmi.CoordinatorService.ServerStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.InputStreamReader;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.rmi.server.UnicastRemoteObject;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coordinator calls per second and latency between two JVMs, NIO versus RMI transport.
+ *
+ * Starts a second JVM that serves a stub CoordinatorService over the chosen transport,
+ * connects to it (listening on port + 1 itself, as every node does) and has T threads
+ * call it back to back for a fixed time, first with heartbeats and then with
+ * 10-operation replication batches. Reports calls/sec and p50/p99/max latency for each.
+ *
+ * Arguments: [nio|rmi] [threads] [seconds] [port]
+ */
+public class ClusterTransportBenchmark {
+
+    private static final int BATCH_OPERATIONS = 10;
+    private static final long WARMUP_SECONDS = 2;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && "server".equals(args[0])) {
+            serve(args[1], Integer.parseInt(args[2]));
+            return;
+        }
+        String transportName = BenchmarkSupport.arg(args, 0, "nio");
+        int threads = BenchmarkSupport.intArg(args, 1, 16);
+        int seconds = BenchmarkSupport.intArg(args, 2, 10);
+        int port = BenchmarkSupport.intArg(args, 3, 1199);
+
+        Process server = startServer(transportName, port);
+        ClusterTransport transport = transport(transportName);
+        try {
+            // Like a node, the calling side listens too before it connects
+            transport.start(exported(transportName, stubService()), port + 1);
+            CoordinatorService peer = transport.connect("localhost", port);
+            ReplicationBatch batch = batch();
+            run(transportName + " heartbeat", threads, seconds, () -> peer.heartbeat(1));
+            run(transportName + " batch(" + BATCH_OPERATIONS + ")", threads, seconds, () -> peer.replicateBatch(batch));
+        } finally {
+            transport.shutdown();
+            server.destroy();
+        }
+        System.exit(0);
+    }
+
+    private interface Call {
+        void invoke() throws Exception;
+    }
+
+    private static void run(String label, int threads, int seconds, Call call) throws Exception {
+        long warmupEnd = System.nanoTime() + TimeUnit.SECONDS.toNanos(WARMUP_SECONDS);
+        long end = warmupEnd + TimeUnit.SECONDS.toNanos(seconds);
+        long[][] samples = new long[threads][];
+        int[] counts = new int[threads];
+        int[] errors = new int[threads];
+        CountDownLatch done = new CountDownLatch(threads);
+
+        for (int t = 0; t < threads; t++) {
+            int index = t;
+            Thread worker = new Thread(() -> {
+                long[] latencies = new long[1 << 16];
+                int count = 0;
+                long now;
+                while ((now = System.nanoTime()) < end) {
+                    try {
+                        call.invoke();
+                    } catch (Exception e) {
+                        errors[index]++;
+                        continue;
+                    }
+                    if (now >= warmupEnd) {
+                        if (count == latencies.length) {
+                            latencies = Arrays.copyOf(latencies, count * 2);
+                        }
+                        latencies[count++] = System.nanoTime() - now;
+                    }
+                }
+                samples[index] = latencies;
+                counts[index] = count;
+                done.countDown();
+            }, "bench-caller-" + t);
+            worker.start();
+        }
+        done.await();
+
+        int total = Arrays.stream(counts).sum();
+        long[] all = new long[total];
+        int offset = 0;
+        for (int t = 0; t < threads; t++) {
+            System.arraycopy(samples[t], 0, all, offset, counts[t]);
+            offset += counts[t];
+        }
+        System.out.printf("%-20s %d threads: %s, p50 %s, p99 %s, max %s, %d errors%n", label, threads,
+            BenchmarkSupport.rate(total, TimeUnit.SECONDS.toNanos(seconds)),
+            BenchmarkSupport.micros(BenchmarkSupport.percentile(all, total, 50)),
+            BenchmarkSupport.micros(BenchmarkSupport.percentile(all, total, 99)),
+            BenchmarkSupport.micros(BenchmarkSupport.percentile(all, total, 100)),
+            Arrays.stream(errors).sum());
+    }
+
+    private static Process startServer(String transportName, int port) throws Exception {
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        Process server = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                ClusterTransportBenchmark.class.getName(), "server", transportName, Integer.toString(port))
+            .redirectError(ProcessBuilder.Redirect.INHERIT)
+            .start();
+        BufferedReader output = new BufferedReader(new InputStreamReader(server.getInputStream(), StandardCharsets.UTF_8));
+        String line;
+        while ((line = output.readLine()) != null && !line.equals("READY")) {
+            // Skip start-up logging
+        }
+        if (line == null) {
+            throw new IllegalStateException("Benchmark server exited before it was ready");
+        }
+        // Keep draining its logging so a full pipe never stalls the server
+        Thread drain = new Thread(() -> output.lines().forEach(ignored -> {}), "bench-server-output");
+        drain.setDaemon(true);
+        drain.start();
+        return server;
+    }
+
+    // Runs in the second JVM until the parent closes its stdin
+    private static void serve(String transportName, int port) throws Exception {
+        ClusterTransport transport = transport(transportName);
+        transport.start(exported(transportName, stubService()), port);
+        System.out.println("READY");
+        System.out.flush();
+        while (System.in.read() >= 0) {
+            // Wait for the parent to go away
+        }
+        transport.shutdown();
+        System.exit(0);
+    }
+
+    private static ClusterTransport transport(String name) {
+        if ("rmi".equals(name)) {
+            RmiClusterTransport rmi = new RmiClusterTransport();
+            ReflectionTestUtils.setField(rmi, "timeoutMs", 5000L);
+            return rmi;
+        }
+        NioClusterTransport nio = new NioClusterTransport();
+        ReflectionTestUtils.setField(nio, "portOffset", 0);
+        ReflectionTestUtils.setField(nio, "timeoutMs", 5000L);
+        ReflectionTestUtils.setField(nio, "workerThreads", 8);
+        ReflectionTestUtils.setField(nio, "workerQueueCapacity", 1000);
+        return nio;
+    }
+
+    private static CoordinatorService exported(String transportName, CoordinatorService service) throws Exception {
+        if ("rmi".equals(transportName)) {
+            UnicastRemoteObject.exportObject(service, 0);
+        }
+        return service;
+    }
+
+    // Answers every call immediately, so only the transport is measured
+    private static CoordinatorService stubService() {
+        return (CoordinatorService) Proxy.newProxyInstance(CoordinatorService.class.getClassLoader(),
+            new Class<?>[]{CoordinatorService.class}, (proxy, method, args) -> switch (method.getName()) {
+                case "heartbeat" -> new HeartbeatResponse(true, 0, false);
+                case "getServerStatus" -> new ServerStatus(2, false, 0, true, 0L, 0);
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "equals" -> proxy == args[0];
+                case "toString" -> "BenchmarkCoordinatorService";
+                default -> method.getReturnType() == boolean.class ? Boolean.TRUE : null;
+            });
+    }
+
+    private static ReplicationBatch batch() {
+        List<ReplicationRequest> requests = new ArrayList<>();
+        for (int i = 0; i < BATCH_OPERATIONS; i++) {
+            Map<String, Object> data = new HashMap<>();
+            data.put("auctionId", UUID.randomUUID().toString());
+            data.put("bidderId", UUID.randomUUID().toString());
+            data.put("amount", new BigDecimal("125.50"));
+            data.put("logicalTimestamp", i);
+            ReplicationRequest request = new ReplicationRequest(UUID.randomUUID().toString(), "CREATE", "bids",
+                UUID.randomUUID().toString(), data, i);
+            request.setSequence(i + 1);
+            requests.add(request);
+        }
+        return new ReplicationBatch(1, System.currentTimeMillis(), 1, requests);
+    }
+}
@@ -0,0 +1,144 @@
+package com.auction.system.websocket;
+
+import com.auction.system.BenchmarkSupport;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompEncoder;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.MimeTypeUtils;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Bytes and CPU to deliver auction updates to N subscribers (default 10,000), JSON topic
+ * versus compact binary frames.
+ *
+ * Each update is encoded once, as the broker does: JSON with the application's Jackson
+ * setup, compact through the real CompactFrameEncoder. The result is then wrapped in a
+ * STOMP MESSAGE frame per subscriber, as the broker does for each session. Reports bytes
+ * per update, bytes on the wire per update across all subscribers, and CPU time per
+ * update for the one-off encode and for the fan-out.
+ *
+ * Arguments: [subscribers] [updates]
+ */
+public class CompactFrameBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int subscribers = BenchmarkSupport.intArg(args, 0, 10_000);
+        int updates = BenchmarkSupport.intArg(args, 1, 200);
+
+        ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+        String auctionId = UUID.randomUUID().toString();
+        List<Map<String, Object>> payloads = payloads(auctionId, updates);
+
+        // Warm both paths before measuring
+        run("json", subscribers / 10, payloads, auctionId, objectMapper, false);
+        run("compact", subscribers / 10, payloads, auctionId, objectMapper, false);
+
+        run("json", subscribers, payloads, auctionId, objectMapper, true);
+        run("compact", subscribers, payloads, auctionId, objectMapper, true);
+    }
+
+    private static void run(String format, int subscribers, List<Map<String, Object>> payloads, String auctionId,
+                            ObjectMapper objectMapper, boolean report) throws Exception {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        StompEncoder stompEncoder = new StompEncoder();
+        List<byte[]> encoded = new ArrayList<>(payloads.size());
+
+        long encodeStart = threads.getCurrentThreadCpuTime();
+        if ("json".equals(format)) {
+            for (Map<String, Object> payload : payloads) {
+                encoded.add(objectMapper.writeValueAsBytes(payload));
+            }
+        } else {
+            CompactFrameEncoder encoder = compactEncoder(auctionId, objectMapper, encoded);
+            for (Map<String, Object> payload : payloads) {
+                encoder.publish(auctionId, payload);
+            }
+        }
+        long encodeCpu = threads.getCurrentThreadCpuTime() - encodeStart;
+
+        String destination = "/topic/auction/" + auctionId + ("json".equals(format) ? "" : CompactFrameEncoder.COMPACT_SUFFIX);
+        long payloadBytes = 0;
+        long wireBytes = 0;
+        long fanOutStart = threads.getCurrentThreadCpuTime();
+        for (byte[] body : encoded) {
+            payloadBytes += body.length;
+            for (int s = 0; s < subscribers; s++) {
+                StompHeaderAccessor headers = StompHeaderAccessor.create(StompCommand.MESSAGE);
+                headers.setDestination(destination);
+                headers.setSubscriptionId("sub-" + s);
+                headers.setMessageId(Integer.toString(s));
+                headers.setContentType("json".equals(format) ? MimeTypeUtils.APPLICATION_JSON : MimeTypeUtils.APPLICATION_OCTET_STREAM);
+                wireBytes += stompEncoder.encode(MessageBuilder.createMessage(body, headers.getMessageHeaders())).length;
+            }
+        }
+        long fanOutCpu = threads.getCurrentThreadCpuTime() - fanOutStart;
+
+        if (report) {
+            int count = encoded.size();
+            System.out.printf("%-7s %,d subscribers: %.1f B/update payload, %,d B/update on the wire, "
+                    + "encode %s/update, fan-out %s/update%n",
+                format, subscribers, (double) payloadBytes / count, wireBytes / count,
+                BenchmarkSupport.micros(encodeCpu / count), BenchmarkSupport.millis(fanOutCpu / count));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static CompactFrameEncoder compactEncoder(String auctionId, ObjectMapper objectMapper, List<byte[]> sink) {
+        SimpMessagingTemplate template = new SimpMessagingTemplate((Message<?> message, long timeout) -> {
+            sink.add((byte[]) message.getPayload());
+            return true;
+        });
+        CompactFrameEncoder encoder = new CompactFrameEncoder();
+        ReflectionTestUtils.setField(encoder, "messagingTemplate", template);
+        ReflectionTestUtils.setField(encoder, "objectMapper", objectMapper);
+        ((Map<String, Integer>) ReflectionTestUtils.getField(encoder, "subscribersByAuction")).put(auctionId, 1);
+        return encoder;
+    }
+
+    // Bid updates as the auction topic carries them; every tenth one extends the end time
+    private static List<Map<String, Object>> payloads(String auctionId, int count) {
+        List<Map<String, Object>> payloads = new ArrayList<>(count);
+        LocalDateTime endTime = LocalDateTime.now().plusMinutes(5);
+        for (int i = 0; i < count; i++) {
+            if (i % 10 == 0) {
+                endTime = endTime.plusSeconds(60);
+            }
+            BigDecimal price = BigDecimal.valueOf(100 + i).setScale(2);
+            Map<String, Object> bid = new HashMap<>();
+            bid.put("id", UUID.randomUUID().toString());
+            bid.put("auctionId", auctionId);
+            bid.put("bidderId", UUID.randomUUID().toString());
+            bid.put("amount", price);
+            bid.put("timestamp", LocalDateTime.now());
+            bid.put("logicalTimestamp", i + 1);
+            bid.put("serverId", 1);
+
+            Map<String, Object> payload = new HashMap<>();
+            payload.put("type", "BID_UPDATE");
+            payload.put("auctionId", auctionId);
+            payload.put("currentPrice", price);
+            payload.put("endTime", endTime);
+            payload.put("status", "ACTIVE");
+            payload.put("bid", bid);
+            payload.put("logicalTimestamp", i + 1);
+            payload.put("seq", (long) i + 1);
+            payloads.add(payload);
+        }
+        return payloads;
+    }
+}
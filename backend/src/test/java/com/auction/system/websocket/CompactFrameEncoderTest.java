@@ -0,0 +1,170 @@
+package com.auction.system.websocket;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+/**
+ * Frames are read back at the offsets frontend/src/services/compactFrame.js uses,
+ * so a layout change on either side shows up here.
+ */
+class CompactFrameEncoderTest {
+
+    // Offsets and flags as decodeCompactFrame reads them
+    private static final int VERSION = 0;
+    private static final int TYPE = 1;
+    private static final int FLAGS = 2;
+    private static final int SEQ = 3;
+    private static final int AUCTION_ID = 11;
+    private static final int PRICE = 27;
+    private static final int OPTIONAL_FIELDS = 35;
+    private static final int BID_SIZE = 29;
+    private static final int FLAG_BID = 1;
+    private static final int FLAG_END_TIME = 2;
+    private static final int FLAG_STATUS = 4;
+
+    private final UUID auctionId = UUID.randomUUID();
+    private final SimpMessagingTemplate messagingTemplate = mock(SimpMessagingTemplate.class);
+    private CompactFrameEncoder encoder;
+
+    @BeforeEach
+    void setUp() {
+        encoder = new CompactFrameEncoder();
+        ReflectionTestUtils.setField(encoder, "messagingTemplate", messagingTemplate);
+        ReflectionTestUtils.setField(encoder, "objectMapper", new ObjectMapper());
+    }
+
+    @Test
+    void bidFrameMatchesTheClientLayout() {
+        subscribe();
+        UUID bidderId = UUID.randomUUID();
+        LocalDateTime bidTime = LocalDateTime.of(2024, 5, 1, 12, 30, 15, 250_000_000);
+        LocalDateTime endTime = LocalDateTime.of(2024, 5, 1, 13, 0);
+
+        ByteBuffer frame = publish(bidUpdate(42L, "125.50", bidderId, bidTime, endTime));
+
+        assertEquals(OPTIONAL_FIELDS + BID_SIZE + 8, frame.limit());
+        assertEquals(1, frame.get(VERSION));
+        assertEquals(1, frame.get(TYPE));
+        assertEquals(FLAG_BID | FLAG_END_TIME, frame.get(FLAGS));
+        assertEquals(42L, frame.getLong(SEQ));
+        assertEquals(auctionId, uuid(frame, AUCTION_ID));
+        assertEquals(12550L, frame.getLong(PRICE));
+
+        int offset = OPTIONAL_FIELDS;
+        assertEquals(bidderId, uuid(frame, offset));
+        assertEquals(epochMillis(bidTime), frame.getLong(offset + 16));
+        assertEquals(7, frame.getInt(offset + 24));
+        assertEquals(3, frame.get(offset + 28) & 0xff);
+        assertEquals(epochMillis(endTime), frame.getLong(offset + BID_SIZE));
+    }
+
+    @Test
+    void sendsTheEndTimeOnlyWhenItChanges() {
+        subscribe();
+        LocalDateTime endTime = LocalDateTime.of(2024, 5, 1, 13, 0);
+
+        publish(bidUpdate(1L, "10.00", UUID.randomUUID(), LocalDateTime.now(), endTime));
+        ByteBuffer unchanged = publish(bidUpdate(2L, "11.00", UUID.randomUUID(), LocalDateTime.now(), endTime), 2);
+
+        assertEquals(FLAG_BID, unchanged.get(FLAGS));
+        assertEquals(OPTIONAL_FIELDS + BID_SIZE, unchanged.limit());
+    }
+
+    @Test
+    void endedAuctionUpdateCarriesItsStatus() {
+        subscribe();
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("type", "AUCTION_UPDATE");
+        payload.put("status", "ENDED");
+        payload.put("currentPrice", new BigDecimal("99.99"));
+
+        ByteBuffer frame = publish(payload);
+
+        assertEquals(OPTIONAL_FIELDS + 1, frame.limit());
+        assertEquals(3, frame.get(TYPE));
+        assertEquals(FLAG_STATUS, frame.get(FLAGS));
+        assertEquals(0L, frame.getLong(SEQ));
+        assertEquals(9999L, frame.getLong(PRICE));
+        assertEquals(1, frame.get(OPTIONAL_FIELDS));
+    }
+
+    @Test
+    void encodesNothingWithoutCompactSubscribers() {
+        encoder.publish(auctionId.toString(),
+            bidUpdate(1L, "10.00", UUID.randomUUID(), LocalDateTime.now(), LocalDateTime.now()));
+
+        verifyNoInteractions(messagingTemplate);
+    }
+
+    private void subscribe() {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.SUBSCRIBE);
+        accessor.setSessionId("session-1");
+        accessor.setSubscriptionId("sub-1");
+        accessor.setDestination("/topic/auction/" + auctionId + CompactFrameEncoder.COMPACT_SUFFIX);
+        Message<byte[]> message = MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+        encoder.onSubscribe(new SessionSubscribeEvent(this, message));
+    }
+
+    private ByteBuffer publish(Map<String, Object> payload) {
+        return publish(payload, 1);
+    }
+
+    // The frame sent by the sends-th publish so far
+    private ByteBuffer publish(Map<String, Object> payload, int sends) {
+        encoder.publish(auctionId.toString(), payload);
+        ArgumentCaptor<Object> body = ArgumentCaptor.forClass(Object.class);
+        verify(messagingTemplate, times(sends)).convertAndSend(
+            eq("/topic/auction/" + auctionId + CompactFrameEncoder.COMPACT_SUFFIX), body.capture(), anyMap());
+        return ByteBuffer.wrap(assertInstanceOf(byte[].class, body.getValue()));
+    }
+
+    private Map<String, Object> bidUpdate(long seq, String price, UUID bidderId, LocalDateTime bidTime, LocalDateTime endTime) {
+        Map<String, Object> bid = new HashMap<>();
+        bid.put("bidderId", bidderId.toString());
+        bid.put("timestamp", bidTime);
+        bid.put("logicalTimestamp", 7);
+        bid.put("serverId", 3);
+
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("type", "BID_UPDATE");
+        payload.put("seq", seq);
+        payload.put("currentPrice", new BigDecimal(price));
+        payload.put("bid", bid);
+        payload.put("endTime", endTime);
+        return payload;
+    }
+
+    private static UUID uuid(ByteBuffer frame, int offset) {
+        return new UUID(frame.getLong(offset), frame.getLong(offset + 8));
+    }
+
+    private static long epochMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,220 @@
+package com.auction.system.websocket;
+
+import com.auction.system.BenchmarkSupport;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.WebSocket;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Watchers one node can hold over SSE versus STOMP, and how quickly they hear about bids.
+ *
+ * Opens N read-only watchers on one auction against a running node, either SSE streams
+ * (/api/auctions/{id}/stream) or raw STOMP sessions (/ws-raw) subscribed to the auction
+ * topic, then places bids through REST and times each watcher's first sight of each new
+ * price. Reports how many watchers connected, delivery ratio and p50/p99/max delivery
+ * latency, then the node's own webSocketStats. Repeat with growing N per transport to
+ * find where a node stops keeping up.
+ *
+ * The client needs enough file descriptors for N sockets (ulimit -n).
+ *
+ * Arguments: sse|stomp watchers auctionId bidderId [baseUrl] [bids]
+ */
+public class WatcherCapacityBenchmark {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final Map<BigDecimal, Long> sentAt = new ConcurrentHashMap<>();
+    private final AtomicInteger connected = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private final long[] latencies;
+    private final AtomicInteger latencyCount = new AtomicInteger();
+
+    private WatcherCapacityBenchmark(int capacity) {
+        this.latencies = new long[capacity];
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 4) {
+            System.err.println("Arguments: sse|stomp watchers auctionId bidderId [baseUrl] [bids]");
+            return;
+        }
+        String mode = args[0];
+        int watchers = Integer.parseInt(args[1]);
+        String auctionId = args[2];
+        String bidderId = args[3];
+        String baseUrl = BenchmarkSupport.arg(args, 4, "http://localhost:8081");
+        int bids = BenchmarkSupport.intArg(args, 5, 20);
+
+        WatcherCapacityBenchmark benchmark = new WatcherCapacityBenchmark(watchers * bids);
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10)).build();
+
+        CountDownLatch opened = new CountDownLatch(watchers);
+        long openStart = System.nanoTime();
+        for (int i = 0; i < watchers; i++) {
+            if ("sse".equals(mode)) {
+                benchmark.openSse(client, baseUrl, auctionId, opened);
+            } else {
+                benchmark.openStomp(client, baseUrl, auctionId, opened);
+            }
+        }
+        opened.await(60, TimeUnit.SECONDS);
+        long openNanos = System.nanoTime() - openStart;
+        System.out.printf("%s: %,d of %,d watchers connected (%,d failed) in %s%n", mode,
+            benchmark.connected.get(), watchers, benchmark.failed.get(), BenchmarkSupport.millis(openNanos));
+
+        benchmark.placeBids(client, baseUrl, auctionId, bidderId, bids);
+        Thread.sleep(5000);
+
+        int count = benchmark.latencyCount.get();
+        long expected = (long) benchmark.connected.get() * benchmark.sentAt.size();
+        System.out.printf("delivered %,d of %,d (%.1f%%), latency p50 %s, p99 %s, max %s%n",
+            count, expected, expected == 0 ? 0.0 : 100.0 * count / expected,
+            BenchmarkSupport.millis(BenchmarkSupport.percentile(benchmark.latencies, count, 50)),
+            BenchmarkSupport.millis(BenchmarkSupport.percentile(benchmark.latencies, count, 99)),
+            BenchmarkSupport.millis(BenchmarkSupport.percentile(benchmark.latencies, count, 100)));
+
+        try {
+            HttpResponse<String> status = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/admin/status")).build(),
+                HttpResponse.BodyHandlers.ofString());
+            System.out.println("node webSocketStats: " + MAPPER.readTree(status.body()).path("webSocketStats"));
+        } catch (Exception e) {
+            System.out.println("Could not read node status: " + e.getMessage());
+        }
+        System.exit(0);
+    }
+
+    private void placeBids(HttpClient client, String baseUrl, String auctionId, String bidderId, int bids) throws Exception {
+        JsonNode auction = MAPPER.readTree(client.send(
+            HttpRequest.newBuilder(URI.create(baseUrl + "/api/auctions/" + auctionId)).build(),
+            HttpResponse.BodyHandlers.ofString()).body());
+        BigDecimal price = auction.path("currentPrice").decimalValue();
+        for (int i = 0; i < bids; i++) {
+            price = price.add(BigDecimal.ONE);
+            sentAt.put(price.stripTrailingZeros(), System.nanoTime());
+            String body = MAPPER.writeValueAsString(Map.of("bidderId", bidderId, "amount", price));
+            HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/auctions/" + auctionId + "/bids"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body)).build(), HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                sentAt.remove(price.stripTrailingZeros());
+                System.out.printf("bid %s rejected with %d%n", price, response.statusCode());
+            }
+            // Space bids out so conflation on the auction topic does not merge them
+            Thread.sleep(250);
+        }
+    }
+
+    private void received(String json, Set<BigDecimal> seen) {
+        long now = System.nanoTime();
+        try {
+            JsonNode price = MAPPER.readTree(json).path("currentPrice");
+            if (!price.isNumber()) {
+                return;
+            }
+            BigDecimal amount = price.decimalValue().stripTrailingZeros();
+            Long sent = sentAt.get(amount);
+            if (sent != null && seen.add(amount)) {
+                int index = latencyCount.getAndIncrement();
+                if (index < latencies.length) {
+                    latencies[index] = now - sent;
+                }
+            }
+        } catch (Exception e) {
+            // Not an auction update
+        }
+    }
+
+    private void openSse(HttpClient client, String baseUrl, String auctionId, CountDownLatch opened) {
+        Set<BigDecimal> seen = ConcurrentHashMap.newKeySet();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/auctions/" + auctionId + "/stream"))
+            .header("Accept", "text/event-stream").build();
+        client.sendAsync(request, HttpResponse.BodyHandlers.fromLineSubscriber(new Flow.Subscriber<String>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                connected.incrementAndGet();
+                opened.countDown();
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(String line) {
+                if (line.startsWith("data:")) {
+                    received(line.substring(5), seen);
+                }
+            }
+
+            @Override
+            public void onError(Throwable throwable) {}
+
+            @Override
+            public void onComplete() {}
+        })).exceptionally(e -> {
+            failed.incrementAndGet();
+            opened.countDown();
+            return null;
+        });
+    }
+
+    private void openStomp(HttpClient client, String baseUrl, String auctionId, CountDownLatch opened) {
+        Set<BigDecimal> seen = ConcurrentHashMap.newKeySet();
+        URI uri = URI.create(baseUrl.replaceFirst("^http", "ws") + "/ws-raw");
+        client.newWebSocketBuilder().buildAsync(uri, new WebSocket.Listener() {
+            private final StringBuilder buffer = new StringBuilder();
+
+            @Override
+            public void onOpen(WebSocket webSocket) {
+                webSocket.sendText("CONNECT\naccept-version:1.2\nhost:" + uri.getHost() + "\nheart-beat:0,0\n\n\0", true);
+                webSocket.request(1);
+            }
+
+            @Override
+            public CompletionStage<?> onText(WebSocket webSocket, CharSequence data, boolean last) {
+                buffer.append(data);
+                int end;
+                while ((end = buffer.indexOf("\0")) >= 0) {
+                    String frame = buffer.substring(0, end);
+                    buffer.delete(0, end + 1);
+                    handleFrame(webSocket, frame.stripLeading());
+                }
+                webSocket.request(1);
+                return null;
+            }
+
+            private void handleFrame(WebSocket webSocket, String frame) {
+                if (frame.startsWith("CONNECTED")) {
+                    webSocket.sendText("SUBSCRIBE\nid:0\ndestination:/topic/auction/" + auctionId + "\n\n\0", true);
+                    connected.incrementAndGet();
+                    opened.countDown();
+                } else if (frame.startsWith("MESSAGE")) {
+                    int body = frame.indexOf("\n\n");
+                    if (body >= 0) {
+                        received(frame.substring(body + 2), seen);
+                    }
+                }
+            }
+
+            @Override
+            public void onError(WebSocket webSocket, Throwable error) {}
+        }).exceptionally(e -> {
+            failed.incrementAndGet();
+            opened.countDown();
+            return null;
+        });
+    }
+}
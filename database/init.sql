@@ -21,10 +21,14 @@ CREATE TABLE IF NOT EXISTS auctions (
     end_time TIMESTAMP NOT NULL,
     seller_id UUID REFERENCES users(id),
     status VARCHAR(20) DEFAULT 'ACTIVE',
+    extension_count INTEGER NOT NULL DEFAULT 0,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
 );
 
+-- Databases created before soft-close counts were stored
+ALTER TABLE auctions ADD COLUMN IF NOT EXISTS extension_count INTEGER NOT NULL DEFAULT 0;
+
 -- Bids table
 CREATE TABLE IF NOT EXISTS bids (
     id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
@@ -61,6 +65,7 @@ CREATE TABLE IF NOT EXISTS replication_log (
     id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
     operation_id VARCHAR(100) NOT NULL,
     server_id INTEGER NOT NULL,
+    origin_seq BIGINT NOT NULL,
     operation_type VARCHAR(50) NOT NULL,
     table_name VARCHAR(50) NOT NULL,
     record_id UUID,
@@ -69,12 +74,47 @@ CREATE TABLE IF NOT EXISTS replication_log (
     applied_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
 );
 
+-- Databases created before per-origin sequences: add the column and number the
+-- existing entries of each origin in the order they were logged
+ALTER TABLE replication_log ADD COLUMN IF NOT EXISTS origin_seq BIGINT;
+UPDATE replication_log r SET origin_seq = n.seq
+FROM (
+    SELECT id, COALESCE(MAX(origin_seq) OVER (PARTITION BY server_id), 0)
+               + ROW_NUMBER() OVER (PARTITION BY server_id, origin_seq IS NULL ORDER BY applied_at, id) AS seq,
+           origin_seq IS NULL AS missing
+    FROM replication_log
+) n
+WHERE r.id = n.id AND n.missing;
+ALTER TABLE replication_log ALTER COLUMN origin_seq SET NOT NULL;
+
+-- Outbox of post-commit side effects (replication, cache eviction, broadcasts)
+CREATE TABLE IF NOT EXISTS outbox_events (
+    id BIGSERIAL PRIMARY KEY,
+    server_id INTEGER NOT NULL,
+    event_type VARCHAR(50) NOT NULL,
+    payload TEXT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP,
+    dead_lettered_at TIMESTAMP
+);
+
+-- Retry bookkeeping for databases created before it existed
+ALTER TABLE outbox_events ADD COLUMN IF NOT EXISTS attempts INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE outbox_events ADD COLUMN IF NOT EXISTS next_attempt_at TIMESTAMP;
+ALTER TABLE outbox_events ADD COLUMN IF NOT EXISTS dead_lettered_at TIMESTAMP;
+
+-- Change feed: the notify_auction_change() function and its triggers on auctions and
+-- bids are installed by the application at startup (DatabaseChangeFeed), not here
+
 -- Indexes for performance
 CREATE INDEX IF NOT EXISTS idx_auctions_end_time ON auctions(end_time);
 CREATE INDEX IF NOT EXISTS idx_bids_auction_id ON bids(auction_id);
 CREATE INDEX IF NOT EXISTS idx_bids_timestamp ON bids(timestamp);
 CREATE INDEX IF NOT EXISTS idx_transaction_log_transaction_id ON transaction_log(transaction_id);
 CREATE INDEX IF NOT EXISTS idx_replication_log_operation_id ON replication_log(operation_id);
+CREATE UNIQUE INDEX IF NOT EXISTS idx_replication_log_origin_seq ON replication_log(server_id, origin_seq);
+CREATE INDEX IF NOT EXISTS idx_outbox_events_server_id ON outbox_events(server_id, id);
 
 -- Insert initial server states
 INSERT INTO server_state (server_id, is_coordinator, logical_clock) VALUES 
@@ -42,10 +42,9 @@ function AuctionDetail() {
       loadBids();
       connectWebSocket();
 
-      // Refresh auction data every 5 seconds
+      // Refresh auction data every 5 seconds; bids arrive over WebSocket and are resumed on reconnect
       const interval = setInterval(() => {
         loadAuction();
-        loadBids();
       }, 5000);
 
       return () => {
@@ -90,28 +89,74 @@ function AuctionDetail() {
         return;
       }
 
+      // Opt in to binary price frames with REACT_APP_COMPACT_FRAMES=true; takes effect
+      // only if this page opens the connection
+      if (process.env.REACT_APP_COMPACT_FRAMES === 'true') {
+        WebSocketService.enableCompactFrames();
+      }
       await WebSocketService.connect();
       setConnected(true);
       
-      // Subscribe to auction updates for real-time notifications
-      WebSocketService.subscribeToAuction(id, (update) => {
-        console.log('Received auction update:', update);
+      if (WebSocketService.usesCompactFrames()) {
+        // Conflated price/status updates; the end time is only sent when it changes
+        WebSocketService.subscribeToAuctionCompact(id, (frame) => {
+          setAuction(prev => {
+            const next = {...prev, currentPrice: frame.currentPrice};
+            if (frame.status && frame.status !== 'OTHER') {
+              next.status = frame.status;
+            }
+            if (frame.endTime && !moment(frame.endTime).isSame(moment(prev.endTime))) {
+              message.info('Late bid received - auction extended');
+              next.endTime = moment(frame.endTime).format('YYYY-MM-DDTHH:mm:ss');
+            }
+            return next;
+          });
+          if (frame.bid) {
+            setLogicalTimestamp(frame.bid.logicalTimestamp);
+          }
+        });
+      } else {
+        WebSocketService.subscribeToAuction(id, (update) => {
+          console.log('Received auction update:', update);
         
+          if (update.type === 'BID_UPDATE') {
+            // Conflated: only the latest price, bid history comes from the bids topic
+            setAuction(prev => {
+              // Soft close may have pushed the end time out
+              if (update.endTime && !moment(update.endTime).isSame(moment(prev.endTime))) {
+                message.info('Late bid received - auction extended');
+                return {...prev, currentPrice: update.bid.amount, endTime: update.endTime};
+              }
+              return {...prev, currentPrice: update.bid.amount};
+            });
+            setLogicalTimestamp(update.logicalTimestamp);
+          } else if (update.type === 'AUCTION_UPDATE') {
+            setAuction(update.auction);
+            setLogicalTimestamp(update.logicalTimestamp);
+          }
+        });
+      }
+
+      // Every bid for the history list
+      WebSocketService.subscribeToAuctionBids(id, (update) => {
         if (update.type === 'BID_UPDATE') {
-          setBids(prev => [update.bid, ...prev]);
-          setAuction(prev => ({...prev, currentPrice: update.bid.amount}));
-          setLogicalTimestamp(update.logicalTimestamp);
+          setBids(prev => prev.some(bid => bid.id === update.bid.id) ? prev : [update.bid, ...prev]);
           message.info(`New bid placed: $${update.bid.amount}`);
-        } else if (update.type === 'AUCTION_UPDATE') {
-          setAuction(update.auction);
-          setLogicalTimestamp(update.logicalTimestamp);
         }
       });
 
       // Subscribe to personal bid responses
       WebSocketService.subscribeToAuctionUpdates(id, user.id, (response) => {
         console.log('Bid response:', response);
-        if (response.type === 'BID_PLACED') {
+        if (response.type === 'SUBSCRIPTION_CONFIRMED' && response.auction) {
+          // Snapshot (first subscribe, or resume point evicted): merge its newest bids in
+          setAuction(response.auction);
+          setBids(prev => {
+            const known = new Set(prev.map(bid => bid.id));
+            const merged = [...prev, ...response.bids.filter(bid => !known.has(bid.id))];
+            return merged.sort((a, b) => moment(b.timestamp).valueOf() - moment(a.timestamp).valueOf());
+          });
+        } else if (response.type === 'BID_PLACED') {
           setLogicalTimestamp(response.logicalTimestamp);
         } else if (response.type === 'BID_ERROR') {
           message.error(response.error);
@@ -152,13 +197,24 @@ function AuctionDetail() {
         return;
       }
 
-      // Always use REST API for reliability
-      const bidData = {
-        bidderId: user.id,
-        amount: bidAmount
-      };
-      
-      const response = await auctionAPI.placeBid(id, bidData);
+      let response;
+      if (WebSocketService.isConnected()) {
+        // Pipelined over the open socket; a timeout or drop rejects rather than retrying,
+        // since the bid may already have been accepted
+        const result = await WebSocketService.placeBid(id, user.id, bidAmount);
+        if (!result.success) {
+          message.error(result.error || 'Failed to place bid. Please try again.');
+          setPlacingBid(false);
+          return;
+        }
+        response = { ...result.bid, logicalTimestamp: result.logicalTimestamp };
+      } else {
+        const bidData = {
+          bidderId: user.id,
+          amount: bidAmount
+        };
+        response = await auctionAPI.placeBid(id, bidData);
+      }
       
       if (response) {
         setBids(prev => [response, ...prev]);
@@ -170,7 +226,7 @@ function AuctionDetail() {
       setPlacingBid(false);
     } catch (error) {
       console.error('Failed to place bid:', error);
-      message.error(error.response?.data?.message || 'Failed to place bid. Please try again.');
+      message.error(error.response?.data?.message || error.message || 'Failed to place bid. Please try again.');
       setPlacingBid(false);
     }
   };
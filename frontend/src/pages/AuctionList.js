@@ -1,4 +1,4 @@
-import React, { useState, useEffect } from 'react';
+import React, { useState, useEffect, useRef } from 'react';
 import { useNavigate } from 'react-router-dom';
 import { Card, List, Button, Tag, Typography, Statistic, Row, Col, Space, message, Spin, Modal, Form, Input, InputNumber, DatePicker, Upload, Image } from 'antd';
 import { PlusOutlined, ClockCircleOutlined, FireOutlined, ReloadOutlined, UploadOutlined, PictureOutlined } from '@ant-design/icons';
@@ -24,16 +24,19 @@ function AuctionList() {
   const [uploadedImageUrl, setUploadedImageUrl] = useState(null);
   const [uploading, setUploading] = useState(false);
   const [form] = Form.useForm();
+  const changeToken = useRef(null);
 
   useEffect(() => {
     loadAuctions();
     loadServerStatus();
     connectWebSocket();
     
-    // Refresh data periodically
+    // Fall back to polling only while the live feed is unavailable, and then only for changes
     const interval = setInterval(() => {
-      loadAuctions();
-      loadServerStatus();
+      if (!WebSocketService.isConnected()) {
+        syncChanges();
+        loadServerStatus();
+      }
     }, 10000);
 
     return () => {
@@ -42,15 +45,19 @@ function AuctionList() {
     };
   }, []);
 
+  const isListed = (auction) =>
+    auction.status === 'ACTIVE' && moment(auction.endTime).isAfter(moment());
+
   const loadAuctions = async () => {
     try {
+      // Token first, so changes made during the full load are picked up by the next sync
+      const { token } = await auctionAPI.getAuctionChanges();
+      changeToken.current = token;
       const data = await auctionAPI.getActiveAuctions();
       // Filter out ended auctions - only show ACTIVE status
-      const activeAuctions = data.filter(auction => 
-        auction.status === 'ACTIVE' && 
-        moment(auction.endTime).isAfter(moment())
-      );
+      const activeAuctions = data.filter(isListed);
       setAuctions(activeAuctions);
+      WebSocketService.watchAuctions(activeAuctions.map(auction => auction.id));
       setLoading(false);
     } catch (error) {
       console.error('Failed to load auctions:', error);
@@ -59,6 +66,35 @@ function AuctionList() {
     }
   };
 
+  const syncChanges = async () => {
+    if (!changeToken.current) {
+      loadAuctions();
+      return;
+    }
+    try {
+      const changes = await auctionAPI.getAuctionChanges(changeToken.current);
+      if (changes.truncated) {
+        loadAuctions();
+        return;
+      }
+      changeToken.current = changes.token;
+      if (changes.auctions.length === 0) {
+        return;
+      }
+      const changed = new Map(changes.auctions.map(auction => [auction.id, auction]));
+      setAuctions(prev => {
+        const kept = prev
+          .filter(auction => !changed.has(auction.id) || isListed(changed.get(auction.id)))
+          .map(auction => changed.get(auction.id) || auction);
+        const known = new Set(prev.map(auction => auction.id));
+        const added = changes.auctions.filter(auction => !known.has(auction.id) && isListed(auction));
+        return [...added, ...kept];
+      });
+    } catch (error) {
+      console.error('Failed to sync auction changes:', error);
+    }
+  };
+
   const loadServerStatus = async () => {
     try {
       const status = await auctionAPI.getServerStatus();
@@ -73,13 +109,16 @@ function AuctionList() {
     try {
       await WebSocketService.connect();
       
-      // Subscribe to auction updates
-      WebSocketService.subscribeToAllAuctions((update) => {
-        console.log('Received auction update:', update);
-        if (update.type === 'BID_UPDATE' || update.type === 'AUCTION_UPDATE') {
-          loadAuctions(); // Refresh auctions list
-          setLogicalTimestamp(update.logicalTimestamp);
+      // Batched deltas for the auctions on this page
+      WebSocketService.subscribeToAuctionListFeed((frame) => {
+        if (frame.type !== 'AUCTION_LIST_DELTA') {
+          return;
+        }
+        if (frame.listChanged) {
+          loadAuctions(); // New auctions were created
+          return;
         }
+        applyListDeltas(frame.deltas);
       });
 
       // Subscribe to server status updates
@@ -94,6 +133,23 @@ function AuctionList() {
     }
   };
 
+  const applyListDeltas = (deltas) => {
+    const byId = new Map(deltas.map(delta => [delta.auctionId, delta]));
+    setAuctions(prev => prev
+      .map(auction => {
+        const delta = byId.get(auction.id);
+        if (!delta) return auction;
+        return {
+          ...auction,
+          currentPrice: delta.currentPrice ?? auction.currentPrice,
+          endTime: delta.endTime ?? auction.endTime,
+          status: delta.status ?? auction.status,
+          bidCount: (auction.bidCount || 0) + (delta.newBids || 0),
+        };
+      })
+      .filter(auction => auction.status === 'ACTIVE'));
+  };
+
   const getTimeRemaining = (endTime) => {
     const now = moment();
     const end = moment(endTime);
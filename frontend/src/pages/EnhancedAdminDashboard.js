@@ -46,6 +46,8 @@ function EnhancedAdminDashboard() {
   const [auctions, setAuctions] = useState([]);
   const [users, setUsers] = useState([]);
   const [recentBids, setRecentBids] = useState([]);
+  const [totals, setTotals] = useState({});
+  const [userTotals, setUserTotals] = useState({});
   const [activeTab, setActiveTab] = useState('1');
 
   useEffect(() => {
@@ -63,36 +65,41 @@ function EnhancedAdminDashboard() {
         setSystemStatus(status);
       }
 
-      // Load all auctions
-      const auctionsResponse = await fetch('/api/auctions');
-      if (auctionsResponse.ok) {
-        const auctionsData = await auctionsResponse.json();
-        setAuctions(auctionsData);
-
-        // Load recent bids from all auctions
-        const bidsPromises = auctionsData.slice(0, 5).map(auction =>
-          fetch(`/api/auctions/${auction.id}/bids`)
-            .then(res => res.ok ? res.json() : [])
-            .catch(() => [])
-        );
-        const bidsArrays = await Promise.all(bidsPromises);
-        const allBids = bidsArrays.flat();
-        setRecentBids(allBids.sort((a, b) => 
-          new Date(b.timestamp) - new Date(a.timestamp)
-        ).slice(0, 10));
+      // Load aggregated auctions, bid stats and recent activity in one request.
+      // The server sends an ETag, so unchanged refreshes are answered with 304 by the browser cache.
+      const dashboardResponse = await fetch('/api/admin/dashboard');
+      if (dashboardResponse.ok) {
+        const dashboard = await dashboardResponse.json();
+        setAuctions(dashboard.auctions || []);
+        setRecentBids((dashboard.recentActivity || []).slice(0, 10));
+        setTotals(dashboard.totals || {});
+        setUserTotals(dashboard.userTotals || {});
       }
 
-      // Load all users
+      setLoading(false);
+    } catch (error) {
+      console.error('Failed to load dashboard data:', error);
+      setLoading(false);
+    }
+  };
+
+  const loadUsers = async () => {
+    try {
       const usersResponse = await fetch('/api/users');
       if (usersResponse.ok) {
         const usersData = await usersResponse.json();
         setUsers(usersData);
       }
-
-      setLoading(false);
     } catch (error) {
-      console.error('Failed to load dashboard data:', error);
-      setLoading(false);
+      console.error('Failed to load users:', error);
+    }
+  };
+
+  const handleTabChange = (key) => {
+    setActiveTab(key);
+    // User list is only needed when its tab is opened
+    if (key === '4') {
+      loadUsers();
     }
   };
 
@@ -223,6 +230,18 @@ function EnhancedAdminDashboard() {
       key: 'currentPrice',
       render: (price) => <Text strong style={{ color: '#1890ff' }}>${price}</Text>,
     },
+    {
+      title: 'Bids',
+      dataIndex: 'bidCount',
+      key: 'bidCount',
+      render: (count) => <Tag>{count || 0}</Tag>,
+    },
+    {
+      title: 'Top Bid',
+      dataIndex: 'topBid',
+      key: 'topBid',
+      render: (topBid) => topBid ? <Text>${topBid}</Text> : <Text type="secondary">-</Text>,
+    },
     {
       title: 'Time Remaining',
       dataIndex: 'endTime',
@@ -308,7 +327,7 @@ function EnhancedAdminDashboard() {
           <Card>
             <Statistic
               title="Total Auctions"
-              value={auctions.length}
+              value={totals.totalAuctions ?? auctions.length}
               prefix={<ShoppingCartOutlined />}
               valueStyle={{ color: '#1890ff' }}
             />
@@ -318,7 +337,7 @@ function EnhancedAdminDashboard() {
           <Card>
             <Statistic
               title="Active Auctions"
-              value={auctions.filter(a => a.status === 'ACTIVE').length}
+              value={totals.activeAuctions ?? auctions.filter(a => a.status === 'ACTIVE').length}
               prefix={<FireOutlined />}
               valueStyle={{ color: '#52c41a' }}
             />
@@ -328,7 +347,7 @@ function EnhancedAdminDashboard() {
           <Card>
             <Statistic
               title="Total Users"
-              value={users.length}
+              value={userTotals.total ?? users.length}
               prefix={<UserOutlined />}
               valueStyle={{ color: '#722ed1' }}
             />
@@ -338,7 +357,7 @@ function EnhancedAdminDashboard() {
           <Card>
             <Statistic
               title="Total Bids"
-              value={recentBids.length}
+              value={totals.totalBids ?? recentBids.length}
               prefix={<DollarOutlined />}
               valueStyle={{ color: '#fa8c16' }}
             />
@@ -393,7 +412,7 @@ function EnhancedAdminDashboard() {
 
       {/* Detailed Views */}
       <Card>
-        <Tabs activeKey={activeTab} onChange={setActiveTab}>
+        <Tabs activeKey={activeTab} onChange={handleTabChange}>
           <TabPane tab="Server Status" key="1">
             <Table
               columns={serverColumns}
@@ -433,7 +452,7 @@ function EnhancedAdminDashboard() {
                       <Space direction="vertical" size="small">
                         <Space>
                           <Text type="secondary">Auction:</Text>
-                          <Text code>{bid.auctionId}</Text>
+                          {bid.auctionTitle ? <Text>{bid.auctionTitle}</Text> : <Text code>{bid.auctionId}</Text>}
                         </Space>
                         <Space>
                           <Text type="secondary">Bidder:</Text>
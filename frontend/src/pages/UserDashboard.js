@@ -16,42 +16,38 @@ import moment from 'moment';
 const { Title, Text } = Typography;
 const { TabPane } = Tabs;
 
+const PAGE_SIZE = 20;
+const emptySection = { content: [], page: 0, size: PAGE_SIZE, totalElements: 0 };
+
 function UserDashboard() {
   const navigate = useNavigate();
   const [loading, setLoading] = useState(true);
-  const [myAuctions, setMyAuctions] = useState([]);
-  const [myBids, setMyBids] = useState([]);
-  const [wonAuctions, setWonAuctions] = useState([]);
+  const [selling, setSelling] = useState(emptySection);
+  const [bidding, setBidding] = useState(emptySection);
+  const [won, setWon] = useState(emptySection);
+  const [totals, setTotals] = useState({});
+  const [pages, setPages] = useState({ sellingPage: 0, biddingPage: 0, wonPage: 0 });
   const [activeTab, setActiveTab] = useState('1');
 
   useEffect(() => {
-    loadUserData();
-  }, []);
+    loadUserData(pages);
+  }, [pages]);
 
-  const loadUserData = async () => {
+  const loadUserData = async (pageParams) => {
     try {
       const user = JSON.parse(localStorage.getItem('user'));
       if (!user) return;
 
-      // Load user's auctions
-      const userAuctionsResponse = await fetch(`/api/auctions/seller/${user.id}`);
-      if (userAuctionsResponse.ok) {
-        const userAuctions = await userAuctionsResponse.json();
-        setMyAuctions(userAuctions);
-      }
-
-      // Load user's bids
-      const userBidsResponse = await fetch(`/api/users/${user.id}/bids`);
-      if (userBidsResponse.ok) {
-        const userBids = await userBidsResponse.json();
-        setMyBids(userBids);
-      }
-
-      // Load won auctions using dedicated endpoint
-      const wonAuctionsResponse = await fetch(`/api/users/${user.id}/won-auctions`);
-      if (wonAuctionsResponse.ok) {
-        const wonAuctions = await wonAuctionsResponse.json();
-        setWonAuctions(wonAuctions);
+      setLoading(true);
+      // Selling, bidding and won auctions come back in one paged response
+      const query = new URLSearchParams({ ...pageParams, size: PAGE_SIZE }).toString();
+      const response = await fetch(`/api/users/${user.id}/dashboard?${query}`);
+      if (response.ok) {
+        const dashboard = await response.json();
+        setSelling(dashboard.selling || emptySection);
+        setBidding(dashboard.bidding || emptySection);
+        setWon(dashboard.won || emptySection);
+        setTotals(dashboard.totals || {});
       }
 
       setLoading(false);
@@ -90,11 +86,15 @@ function UserDashboard() {
     );
   };
 
-  const totalBidAmount = myBids.reduce((sum, bid) => sum + parseFloat(bid.amount || 0), 0);
-  const activeBids = myBids.filter(bid => {
-    // This is simplified - in production you'd check if auction is still active
-    return true;
-  }).length;
+  const pagination = (section, pageKey) => ({
+    current: section.page + 1,
+    pageSize: section.size,
+    total: section.totalElements,
+    hideOnSinglePage: true,
+    onChange: (page) => setPages(prev => ({ ...prev, [pageKey]: page - 1 })),
+  });
+
+  const totalBidAmount = parseFloat(totals.totalBidAmount || 0);
 
   return (
     <div>
@@ -109,7 +109,7 @@ function UserDashboard() {
           <Card>
             <Statistic
               title="My Auctions"
-              value={myAuctions.length}
+              value={totals.auctionsSelling || 0}
               prefix={<ShoppingCartOutlined />}
               valueStyle={{ color: '#1890ff' }}
             />
@@ -119,7 +119,7 @@ function UserDashboard() {
           <Card>
             <Statistic
               title="Total Bids Placed"
-              value={myBids.length}
+              value={totals.bidsPlaced || 0}
               prefix={<FireOutlined />}
               valueStyle={{ color: '#cf1322' }}
             />
@@ -129,7 +129,7 @@ function UserDashboard() {
           <Card>
             <Statistic
               title="Auctions Won"
-              value={wonAuctions.length}
+              value={totals.auctionsWon || 0}
               prefix={<TrophyOutlined />}
               valueStyle={{ color: '#52c41a' }}
             />
@@ -154,7 +154,8 @@ function UserDashboard() {
           <TabPane tab="My Auctions" key="1">
             <List
               loading={loading}
-              dataSource={myAuctions}
+              dataSource={selling.content}
+              pagination={pagination(selling, 'sellingPage')}
               locale={{ emptyText: 'You haven\'t created any auctions yet' }}
               renderItem={auction => (
                 <List.Item
@@ -198,14 +199,15 @@ function UserDashboard() {
           <TabPane tab="My Bids" key="2">
             <List
               loading={loading}
-              dataSource={myBids}
+              dataSource={bidding.content}
+              pagination={pagination(bidding, 'biddingPage')}
               locale={{ emptyText: 'You haven\'t placed any bids yet' }}
-              renderItem={bid => (
+              renderItem={summary => (
                 <List.Item
                   actions={[
                     <Button 
                       type="link" 
-                      onClick={() => navigate(`/auctions/${bid.auctionId}`)}
+                      onClick={() => navigate(`/auctions/${summary.auctionId}`)}
                     >
                       View Auction
                     </Button>
@@ -214,23 +216,26 @@ function UserDashboard() {
                   <List.Item.Meta
                     title={
                       <Space>
-                        <Text strong>Bid Amount: ${bid.amount}</Text>
-                        <Tag color="blue">Server {bid.serverId}</Tag>
+                        <Text strong>{summary.auctionTitle}</Text>
+                        {getStatusTag(summary.auctionStatus)}
+                        {summary.leading
+                          ? <Tag color="green">Highest Bidder</Tag>
+                          : <Tag color="orange">Outbid</Tag>}
                       </Space>
                     }
                     description={
                       <Space direction="vertical" size="small">
                         <Space>
-                          <Text type="secondary">Auction ID:</Text>
-                          <Text code>{bid.auctionId}</Text>
-                        </Space>
-                        <Space>
-                          <Text type="secondary">Placed:</Text>
-                          <Text>{moment(bid.timestamp).format('MMM DD, YYYY HH:mm:ss')}</Text>
+                          <Text type="secondary">My Top Bid:</Text>
+                          <Text strong>${summary.myTopBid}</Text>
+                          <Text type="secondary">Current Price:</Text>
+                          <Text strong style={{ color: '#1890ff' }}>${summary.currentPrice}</Text>
                         </Space>
                         <Space>
-                          <Text type="secondary">Logical Clock:</Text>
-                          <Tag>{bid.logicalTimestamp}</Tag>
+                          <Text type="secondary">Bids Placed:</Text>
+                          <Tag>{summary.myBidCount}</Tag>
+                          <Text type="secondary">Last Bid:</Text>
+                          <Text>{moment(summary.lastBidAt).format('MMM DD, YYYY HH:mm:ss')}</Text>
                         </Space>
                       </Space>
                     }
@@ -243,7 +248,8 @@ function UserDashboard() {
           <TabPane tab="Won Auctions" key="3">
             <List
               loading={loading}
-              dataSource={wonAuctions}
+              dataSource={won.content}
+              pagination={pagination(won, 'wonPage')}
               locale={{ emptyText: 'You haven\'t won any auctions yet' }}
               renderItem={auction => (
                 <List.Item
@@ -271,7 +277,7 @@ function UserDashboard() {
                         <Space>
                           <Text type="secondary">Winning Bid:</Text>
                           <Text strong style={{ color: '#52c41a', fontSize: '16px' }}>
-                            ${auction.winningBid?.amount}
+                            ${auction.currentPrice}
                           </Text>
                         </Space>
                         <Text type="secondary">
@@ -157,6 +157,12 @@ export const auctionAPI = {
     return response.data;
   },
 
+  // Auctions changed since a sync token (omit the token to just get one)
+  getAuctionChanges: async (since) => {
+    const response = await api.get('/api/auctions/changes', { params: since ? { since } : {} });
+    return response.data;
+  },
+
   // Get auction by ID
   getAuction: async (id) => {
     const response = await api.get(`/api/auctions/${id}`);
@@ -0,0 +1,48 @@
+// Decoder for the compact binary auction frames sent on /topic/auction/{id}/compact.
+// Layout is documented in the backend's CompactFrameEncoder.
+
+const FRAME_TYPES = { 1: 'BID_UPDATE', 2: 'AUCTION_UPDATE', 3: 'AUCTION_ENDED' };
+const STATUSES = { 0: 'ACTIVE', 1: 'ENDED', 2: 'OTHER' };
+
+const FLAG_BID = 1;
+const FLAG_END_TIME = 2;
+const FLAG_STATUS = 4;
+
+const readUuid = (view, offset) => {
+  let hex = '';
+  for (let i = 0; i < 16; i++) {
+    hex += view.getUint8(offset + i).toString(16).padStart(2, '0');
+  }
+  return `${hex.slice(0, 8)}-${hex.slice(8, 12)}-${hex.slice(12, 16)}-${hex.slice(16, 20)}-${hex.slice(20)}`;
+};
+
+export const decodeCompactFrame = (bytes) => {
+  const view = new DataView(bytes.buffer, bytes.byteOffset, bytes.byteLength);
+  const flags = view.getUint8(2);
+  const frame = {
+    version: view.getUint8(0),
+    type: FRAME_TYPES[view.getUint8(1)],
+    seq: Number(view.getBigInt64(3)),
+    auctionId: readUuid(view, 11),
+    currentPrice: Number(view.getBigInt64(27)) / 100
+  };
+
+  let offset = 35;
+  if (flags & FLAG_BID) {
+    frame.bid = {
+      bidderId: readUuid(view, offset),
+      timestamp: new Date(Number(view.getBigInt64(offset + 16))),
+      logicalTimestamp: view.getInt32(offset + 24),
+      serverId: view.getUint8(offset + 28)
+    };
+    offset += 29;
+  }
+  if (flags & FLAG_END_TIME) {
+    frame.endTime = new Date(Number(view.getBigInt64(offset)));
+    offset += 8;
+  }
+  if (flags & FLAG_STATUS) {
+    frame.status = STATUSES[view.getUint8(offset)];
+  }
+  return frame;
+};
@@ -1,13 +1,21 @@
 import SockJS from 'sockjs-client';
 import { Client } from '@stomp/stompjs';
+import { decodeCompactFrame } from './compactFrame';
 
 class WebSocketService {
   constructor() {
     this.client = null;
     this.connected = false;
     this.subscriptions = new Map();
+    this.watchedAuctionIds = null;
+    this.compactFrames = false;
+    this.compactTransport = false;
+    this.auctionSeqs = new Map();
+    this.auctionResumes = new Map();
     this.reconnectAttempts = 0;
     this.maxReconnectAttempts = 5;
+    this.pendingBids = null;
+    this.bidTimeoutMs = 10000;
   }
 
   connect() {
@@ -29,7 +37,13 @@ class WebSocketService {
         const serverUrl = servers[currentServerIndex];
         
         this.client = new Client({
-          webSocketFactory: () => new SockJS(serverUrl),
+          // Binary frames need a plain WebSocket; SockJS transports are text-only
+          webSocketFactory: () => {
+            this.compactTransport = this.compactFrames;
+            return this.compactFrames
+              ? new WebSocket(`${serverUrl.replace(/^http/, 'ws')}-raw`)
+              : new SockJS(serverUrl);
+          },
           connectHeaders: {},
           debug: (str) => {
             console.log('WebSocket Debug:', str);
@@ -46,12 +60,28 @@ class WebSocketService {
             this.subscriptions.forEach((callback, destination) => {
               this.subscribe(destination, callback);
             });
+
+            // Ask only for what each open auction missed while we were away
+            this.auctionResumes.forEach((userId, auctionId) => {
+              this.sendAuctionSubscribe(auctionId, userId);
+            });
+
+            // The list-view watch set is per connection, so send it again
+            if (this.watchedAuctionIds) {
+              this.send('/app/list/watch', {}, { auctionIds: this.watchedAuctionIds });
+            }
             
             resolve();
           },
           onDisconnect: () => {
             console.log('WebSocket disconnected');
             this.connected = false;
+            this.failPendingBids('Disconnected before the bid was confirmed');
+          },
+          // A dropped socket never sends DISCONNECT, so fail in-flight bids here too
+          onWebSocketClose: () => {
+            this.connected = false;
+            this.failPendingBids('Connection lost before the bid was confirmed');
           },
           onStompError: (frame) => {
             console.error('WebSocket STOMP error:', frame);
@@ -82,6 +112,7 @@ class WebSocketService {
     if (this.client) {
       this.client.deactivate();
       this.connected = false;
+      this.failPendingBids('Disconnected before the bid was confirmed');
     }
   }
 
@@ -93,8 +124,13 @@ class WebSocketService {
     }
 
     const subscription = this.client.subscribe(destination, (message) => {
+      if (destination.endsWith('/compact')) {
+        callback(decodeCompactFrame(message.binaryBody));
+        return;
+      }
       try {
         const data = JSON.parse(message.body);
+        this.trackAuctionSeq(data);
         callback(data);
       } catch (error) {
         console.error('Error parsing WebSocket message:', error);
@@ -134,33 +170,143 @@ class WebSocketService {
     return this.subscribe(`/topic/auction/${auctionId}`, callback);
   }
 
+  // Every bid, unconflated (the auction topic itself carries conflated price updates)
+  subscribeToAuctionBids(auctionId, callback) {
+    return this.subscribe(`/topic/auction/${auctionId}/bids`, callback);
+  }
+
+  // Opt in to compact binary auction frames; call before connect()
+  enableCompactFrames() {
+    this.compactFrames = true;
+  }
+
+  // Whether the current connection can carry compact frames (it was opened after enableCompactFrames)
+  usesCompactFrames() {
+    return this.connected && this.compactTransport;
+  }
+
+  // Conflated price/status updates as compact binary frames (see enableCompactFrames)
+  subscribeToAuctionCompact(auctionId, callback) {
+    return this.subscribe(`/topic/auction/${auctionId}/compact`, callback);
+  }
+
   subscribeToAllAuctions(callback) {
     return this.subscribe('/topic/auctions', callback);
   }
 
+  // Batched deltas for the auctions visible in a list view (one frame per interval)
+  subscribeToAuctionListFeed(callback) {
+    return this.subscribe('/user/queue/auction-list', callback);
+  }
+
+  watchAuctions(auctionIds) {
+    this.watchedAuctionIds = auctionIds;
+    if (this.connected) {
+      this.send('/app/list/watch', {}, { auctionIds });
+    }
+  }
+
   subscribeToServerStatus(callback) {
     return this.subscribe('/topic/server-status', callback);
   }
 
+  // Bids are pipelined: several can be in flight, each answered on bid-response by correlationId.
+  // Resolves with the server's response (check success); rejects if no answer arrives in
+  // bidTimeoutMs or the connection drops first, in which case the bid may or may not have landed.
   placeBid(auctionId, bidderId, amount) {
-    const sessionId = this.generateSessionId();
-    this.send('/app/bid', {}, {
-      auctionId,
-      bidderId,
-      amount,
-      sessionId
+    if (!this.pendingBids) {
+      this.pendingBids = new Map();
+      this.subscribe('/user/queue/bid-response', (response) => {
+        const pending = this.pendingBids.get(response.correlationId);
+        if (pending) {
+          this.pendingBids.delete(response.correlationId);
+          clearTimeout(pending.timer);
+          pending.resolve(response);
+        }
+      });
+    }
+
+    if (!this.connected) {
+      return Promise.reject(new Error('Not connected'));
+    }
+
+    const correlationId = this.generateSessionId();
+    return new Promise((resolve, reject) => {
+      const timer = setTimeout(() => {
+        if (this.pendingBids.delete(correlationId)) {
+          reject(new Error('No response to bid within ' + this.bidTimeoutMs + 'ms'));
+        }
+      }, this.bidTimeoutMs);
+      this.pendingBids.set(correlationId, { resolve, reject, timer });
+      this.send('/app/bid', {}, {
+        auctionId,
+        bidderId,
+        amount,
+        correlationId
+      });
+    });
+  }
+
+  failPendingBids(reason) {
+    if (!this.pendingBids) {
+      return;
+    }
+    this.pendingBids.forEach((pending) => {
+      clearTimeout(pending.timer);
+      pending.reject(new Error(reason));
     });
+    this.pendingBids.clear();
   }
 
   subscribeToAuctionUpdates(auctionId, userId, callback) {
-    const sessionId = this.generateSessionId();
+    this.auctionResumes.set(auctionId, userId);
+    this.sendAuctionSubscribe(auctionId, userId);
+    
+    return this.subscribe(`/user/queue/subscription-response`, (response) => {
+      if (response.type === 'SUBSCRIPTION_RESUMED') {
+        this.replayMissedEvents(response.auctionId, response.events);
+      }
+      callback(response);
+    });
+  }
+
+  sendAuctionSubscribe(auctionId, userId) {
+    const lastSeq = this.auctionSeqs.get(auctionId);
     this.send('/app/subscribe', {}, {
       auctionId,
       userId,
-      sessionId
+      sessionId: this.generateSessionId(),
+      ...(lastSeq !== undefined && { lastSeq })
     });
-    
-    return this.subscribe(`/user/queue/subscription-response`, callback);
+  }
+
+  // Remember the newest sequence seen per auction so a reconnect can resume from it
+  trackAuctionSeq(data) {
+    if (!data || !data.auctionId || data.seq === undefined) {
+      return;
+    }
+    if (data.channel !== undefined && data.channel !== `auction:${data.auctionId}`) {
+      return;
+    }
+    const known = this.auctionSeqs.get(data.auctionId);
+    if (known === undefined || data.seq > known) {
+      this.auctionSeqs.set(data.auctionId, data.seq);
+    }
+  }
+
+  // Hand events missed during a disconnect to the topic callbacks, as if they had arrived live
+  replayMissedEvents(auctionId, events) {
+    const bidsCallback = this.subscriptions.get(`/topic/auction/${auctionId}/bids`);
+    const auctionCallback = this.subscriptions.get(`/topic/auction/${auctionId}`);
+    events.forEach((event) => {
+      if (event.type === 'BID_UPDATE' && bidsCallback) {
+        bidsCallback(event);
+      }
+    });
+    // The auction topic is conflated, so its latest state is enough
+    if (events.length > 0 && auctionCallback) {
+      auctionCallback(events[events.length - 1]);
+    }
   }
 
   unsubscribeFromAuction(auctionId) {
@@ -171,6 +317,10 @@ class WebSocketService {
     });
     
     this.unsubscribe(`/topic/auction/${auctionId}`);
+    this.unsubscribe(`/topic/auction/${auctionId}/bids`);
+    this.unsubscribe(`/topic/auction/${auctionId}/compact`);
+    this.auctionResumes.delete(auctionId);
+    this.auctionSeqs.delete(auctionId);
   }
 
   generateSessionId() {